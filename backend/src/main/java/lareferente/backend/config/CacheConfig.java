@@ -0,0 +1,62 @@
+package lareferente.backend.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+// Cachés en memoria para datos de referencia que cambian pocas veces por semana y se leen en cada página.
+// Actuator publica cache.gets/puts/evictions/size por caché (recordStats); aquí se añade cache.hit.ratio
+// y ReferenceDataCache cuenta las invalidaciones explícitas (cache.invalidations).
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String ACTIVE_TEAMS = "activeTeams";
+    public static final String ACTIVE_COMPETITIONS = "activeCompetitions";
+    public static final String COMPETITION_TEAMS = "competitionTeams";
+    public static final String TEAM_PLAYERS = "teamPlayers";
+
+    @Value("${app.cache.reference-ttl:10m}")
+    private Duration referenceTtl;
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> referenceDataCaches() {
+        return cacheManager -> {
+            cacheManager.registerCustomCache(ACTIVE_TEAMS, bounded(1));
+            cacheManager.registerCustomCache(ACTIVE_COMPETITIONS, bounded(1));
+            cacheManager.registerCustomCache(COMPETITION_TEAMS, bounded(500));
+            cacheManager.registerCustomCache(TEAM_PLAYERS, bounded(2000));
+        };
+    }
+
+    @Bean
+    public MeterBinder cacheHitRatioMetrics(CacheManager cacheManager) {
+        return registry -> cacheManager.getCacheNames().forEach(name -> {
+            if (cacheManager.getCache(name) instanceof CaffeineCache cache) {
+                com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = cache.getNativeCache();
+                Gauge.builder("cache.hit.ratio", nativeCache, c -> c.stats().hitRate())
+                        .description("Proporción de aciertos desde el arranque")
+                        .tag("cache", name)
+                        .register(registry);
+            }
+        });
+    }
+
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> bounded(long maximumSize) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(referenceTtl)
+                .recordStats()
+                .build();
+    }
+}
@@ -0,0 +1,62 @@
+package lareferente.backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+// Envía las transacciones de solo lectura a la réplica y todo lo demás al primario.
+// Debe usarse detrás de LazyConnectionDataSourceProxy: la conexión real se pide en la primera
+// sentencia, cuando la transacción ya está marcada como readOnly.
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route { PRIMARY, REPLICA }
+
+    private final ReplicaLagGuard lagGuard;
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+    private final Counter fallbackConnections;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagGuard lagGuard,
+                                      MeterRegistry meterRegistry) {
+        this.lagGuard = lagGuard;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(Route.PRIMARY, primary);
+        if (replica != null) {
+            targets.put(Route.REPLICA, replica);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+
+        primaryConnections = routedCounter(meterRegistry, "primary");
+        replicaConnections = routedCounter(meterRegistry, "replica");
+        fallbackConnections = Counter.builder("datasource.replica.fallback")
+                .description("Lecturas enviadas al primario porque la réplica no estaba disponible")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (lagGuard != null && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (lagGuard.isReplicaUsable()) {
+                replicaConnections.increment();
+                return Route.REPLICA;
+            }
+            fallbackConnections.increment();
+        }
+        primaryConnections.increment();
+        return Route.PRIMARY;
+    }
+
+    private static Counter routedCounter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("datasource.routing.connections")
+                .description("Conexiones entregadas por el enrutado lectura/escritura")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+}
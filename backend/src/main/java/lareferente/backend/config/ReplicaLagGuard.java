@@ -0,0 +1,68 @@
+package lareferente.backend.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+// Mide periódicamente el retraso de la réplica; si supera el máximo (o no responde) las lecturas vuelven al primario
+@Slf4j
+public class ReplicaLagGuard {
+
+    // Sin WAL pendiente de aplicar el retraso es 0 aunque el primario lleve tiempo sin escrituras
+    private static final String LAG_SQL = "SELECT CASE WHEN NOT pg_is_in_recovery() " +
+            "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+
+    private final JdbcTemplate replicaJdbc;
+    private final long maxLagMs;
+
+    private volatile boolean usable;
+    private volatile long lagMs = -1;
+
+    public ReplicaLagGuard(DataSource replica, long maxLagMs, MeterRegistry meterRegistry) {
+        this.replicaJdbc = new JdbcTemplate(replica);
+        this.replicaJdbc.setQueryTimeout(2);
+        this.maxLagMs = maxLagMs;
+
+        Gauge.builder("datasource.replica.lag", this, guard -> guard.lagMs)
+                .description("Retraso de la réplica en milisegundos (-1 si no responde)")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.usable", this, guard -> guard.usable ? 1 : 0)
+                .description("1 si las lecturas se envían a la réplica, 0 si van al primario")
+                .register(meterRegistry);
+    }
+
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    public long getLagMs() {
+        return lagMs;
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.datasource.replica.check-interval-ms:2000}")
+    public void check() {
+        boolean wasUsable = usable;
+        try {
+            Number lag = replicaJdbc.queryForObject(LAG_SQL, Number.class);
+            lagMs = lag != null ? lag.longValue() : 0;
+            usable = lagMs <= maxLagMs;
+        } catch (DataAccessException e) {
+            lagMs = -1;
+            usable = false;
+        }
+
+        // Solo se registran los cambios de estado
+        if (wasUsable && !usable) {
+            log.warn("Réplica descartada para lecturas (retraso: {} ms, máximo: {} ms)", lagMs, maxLagMs);
+        } else if (!wasUsable && usable) {
+            log.info("Réplica disponible para lecturas (retraso: {} ms)", lagMs);
+        }
+    }
+}
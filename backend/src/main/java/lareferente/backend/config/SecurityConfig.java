@@ -35,14 +35,15 @@ public class SecurityConfig {
                         // Endpoints públicos de autenticación
                         .requestMatchers("/api/auth/**").permitAll()
                         // Endpoints públicos de consulta
-                        .requestMatchers("/api/teams/active", "/api/teams/{id}").permitAll()
+                        .requestMatchers("/api/teams/active", "/api/teams/{id}", "/api/teams/{a}/vs/{b}").permitAll()
                         .requestMatchers("/api/players/active", "/api/players/{id}", "/api/players/team/{teamId}").permitAll()
                         .requestMatchers(org.springframework.http.HttpMethod.PUT, "/api/players/{id}").permitAll()
                         .requestMatchers(org.springframework.http.HttpMethod.PUT, "/api/teams/{id}").permitAll()
                         .requestMatchers(org.springframework.http.HttpMethod.PUT, "/api/competitions/{id}").permitAll()
-                        .requestMatchers("/api/news/published", "/api/news/featured", "/api/news/{id}", "/api/news/{id}/view").permitAll()
+                        .requestMatchers("/api/home").permitAll()
+                        .requestMatchers("/api/news/published", "/api/news/featured", "/api/news/category/{categoria}", "/api/news/search", "/api/news/trending", "/api/news/{id}", "/api/news/{id}/view").permitAll()
                         .requestMatchers("/api/matches/**").permitAll()
-                        .requestMatchers("/api/competitions/active", "/api/competitions/{id}", "/api/competitions/{id}/teams").permitAll()
+                        .requestMatchers("/api/competitions/active", "/api/competitions/{id}", "/api/competitions/{id}/teams", "/api/competitions/{id}/standings", "/api/competitions/{id}/standings/team/{teamId}", "/api/competitions/{id}/form", "/api/competitions/{id}/bracket").permitAll()
                         .requestMatchers("/api/comments/news/{newsId}").permitAll()
                         .requestMatchers("/api/files/**").permitAll()
                         // Swagger y Actuator
@@ -66,7 +67,7 @@ public class SecurityConfig {
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
         configuration.setAllowCredentials(false);
-        configuration.setExposedHeaders(Arrays.asList("Authorization"));
+        configuration.setExposedHeaders(Arrays.asList("Authorization", "X-Next-Cursor"));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
@@ -3,6 +3,7 @@ package lareferente.backend.controller;
 import lareferente.backend.dto.LoginRequestDTO;
 import lareferente.backend.dto.LoginResponseDTO;
 import lareferente.backend.dto.RegisterRequestDTO;
+import jakarta.servlet.http.HttpServletRequest;
 import lareferente.backend.service.AuthService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -16,13 +17,13 @@ public class AuthController {
     private AuthService authService;
 
     @PostMapping("/login")
-    public ResponseEntity<LoginResponseDTO> login(@RequestBody LoginRequestDTO loginRequest) {
-        return ResponseEntity.ok(authService.login(loginRequest));
+    public ResponseEntity<LoginResponseDTO> login(@RequestBody LoginRequestDTO loginRequest, HttpServletRequest request) {
+        return ResponseEntity.ok(authService.login(loginRequest, request.getRemoteAddr()));
     }
 
     @PostMapping("/register")
-    public ResponseEntity<LoginResponseDTO> register(@RequestBody RegisterRequestDTO registerRequest) {
-        return ResponseEntity.ok(authService.register(registerRequest));
+    public ResponseEntity<LoginResponseDTO> register(@RequestBody RegisterRequestDTO registerRequest, HttpServletRequest request) {
+        return ResponseEntity.ok(authService.register(registerRequest, request.getRemoteAddr()));
     }
 
     @GetMapping("/check-email")
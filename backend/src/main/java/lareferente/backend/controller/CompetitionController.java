@@ -1,12 +1,28 @@
 package lareferente.backend.controller;
 
+import lareferente.backend.dto.BracketDTO;
+import lareferente.backend.dto.BracketRequestDTO;
 import lareferente.backend.dto.CompetitionDTO;
+import lareferente.backend.dto.FixtureRequestDTO;
+import lareferente.backend.dto.MatchDTO;
+import lareferente.backend.dto.StandingsDTO;
+import lareferente.backend.dto.StandingsPositionDTO;
 import lareferente.backend.dto.TeamDTO;
+import lareferente.backend.dto.TeamFormDTO;
+import lareferente.backend.dto.TiePenaltiesDTO;
+import lareferente.backend.service.BracketService;
 import lareferente.backend.service.CompetitionService;
+import lareferente.backend.service.FixtureService;
+import lareferente.backend.service.StandingsHistoryService;
+import lareferente.backend.service.StandingsService;
+import lareferente.backend.service.TeamFormService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -17,24 +33,114 @@ public class CompetitionController {
     @Autowired
     private CompetitionService competitionService;
 
+    @Autowired
+    private StandingsService standingsService;
+
+    @Autowired
+    private StandingsHistoryService standingsHistoryService;
+
+    @Autowired
+    private TeamFormService teamFormService;
+
+    @Autowired
+    private FixtureService fixtureService;
+
+    @Autowired
+    private BracketService bracketService;
+
     @GetMapping
-    public ResponseEntity<List<CompetitionDTO>> getAllCompetitions() {
-        return ResponseEntity.ok(competitionService.getAllCompetitions());
+    public ResponseEntity<List<CompetitionDTO>> getAllCompetitions(WebRequest request) {
+        if (request.checkNotModified(competitionService.getAllCompetitionsETag())) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(competitionService.getAllCompetitions());
     }
 
     @GetMapping("/active")
-    public ResponseEntity<List<CompetitionDTO>> getActiveCompetitions() {
-        return ResponseEntity.ok(competitionService.getActiveCompetitions());
+    public ResponseEntity<List<CompetitionDTO>> getActiveCompetitions(WebRequest request) {
+        if (request.checkNotModified(competitionService.getActiveCompetitionsETag())) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(competitionService.getActiveCompetitions());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CompetitionDTO> getCompetitionById(@PathVariable Long id) {
-        return ResponseEntity.ok(competitionService.getCompetitionById(id));
+    public ResponseEntity<CompetitionDTO> getCompetitionById(@PathVariable Long id, WebRequest request) {
+        if (request.checkNotModified(competitionService.getCompetitionETag(id))) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(competitionService.getCompetitionById(id));
     }
 
     @GetMapping("/{id}/teams")
-    public ResponseEntity<List<TeamDTO>> getTeamsByCompetition(@PathVariable Long id) {
-        return ResponseEntity.ok(competitionService.getTeamsByCompetition(id));
+    public ResponseEntity<List<TeamDTO>> getTeamsByCompetition(@PathVariable Long id, WebRequest request) {
+        if (request.checkNotModified(competitionService.getTeamsByCompetitionETag(id))) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(competitionService.getTeamsByCompetition(id));
+    }
+
+    // Sin jornada: clasificación actual; con jornada: la de la última jornada cerrada hasta N
+    @GetMapping("/{id}/standings")
+    public ResponseEntity<List<StandingsDTO>> getStandings(@PathVariable Long id,
+                                                           @RequestParam(required = false) Integer jornada,
+                                                           WebRequest request) {
+        if (jornada != null) {
+            if (request.checkNotModified(standingsHistoryService.getStandingsAtRoundETag(id, jornada))) {
+                return null;
+            }
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(standingsHistoryService.getStandingsAtRound(id, jornada));
+        }
+        if (request.checkNotModified(standingsService.getStandingsETag(id))) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(standingsService.getStandings(id));
+    }
+
+    @GetMapping("/{id}/standings/team/{teamId}")
+    public ResponseEntity<List<StandingsPositionDTO>> getTeamPositionSeries(@PathVariable Long id, @PathVariable Long teamId) {
+        return ResponseEntity.ok(standingsHistoryService.getPositionSeries(id, teamId));
+    }
+
+    // Racha de todos los equipos de la competición de una vez (columna "últimos 5" de la clasificación)
+    @GetMapping("/{id}/form")
+    public ResponseEntity<List<TeamFormDTO>> getCompetitionForm(@PathVariable Long id, WebRequest request) {
+        if (request.checkNotModified(teamFormService.getCompetitionFormETag(id))) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(teamFormService.getCompetitionForm(id));
+    }
+
+    // Calendario completo de una liga (doble vuelta) en una sola petición
+    @PostMapping("/{id}/fixtures")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<MatchDTO>> generateFixtures(@PathVariable Long id,
+                                                           @RequestBody(required = false) FixtureRequestDTO request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(fixtureService.generateLeagueFixtures(id, request));
+    }
+
+    // Cuadro de eliminatorias completo (rondas, cruces, partidos y globales) en una sola respuesta
+    @GetMapping("/{id}/bracket")
+    public ResponseEntity<BracketDTO> getBracket(@PathVariable Long id, WebRequest request) {
+        if (request.checkNotModified(bracketService.getBracketETag(id))) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(bracketService.getBracket(id));
+    }
+
+    @PostMapping("/{id}/bracket")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BracketDTO> createBracket(@PathVariable Long id,
+                                                    @RequestBody(required = false) BracketRequestDTO request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(bracketService.createBracket(id, request));
+    }
+
+    // Tanda de penaltis de un cruce con el global empatado
+    @PutMapping("/{id}/bracket/ties/{tieId}/penalties")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BracketDTO> setPenalties(@PathVariable Long id, @PathVariable Long tieId,
+                                                   @RequestBody TiePenaltiesDTO penalties) {
+        return ResponseEntity.ok(bracketService.setPenalties(id, tieId, penalties));
     }
 
     @PostMapping
@@ -1,11 +1,17 @@
 package lareferente.backend.controller;
 
+import jakarta.servlet.http.HttpServletResponse;
 import lareferente.backend.dto.MatchDTO;
+import lareferente.backend.service.LiveMatchHub;
 import lareferente.backend.service.MatchService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -16,24 +22,49 @@ public class MatchController {
     @Autowired
     private MatchService matchService;
 
+    @Autowired
+    private LiveMatchHub liveMatchHub;
+
     @GetMapping
-    public ResponseEntity<List<MatchDTO>> getAllMatches() {
-        return ResponseEntity.ok(matchService.getAllMatches());
+    public ResponseEntity<List<MatchDTO>> getAllMatches(WebRequest request) {
+        if (request.checkNotModified(matchService.getAllMatchesETag())) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(matchService.getAllMatches());
     }
 
     @GetMapping("/upcoming")
-    public ResponseEntity<List<MatchDTO>> getUpcomingMatches() {
-        return ResponseEntity.ok(matchService.getUpcomingMatches());
+    public ResponseEntity<List<MatchDTO>> getUpcomingMatches(WebRequest request) {
+        if (request.checkNotModified(matchService.getUpcomingMatchesETag())) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(matchService.getUpcomingMatches());
     }
 
     @GetMapping("/competition/{competitionId}")
-    public ResponseEntity<List<MatchDTO>> getMatchesByCompetition(@PathVariable Long competitionId) {
-        return ResponseEntity.ok(matchService.getMatchesByCompetition(competitionId));
+    public ResponseEntity<List<MatchDTO>> getMatchesByCompetition(@PathVariable Long competitionId, WebRequest request) {
+        if (request.checkNotModified(matchService.getMatchesByCompetitionETag(competitionId))) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(matchService.getMatchesByCompetition(competitionId));
+    }
+
+    // Marcadores en directo (Server-Sent Events), opcionalmente filtrados por competición o equipo
+    @GetMapping(value = "/live/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamLiveMatches(@RequestParam(required = false) Long competitionId,
+                                        @RequestParam(required = false) Long teamId,
+                                        HttpServletResponse response) {
+        // Sin búfer en el nginx del frontend: cada evento debe salir en cuanto se envía
+        response.setHeader("X-Accel-Buffering", "no");
+        return liveMatchHub.subscribe(competitionId, teamId);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<MatchDTO> getMatchById(@PathVariable Long id) {
-        return ResponseEntity.ok(matchService.getMatchById(id));
+    public ResponseEntity<MatchDTO> getMatchById(@PathVariable Long id, WebRequest request) {
+        if (request.checkNotModified(matchService.getMatchETag(id))) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(matchService.getMatchById(id));
     }
 
     @PostMapping
@@ -1,11 +1,17 @@
 package lareferente.backend.controller;
 
 import lareferente.backend.dto.NewsDTO;
+import lareferente.backend.dto.NewsFeedDTO;
+import lareferente.backend.dto.NewsSummaryDTO;
+import lareferente.backend.enums.NewsCategory;
+import lareferente.backend.enums.TrendingWindow;
 import lareferente.backend.service.NewsService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -13,27 +19,72 @@ import java.util.List;
 @RequestMapping("/api/news")
 public class NewsController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     @Autowired
     private NewsService newsService;
 
     @GetMapping
-    public ResponseEntity<List<NewsDTO>> getAllNews() {
-        return ResponseEntity.ok(newsService.getAllNews());
+    public ResponseEntity<List<NewsDTO>> getAllNews(WebRequest request) {
+        if (request.checkNotModified(newsService.getAllNewsETag())) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(newsService.getAllNews());
     }
 
     @GetMapping("/published")
-    public ResponseEntity<List<NewsDTO>> getPublishedNews() {
-        return ResponseEntity.ok(newsService.getPublishedNews());
+    public ResponseEntity<List<NewsSummaryDTO>> getPublishedNews(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int limit,
+            WebRequest request) {
+        if (request.checkNotModified(newsService.getPublishedNewsETag("published", after, limit))) {
+            return null;
+        }
+        return toFeedResponse(newsService.getPublishedFeed(after, limit));
     }
 
     @GetMapping("/featured")
-    public ResponseEntity<List<NewsDTO>> getFeaturedNews() {
-        return ResponseEntity.ok(newsService.getFeaturedNews());
+    public ResponseEntity<List<NewsSummaryDTO>> getFeaturedNews(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int limit,
+            WebRequest request) {
+        if (request.checkNotModified(newsService.getPublishedNewsETag("featured", after, limit))) {
+            return null;
+        }
+        return toFeedResponse(newsService.getFeaturedFeed(after, limit));
+    }
+
+    @GetMapping("/category/{categoria}")
+    public ResponseEntity<List<NewsSummaryDTO>> getNewsByCategory(
+            @PathVariable NewsCategory categoria,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int limit,
+            WebRequest request) {
+        if (request.checkNotModified(newsService.getPublishedNewsETag("category", categoria, after, limit))) {
+            return null;
+        }
+        return toFeedResponse(newsService.getCategoryFeed(categoria, after, limit));
+    }
+
+    @GetMapping("/trending")
+    public ResponseEntity<List<NewsSummaryDTO>> getTrendingNews(@RequestParam(defaultValue = "24h") String window) {
+        return ResponseEntity.ok(newsService.getTrendingNews(TrendingWindow.fromParam(window)));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<NewsSummaryDTO>> searchNews(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(newsService.searchNews(q, page, size));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<NewsDTO> getNewsById(@PathVariable Long id) {
-        return ResponseEntity.ok(newsService.getNewsById(id));
+    public ResponseEntity<NewsDTO> getNewsById(@PathVariable Long id, WebRequest request) {
+        if (request.checkNotModified(newsService.getNewsETag(id))) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(newsService.getNewsById(id));
     }
 
     @PostMapping("/{id}/view")
@@ -57,4 +108,13 @@ public class NewsController {
         newsService.deleteNews(id);
         return ResponseEntity.noContent().build();
     }
+
+    // El cuerpo sigue siendo una lista; el cursor de la siguiente página va en la cabecera
+    private ResponseEntity<List<NewsSummaryDTO>> toFeedResponse(NewsFeedDTO feed) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().cacheControl(CacheControl.noCache());
+        if (feed.getNextCursor() != null) {
+            builder.header(NEXT_CURSOR_HEADER, feed.getNextCursor());
+        }
+        return builder.body(feed.getItems());
+    }
 }
@@ -3,9 +3,11 @@ package lareferente.backend.controller;
 import lareferente.backend.dto.PlayerDTO;
 import lareferente.backend.service.PlayerService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -17,23 +19,35 @@ public class PlayerController {
     private PlayerService playerService;
 
     @GetMapping
-    public ResponseEntity<List<PlayerDTO>> getAllPlayers() {
-        return ResponseEntity.ok(playerService.getAllPlayers());
+    public ResponseEntity<List<PlayerDTO>> getAllPlayers(WebRequest request) {
+        if (request.checkNotModified(playerService.getAllPlayersETag())) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(playerService.getAllPlayers());
     }
 
     @GetMapping("/active")
-    public ResponseEntity<List<PlayerDTO>> getActivePlayers() {
-        return ResponseEntity.ok(playerService.getActivePlayers());
+    public ResponseEntity<List<PlayerDTO>> getActivePlayers(WebRequest request) {
+        if (request.checkNotModified(playerService.getActivePlayersETag())) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(playerService.getActivePlayers());
     }
 
     @GetMapping("/team/{teamId}")
-    public ResponseEntity<List<PlayerDTO>> getPlayersByTeam(@PathVariable Long teamId) {
-        return ResponseEntity.ok(playerService.getPlayersByTeam(teamId));
+    public ResponseEntity<List<PlayerDTO>> getPlayersByTeam(@PathVariable Long teamId, WebRequest request) {
+        if (request.checkNotModified(playerService.getPlayersByTeamETag(teamId))) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(playerService.getPlayersByTeam(teamId));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<PlayerDTO> getPlayerById(@PathVariable Long id) {
-        return ResponseEntity.ok(playerService.getPlayerById(id));
+    public ResponseEntity<PlayerDTO> getPlayerById(@PathVariable Long id, WebRequest request) {
+        if (request.checkNotModified(playerService.getPlayerETag(id))) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(playerService.getPlayerById(id));
     }
 
     @PostMapping
@@ -0,0 +1,20 @@
+package lareferente.backend.controller;
+
+import lareferente.backend.dto.MatchDTO;
+import lareferente.backend.service.ScheduleConflictException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.List;
+
+// Un conflicto de calendario devuelve los partidos con los que choca para que el cliente pueda mostrarlos
+@RestControllerAdvice
+public class ScheduleConflictAdvice {
+
+    @ExceptionHandler(ScheduleConflictException.class)
+    public ResponseEntity<List<MatchDTO>> handleScheduleConflict(ScheduleConflictException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getConflicts());
+    }
+}
@@ -1,12 +1,16 @@
 package lareferente.backend.controller;
 
+import lareferente.backend.dto.HeadToHeadDTO;
 import lareferente.backend.dto.TeamDTO;
 import lareferente.backend.enums.AgeCategory;
+import lareferente.backend.service.HeadToHeadService;
 import lareferente.backend.service.TeamService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -17,19 +21,39 @@ public class TeamController {
     @Autowired
     private TeamService teamService;
 
+    @Autowired
+    private HeadToHeadService headToHeadService;
+
     @GetMapping
-    public ResponseEntity<List<TeamDTO>> getAllTeams() {
-        return ResponseEntity.ok(teamService.getAllTeams());
+    public ResponseEntity<List<TeamDTO>> getAllTeams(WebRequest request) {
+        if (request.checkNotModified(teamService.getAllTeamsETag())) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(teamService.getAllTeams());
     }
 
     @GetMapping("/active")
-    public ResponseEntity<List<TeamDTO>> getActiveTeams() {
-        return ResponseEntity.ok(teamService.getActiveTeams());
+    public ResponseEntity<List<TeamDTO>> getActiveTeams(WebRequest request) {
+        if (request.checkNotModified(teamService.getActiveTeamsETag())) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(teamService.getActiveTeams());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<TeamDTO> getTeamById(@PathVariable Long id) {
-        return ResponseEntity.ok(teamService.getTeamById(id));
+    public ResponseEntity<TeamDTO> getTeamById(@PathVariable Long id, WebRequest request) {
+        if (request.checkNotModified(teamService.getTeamETag(id))) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(teamService.getTeamById(id));
+    }
+
+    @GetMapping("/{a}/vs/{b}")
+    public ResponseEntity<HeadToHeadDTO> getHeadToHead(@PathVariable Long a, @PathVariable Long b, WebRequest request) {
+        if (request.checkNotModified(headToHeadService.getHeadToHeadETag(a, b))) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(headToHeadService.getHeadToHead(a, b));
     }
 
     @PostMapping
@@ -0,0 +1,17 @@
+package lareferente.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Cuadro de eliminatorias completo de una copa, de la primera ronda a la final
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BracketDTO {
+    private Long competicionId;
+    private Long campeonId;
+    private List<BracketRoundDTO> rondas;
+}
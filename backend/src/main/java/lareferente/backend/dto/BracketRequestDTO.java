@@ -0,0 +1,23 @@
+package lareferente.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Parámetros del cuadro de copa; los nulos toman el valor por defecto
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BracketRequestDTO {
+    // Equipos por orden de cabeza de serie (por defecto, los inscritos en la competición por ID)
+    private List<Long> equipoIds;
+    // Ida de la primera ronda (por defecto, fecha de inicio de la competición a las 21:00)
+    private LocalDateTime inicio;
+    private Integer diasEntreRondas;
+    private Integer diasEntrePartidos;
+    private Boolean idaYVuelta;
+    private Boolean finalAPartidoUnico;
+}
@@ -0,0 +1,16 @@
+package lareferente.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BracketRoundDTO {
+    private Integer ronda;
+    private String nombre;
+    private List<BracketTieDTO> eliminatorias;
+}
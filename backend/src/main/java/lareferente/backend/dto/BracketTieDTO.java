@@ -0,0 +1,33 @@
+package lareferente.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Cruce del cuadro: equipos (nulos hasta que se conocen), partidos y resultado global
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BracketTieDTO {
+    private Long id;
+    private Integer ronda;
+    private Integer posicion;
+    private Boolean idaYVuelta;
+    private LocalDateTime fechaIda;
+    private LocalDateTime fechaVuelta;
+    private Long equipoAId;
+    private String equipoANombre;
+    private String equipoALogo;
+    private Long equipoBId;
+    private String equipoBNombre;
+    private String equipoBLogo;
+    private MatchDTO ida;
+    private MatchDTO vuelta;
+    private Integer golesA;
+    private Integer golesB;
+    private Integer penaltisA;
+    private Integer penaltisB;
+    private Long ganadorId;
+}
@@ -0,0 +1,19 @@
+package lareferente.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Parámetros del calendario de liga; los nulos toman el valor por defecto
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FixtureRequestDTO {
+    // Primer partido de la jornada 1, entre las 12:00 y las 22:00 (por defecto, fecha de inicio de la competición a las 18:00)
+    private LocalDateTime inicio;
+    private Integer diasEntreJornadas;
+    // Separación entre partidos de una misma jornada; los que pasarían de las 22:00 se juegan al día siguiente
+    private Integer minutosEntrePartidos;
+}
@@ -0,0 +1,23 @@
+package lareferente.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Cara a cara entre dos equipos, visto desde el primero (victorias y goles a favor son suyos)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HeadToHeadDTO {
+    private Long equipoId;
+    private Long rivalId;
+    private Integer partidosJugados;
+    private Integer victorias;
+    private Integer empates;
+    private Integer derrotas;
+    private Integer golesFavor;
+    private Integer golesContra;
+    private List<MatchDTO> partidos;
+}
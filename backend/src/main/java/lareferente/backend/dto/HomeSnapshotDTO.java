@@ -0,0 +1,20 @@
+package lareferente.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HomeSnapshotDTO {
+    private List<NewsSummaryDTO> noticiasDestacadas;
+    private List<MatchDTO> proximosPartidos;
+    private List<CompetitionDTO> competicionesActivas;
+    private List<TeamDTO> equiposDestacados;
+    private List<PlayerDTO> jugadoresDestacados;
+    private LocalDateTime generadoEn;
+}
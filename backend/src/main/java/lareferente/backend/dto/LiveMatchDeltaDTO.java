@@ -0,0 +1,23 @@
+package lareferente.backend.dto;
+
+import lareferente.backend.enums.MatchStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Cambio de marcador o de estado que se empuja a los clientes en directo (solo lo que cambia y lo necesario para filtrar)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LiveMatchDeltaDTO {
+    private Long id;
+    private Long competicionId;
+    private Long equipoLocalId;
+    private Long equipoVisitanteId;
+    private Integer golesLocal;
+    private Integer golesVisitante;
+    private MatchStatus estado;
+    private LocalDateTime actualizadoEn;
+}
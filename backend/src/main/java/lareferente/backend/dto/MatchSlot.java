@@ -0,0 +1,7 @@
+package lareferente.backend.dto;
+
+import java.time.LocalDateTime;
+
+// Franja que ocupa un partido en el calendario: equipos y estadio a una hora (matchId nulo si aún no está guardado)
+public record MatchSlot(Long matchId, LocalDateTime fechaHora, Long equipoLocalId, Long equipoVisitanteId, String estadio) {
+}
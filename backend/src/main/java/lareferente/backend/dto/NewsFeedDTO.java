@@ -0,0 +1,16 @@
+package lareferente.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NewsFeedDTO {
+    private List<NewsSummaryDTO> items;
+    // Cursor "fechaPublicacion,id" de la siguiente página (null si no hay más)
+    private String nextCursor;
+}
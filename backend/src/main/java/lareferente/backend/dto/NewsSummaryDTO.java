@@ -0,0 +1,25 @@
+package lareferente.backend.dto;
+
+import lareferente.backend.enums.NewsCategory;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Resumen de noticia para listados (sin contenido)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NewsSummaryDTO {
+    private Long id;
+    private String titulo;
+    private String subtitulo;
+    private String imagenPrincipalUrl;
+    private Long autorId;
+    private String autorNombre;
+    private NewsCategory categoria;
+    private Boolean destacada;
+    private LocalDateTime fechaPublicacion;
+    private Integer visitas;
+}
@@ -0,0 +1,15 @@
+package lareferente.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Posición de un equipo al cierre de una jornada (gráfica de evolución)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StandingsPositionDTO {
+    private Integer jornada;
+    private Integer posicion;
+    private Integer puntos;
+}
@@ -0,0 +1,15 @@
+package lareferente.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Racha de un equipo: últimos resultados finalizados, el más reciente primero (V victoria, E empate, D derrota)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamFormDTO {
+    private Long equipoId;
+    private String equipoNombre;
+    private String forma;
+}
@@ -0,0 +1,14 @@
+package lareferente.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Tanda de penaltis de un cruce que acaba empatado en el global
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TiePenaltiesDTO {
+    private Integer penaltisA;
+    private Integer penaltisB;
+}
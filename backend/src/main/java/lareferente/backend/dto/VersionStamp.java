@@ -0,0 +1,40 @@
+package lareferente.backend.dto;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+// Resumen barato del estado de una entidad o colección (número de filas + última modificación) para calcular ETags
+public record VersionStamp(Long count, LocalDateTime lastModified) {
+
+    // Para consultas que agregan también la última modificación de entidades relacionadas
+    public VersionStamp(Long count, LocalDateTime first, LocalDateTime second) {
+        this(count, latest(first, second));
+    }
+
+    public VersionStamp(Long count, LocalDateTime first, LocalDateTime second, LocalDateTime third, LocalDateTime fourth) {
+        this(count, latest(first, second, third, fourth));
+    }
+
+    public boolean isEmpty() {
+        return count == null || count == 0;
+    }
+
+    // ETag fuerte: el ámbito distingue endpoints y parámetros que comparten el mismo agregado
+    public String toETag(Object... scope) {
+        StringBuilder raw = new StringBuilder().append(count).append('|').append(lastModified);
+        for (Object part : scope) {
+            raw.append('|').append(part);
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(raw.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    private static LocalDateTime latest(LocalDateTime... values) {
+        return Stream.of(values)
+                .filter(value -> value != null)
+                .max(LocalDateTime::compareTo)
+                .orElse(null);
+    }
+}
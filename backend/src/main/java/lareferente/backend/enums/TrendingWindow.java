@@ -0,0 +1,41 @@
+package lareferente.backend.enums;
+
+import java.time.Duration;
+
+// Ventanas de tendencias: la vida media del decaimiento es una cuarta parte de la ventana
+public enum TrendingWindow {
+    HOUR("1h", Duration.ofHours(1), Duration.ofMinutes(1)),
+    DAY("24h", Duration.ofHours(24), Duration.ofMinutes(15)),
+    WEEK("7d", Duration.ofDays(7), Duration.ofHours(1));
+
+    private final String param;
+    private final Duration window;
+    private final Duration bucket;
+
+    TrendingWindow(String param, Duration window, Duration bucket) {
+        this.param = param;
+        this.window = window;
+        this.bucket = bucket;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public Duration getBucket() {
+        return bucket;
+    }
+
+    public Duration getHalfLife() {
+        return window.dividedBy(4);
+    }
+
+    public static TrendingWindow fromParam(String value) {
+        for (TrendingWindow w : values()) {
+            if (w.param.equalsIgnoreCase(value)) {
+                return w;
+            }
+        }
+        throw new RuntimeException("Ventana de tendencias no válida: " + value + " (usa 1h, 24h o 7d)");
+    }
+}
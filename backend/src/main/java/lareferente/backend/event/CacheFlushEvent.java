@@ -0,0 +1,6 @@
+package lareferente.backend.event;
+
+// Se publica cuando se vacían todas las cachés locales (p. ej. se han perdido mensajes de invalidación):
+// quien mantenga datos derivados en memoria debe regenerarlos
+public record CacheFlushEvent(String reason) {
+}
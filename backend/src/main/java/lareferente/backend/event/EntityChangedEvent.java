@@ -0,0 +1,19 @@
+package lareferente.backend.event;
+
+// Evento publicado por los servicios tras crear, modificar o borrar una entidad.
+// remote = true cuando el cambio se hizo en otro nodo y llega por el canal de invalidación (ClusterCacheInvalidator).
+public record EntityChangedEvent(EntityType type, Long id, boolean remote) {
+
+    public EntityChangedEvent(EntityType type, Long id) {
+        this(type, id, false);
+    }
+
+    public enum EntityType {
+        NEWS,
+        MATCH,
+        COMPETITION,
+        TEAM,
+        PLAYER,
+        USER
+    }
+}
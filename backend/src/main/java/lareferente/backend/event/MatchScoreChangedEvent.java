@@ -0,0 +1,7 @@
+package lareferente.backend.event;
+
+import lareferente.backend.dto.LiveMatchDeltaDTO;
+
+// Se publica cuando una actualización de partido cambia el marcador o el estado
+public record MatchScoreChangedEvent(LiveMatchDeltaDTO delta) {
+}
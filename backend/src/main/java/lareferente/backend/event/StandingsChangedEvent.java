@@ -0,0 +1,7 @@
+package lareferente.backend.event;
+
+// Lo publica StandingsService al cambiar una clasificación en memoria.
+// fromJornada: primera jornada afectada (null = la tabla se ha descartado y se recargará);
+// competitionId null = se han descartado todas. local = el cambio se hizo en este nodo.
+public record StandingsChangedEvent(Long competitionId, Integer fromJornada, boolean local) {
+}
@@ -0,0 +1,85 @@
+package lareferente.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+// Cruce de una ronda de copa: el ganador de (ronda, posicion) pasa a (ronda + 1, posicion / 2)
+@Entity
+@Table(name = "eliminatorias")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KnockoutTie {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "eliminatorias_seq")
+    @SequenceGenerator(name = "eliminatorias_seq", sequenceName = "eliminatorias_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "competicion_id", nullable = false)
+    private Competition competicion;
+
+    // 1 = primera ronda; la última es la final
+    @Column(nullable = false)
+    private Integer ronda;
+
+    @Column(nullable = false)
+    private Integer posicion;
+
+    @Column(name = "ida_y_vuelta", nullable = false)
+    private Boolean idaYVuelta = true;
+
+    // Fechas previstas: los partidos de rondas posteriores se crean cuando se conocen los dos equipos
+    @Column(name = "fecha_ida", nullable = false)
+    private LocalDateTime fechaIda;
+
+    @Column(name = "fecha_vuelta")
+    private LocalDateTime fechaVuelta;
+
+    // El equipo A juega la ida en casa
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "equipo_a_id")
+    private Team equipoA;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "equipo_b_id")
+    private Team equipoB;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "partido_ida_id")
+    @OnDelete(action = OnDeleteAction.SET_NULL)
+    private Match partidoIda;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "partido_vuelta_id")
+    @OnDelete(action = OnDeleteAction.SET_NULL)
+    private Match partidoVuelta;
+
+    // Solo si el global acaba empatado
+    @Column(name = "penaltis_a")
+    private Integer penaltisA;
+
+    @Column(name = "penaltis_b")
+    private Integer penaltisB;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "ganador_id")
+    private Team ganador;
+
+    @CreationTimestamp
+    @Column(name = "fecha_creacion", nullable = false, updatable = false)
+    private LocalDateTime fechaCreacion;
+
+    @UpdateTimestamp
+    @Column(name = "fecha_modificacion")
+    private LocalDateTime fechaModificacion;
+}
@@ -6,6 +6,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
@@ -17,7 +18,8 @@ import java.time.LocalDateTime;
 public class Match {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "partidos_seq")
+    @SequenceGenerator(name = "partidos_seq", sequenceName = "partidos_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -32,6 +34,13 @@ public class Match {
     @JoinColumn(name = "equipo_visitante_id", nullable = false)
     private Team equipoVisitante;
 
+    // Pareja normalizada (menor id, mayor id): el cara a cara se busca con un único índice en los dos sentidos
+    @Column(name = "equipo_menor_id", nullable = false)
+    private Long equipoMenorId;
+
+    @Column(name = "equipo_mayor_id", nullable = false)
+    private Long equipoMayorId;
+
     @Column(name = "fecha_hora", nullable = false)
     private LocalDateTime fechaHora;
 
@@ -58,4 +67,17 @@ public class Match {
     @CreationTimestamp
     @Column(name = "fecha_creacion", nullable = false, updatable = false)
     private LocalDateTime fechaCreacion;
+
+    @UpdateTimestamp
+    @Column(name = "fecha_modificacion")
+    private LocalDateTime fechaModificacion;
+
+    @PrePersist
+    @PreUpdate
+    void normalizarPareja() {
+        Long local = equipoLocal.getId();
+        Long visitante = equipoVisitante.getId();
+        equipoMenorId = Math.min(local, visitante);
+        equipoMayorId = Math.max(local, visitante);
+    }
 }
\ No newline at end of file
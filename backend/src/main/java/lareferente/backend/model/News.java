@@ -18,7 +18,8 @@ import java.time.LocalDateTime;
 public class News {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "noticias_seq")
+    @SequenceGenerator(name = "noticias_seq", sequenceName = "noticias_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 255)
@@ -16,7 +16,8 @@ import java.time.LocalDateTime;
 public class PlayerStats {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "estadisticas_jugadores_seq")
+    @SequenceGenerator(name = "estadisticas_jugadores_seq", sequenceName = "estadisticas_jugadores_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -16,7 +16,8 @@ import java.time.LocalDateTime;
 public class Standings {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "clasificaciones_seq")
+    @SequenceGenerator(name = "clasificaciones_seq", sequenceName = "clasificaciones_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
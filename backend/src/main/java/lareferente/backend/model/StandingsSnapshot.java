@@ -0,0 +1,37 @@
+package lareferente.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "clasificaciones_jornada")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StandingsSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "clasificaciones_jornada_seq")
+    @SequenceGenerator(name = "clasificaciones_jornada_seq", sequenceName = "clasificaciones_jornada_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "competicion_id", nullable = false)
+    private Competition competicion;
+
+    @Column(nullable = false)
+    private Integer jornada;
+
+    // Equipos que cambian respecto a la jornada anterior guardada: "equipo,pos,pj,v,e,d,gf,gc,pts;..." ("-equipo" si sale)
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String cambios;
+
+    @CreationTimestamp
+    @Column(name = "fecha_creacion", nullable = false, updatable = false)
+    private LocalDateTime fechaCreacion;
+}
@@ -5,19 +5,24 @@ import lareferente.backend.enums.UserRole;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "usuarios")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "usuarios_seq")
+    @SequenceGenerator(name = "usuarios_seq", sequenceName = "usuarios_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false, length = 255)
@@ -43,6 +48,8 @@ public class User {
     @Column(name = "fecha_registro", nullable = false, updatable = false)
     private LocalDateTime fechaRegistro;
 
-    @Column(name = "ultima_conexion")
+    // Solo la escribe LastLoginRecorder con su UPDATE en bloque; así guardar el usuario
+    // (p. ej. desde otro nodo con la entidad cacheada) no pisa la fecha con un valor viejo
+    @Column(name = "ultima_conexion", insertable = false, updatable = false)
     private LocalDateTime ultimaConexion;
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package lareferente.backend.repository;
 
+import lareferente.backend.dto.CommentDTO;
 import lareferente.backend.model.Comment;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -11,6 +12,10 @@ import java.util.List;
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
+    // Proyección para listados: noticia y usuario unidos en la misma sentencia
+    String DTO_SELECT = "SELECT new lareferente.backend.dto.CommentDTO(c.id, n.id, n.titulo, u.id, u.nombre, c.contenido, c.aprobado, c.fechaCreacion) " +
+            "FROM Comment c JOIN c.noticia n JOIN c.usuario u ";
+
     // Comentarios por noticia (solo aprobados)
     List<Comment> findByNoticiaIdAndAprobadoTrueOrderByFechaCreacionDesc(Long noticiaId);
 
@@ -35,4 +40,14 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     // Contar comentarios pendientes
     @Query("SELECT COUNT(c) FROM Comment c WHERE c.aprobado = false")
     Long countPendingComments();
-}
\ No newline at end of file
+
+    // Listados ya proyectados a DTO
+    @Query(DTO_SELECT + "WHERE n.id = :noticiaId AND c.aprobado = true ORDER BY c.fechaCreacion DESC")
+    List<CommentDTO> findApprovedDTOsByNews(@Param("noticiaId") Long noticiaId);
+
+    @Query(DTO_SELECT + "WHERE n.id = :noticiaId ORDER BY c.fechaCreacion DESC")
+    List<CommentDTO> findDTOsByNews(@Param("noticiaId") Long noticiaId);
+
+    @Query(DTO_SELECT + "WHERE c.aprobado = false ORDER BY c.fechaCreacion ASC")
+    List<CommentDTO> findPendingDTOs();
+}
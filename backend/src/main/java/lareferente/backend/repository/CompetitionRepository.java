@@ -1,9 +1,13 @@
 package lareferente.backend.repository;
 
+import jakarta.persistence.QueryHint;
+import lareferente.backend.dto.VersionStamp;
 import lareferente.backend.enums.CompetitionType;
 import lareferente.backend.model.Competition;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -13,7 +17,8 @@ import java.util.Optional;
 @Repository
 public interface CompetitionRepository extends JpaRepository<Competition, Long> {
 
-    // Buscar competiciones activas
+    // Buscar competiciones activas (caché de consultas de Hibernate)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Competition> findByActivaTrueOrderByNombreAsc();
 
     // Buscar por temporada
@@ -36,4 +41,14 @@ public interface CompetitionRepository extends JpaRepository<Competition, Long>
     // Contar partidos por competición
     @Query("SELECT COUNT(m) FROM Match m WHERE m.competicion.id = :competitionId")
     Long countMatchesByCompetition(@Param("competitionId") Long competitionId);
-}
\ No newline at end of file
+
+    // Versiones para ETag (número de filas + última modificación)
+    @Query("SELECT new lareferente.backend.dto.VersionStamp(COUNT(c), MAX(COALESCE(c.fechaModificacion, c.fechaCreacion))) FROM Competition c")
+    VersionStamp findAllVersion();
+
+    @Query("SELECT new lareferente.backend.dto.VersionStamp(COUNT(c), MAX(COALESCE(c.fechaModificacion, c.fechaCreacion))) FROM Competition c WHERE c.activa = true")
+    VersionStamp findActiveVersion();
+
+    @Query("SELECT new lareferente.backend.dto.VersionStamp(COUNT(c), MAX(COALESCE(c.fechaModificacion, c.fechaCreacion))) FROM Competition c WHERE c.id = :id")
+    VersionStamp findVersionById(@Param("id") Long id);
+}
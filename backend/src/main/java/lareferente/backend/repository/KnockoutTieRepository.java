@@ -0,0 +1,26 @@
+package lareferente.backend.repository;
+
+import lareferente.backend.model.KnockoutTie;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface KnockoutTieRepository extends JpaRepository<KnockoutTie, Long> {
+
+    // Cuadro completo de una competición, ronda a ronda, con equipos y partidos en la misma consulta
+    @EntityGraph(attributePaths = {"equipoA", "equipoB", "ganador", "partidoIda", "partidoVuelta"})
+    List<KnockoutTie> findByCompeticionIdOrderByRondaAscPosicionAsc(Long competicionId);
+
+    // ¿La competición tiene ya cuadro?
+    boolean existsByCompeticionId(Long competicionId);
+
+    // Cruce al que pertenece un partido
+    @Query("SELECT t FROM KnockoutTie t WHERE t.partidoIda.id = :partidoId OR t.partidoVuelta.id = :partidoId")
+    Optional<KnockoutTie> findByPartido(@Param("partidoId") Long partidoId);
+}
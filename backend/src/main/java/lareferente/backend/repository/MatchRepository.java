@@ -1,8 +1,12 @@
 package lareferente.backend.repository;
 
+import lareferente.backend.dto.MatchSlot;
+import lareferente.backend.dto.VersionStamp;
 import lareferente.backend.enums.MatchStatus;
 import lareferente.backend.model.Match;
 import lareferente.backend.model.Team;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -10,37 +14,100 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface MatchRepository extends JpaRepository<Match, Long> {
 
+    // Versiones para ETag: incluyen equipos y competición porque sus nombres viajan en el DTO
+    String VERSION_SELECT = "SELECT new lareferente.backend.dto.VersionStamp(COUNT(m), MAX(COALESCE(m.fechaModificacion, m.fechaCreacion)), " +
+            "MAX(COALESCE(l.fechaModificacion, l.fechaCreacion)), MAX(COALESCE(v.fechaModificacion, v.fechaCreacion)), " +
+            "MAX(COALESCE(c.fechaModificacion, c.fechaCreacion))) " +
+            "FROM Match m JOIN m.equipoLocal l JOIN m.equipoVisitante v JOIN m.competicion c ";
+
+    // Franjas de calendario: los partidos aplazados o cancelados no ocupan su fecha
+    String SLOT_SELECT = "SELECT new lareferente.backend.dto.MatchSlot(m.id, m.fechaHora, m.equipoLocal.id, m.equipoVisitante.id, m.estadio) " +
+            "FROM Match m WHERE m.estado NOT IN ('APLAZADO', 'CANCELADO') ";
+
+    // Todos, con sus asociaciones en la misma consulta
+    @Override
+    @EntityGraph(attributePaths = {"competicion", "equipoLocal", "equipoVisitante"})
+    List<Match> findAll();
+
     // Buscar partidos por competición
+    @EntityGraph(attributePaths = {"competicion", "equipoLocal", "equipoVisitante"})
     List<Match> findByCompeticionIdOrderByFechaHoraAsc(Long competicionId);
 
+    // ¿La competición tiene ya algún partido?
+    boolean existsByCompeticionId(Long competicionId);
+
     // Buscar partidos por equipo (local o visitante)
+    @EntityGraph(attributePaths = {"competicion", "equipoLocal", "equipoVisitante"})
     @Query("SELECT m FROM Match m WHERE m.equipoLocal.id = :equipoId OR m.equipoVisitante.id = :equipoId ORDER BY m.fechaHora DESC")
     List<Match> findByTeam(@Param("equipoId") Long equipoId);
 
+    // Últimos partidos finalizados de un equipo (racha reciente)
+    @Query("SELECT m FROM Match m WHERE (m.equipoLocal.id = :equipoId OR m.equipoVisitante.id = :equipoId) " +
+           "AND m.estado = 'FINALIZADO' ORDER BY m.fechaHora DESC, m.id DESC")
+    List<Match> findRecentFinishedByTeam(@Param("equipoId") Long equipoId, Pageable pageable);
+
+    // Últimos N partidos finalizados de cada equipo en una sola lectura: equipo, partido, fecha, goles a favor y en contra
+    @Query(value = "SELECT r.equipo_id, r.id, r.fecha_hora, r.goles_favor, r.goles_contra FROM (" +
+            "SELECT t.*, ROW_NUMBER() OVER (PARTITION BY t.equipo_id ORDER BY t.fecha_hora DESC, t.id DESC) AS rn FROM (" +
+            "SELECT equipo_local_id AS equipo_id, id, fecha_hora, goles_local AS goles_favor, goles_visitante AS goles_contra " +
+            "FROM partidos WHERE estado = 'FINALIZADO' " +
+            "UNION ALL " +
+            "SELECT equipo_visitante_id, id, fecha_hora, goles_visitante, goles_local " +
+            "FROM partidos WHERE estado = 'FINALIZADO') t) r " +
+            "WHERE r.rn <= :limit ORDER BY r.equipo_id, r.rn", nativeQuery = true)
+    List<Object[]> findRecentFinishedForAllTeams(@Param("limit") int limit);
+
+    // Un partido con competición y equipos (se usa fuera de una sesión abierta)
+    @EntityGraph(attributePaths = {"competicion", "equipoLocal", "equipoVisitante"})
+    @Query("SELECT m FROM Match m WHERE m.id = :id")
+    Optional<Match> findWithTeamsById(@Param("id") Long id);
+
+    // Partidos de una competición en un estado (carga de la clasificación)
+    @EntityGraph(attributePaths = {"equipoLocal", "equipoVisitante"})
+    List<Match> findByCompeticionIdAndEstado(Long competicionId, MatchStatus estado);
+
+    // Jornadas cerradas de una competición: ningún partido pendiente y al menos uno finalizado
+    @Query("SELECT m.jornada FROM Match m WHERE m.competicion.id = :competicionId AND m.jornada IS NOT NULL GROUP BY m.jornada " +
+           "HAVING SUM(CASE WHEN m.estado IN ('PROGRAMADO', 'EN_CURSO') THEN 1 ELSE 0 END) = 0 " +
+           "AND SUM(CASE WHEN m.estado = 'FINALIZADO' THEN 1 ELSE 0 END) > 0 ORDER BY m.jornada ASC")
+    List<Integer> findCompletedRounds(@Param("competicionId") Long competicionId);
+
     // Buscar partidos por estado
+    @EntityGraph(attributePaths = {"competicion", "equipoLocal", "equipoVisitante"})
     List<Match> findByEstadoOrderByFechaHoraAsc(MatchStatus estado);
 
     // Próximos partidos (ordenados por fecha)
+    @EntityGraph(attributePaths = {"competicion", "equipoLocal", "equipoVisitante"})
     @Query("SELECT m FROM Match m WHERE m.fechaHora > :now AND m.estado = 'PROGRAMADO' ORDER BY m.fechaHora ASC")
     List<Match> findUpcomingMatches(@Param("now") LocalDateTime now);
 
     // Partidos recientes finalizados
+    @EntityGraph(attributePaths = {"competicion", "equipoLocal", "equipoVisitante"})
     @Query("SELECT m FROM Match m WHERE m.estado = 'FINALIZADO' ORDER BY m.fechaHora DESC")
     List<Match> findRecentFinishedMatches();
 
     // Partidos por jornada
+    @EntityGraph(attributePaths = {"competicion", "equipoLocal", "equipoVisitante"})
     @Query("SELECT m FROM Match m WHERE m.competicion.id = :competicionId AND m.jornada = :jornada ORDER BY m.fechaHora ASC")
     List<Match> findByCompetitionAndRound(@Param("competicionId") Long competicionId, @Param("jornada") Integer jornada);
 
-    // Partidos entre dos equipos
-    @Query("SELECT m FROM Match m WHERE (m.equipoLocal.id = :equipo1 AND m.equipoVisitante.id = :equipo2) OR (m.equipoLocal.id = :equipo2 AND m.equipoVisitante.id = :equipo1) ORDER BY m.fechaHora DESC")
-    List<Match> findMatchesBetweenTeams(@Param("equipo1") Long equipo1, @Param("equipo2") Long equipo2);
+    // Partidos entre dos equipos (en cualquier orden)
+    default List<Match> findMatchesBetweenTeams(Long equipo1, Long equipo2) {
+        return findByPair(Math.min(equipo1, equipo2), Math.max(equipo1, equipo2));
+    }
+
+    // Partidos de una pareja normalizada (menor id, mayor id)
+    @EntityGraph(attributePaths = {"competicion", "equipoLocal", "equipoVisitante"})
+    @Query("SELECT m FROM Match m WHERE m.equipoMenorId = :menor AND m.equipoMayorId = :mayor ORDER BY m.fechaHora DESC")
+    List<Match> findByPair(@Param("menor") Long menor, @Param("mayor") Long mayor);
 
     // Partidos de hoy
+    @EntityGraph(attributePaths = {"competicion", "equipoLocal", "equipoVisitante"})
     @Query("SELECT m FROM Match m WHERE CAST(m.fechaHora AS LocalDate) = CURRENT_DATE ORDER BY m.fechaHora ASC")
     List<Match> findTodayMatches();
 
@@ -52,4 +119,38 @@ public interface MatchRepository extends JpaRepository<Match, Long> {
     @Query("SELECT DISTINCT t FROM Match m JOIN m.equipoLocal t WHERE m.competicion.id = :competicionId " +
            "UNION SELECT DISTINCT t FROM Match m JOIN m.equipoVisitante t WHERE m.competicion.id = :competicionId")
     List<Team> findTeamsByCompetition(@Param("competicionId") Long competicionId);
-}
\ No newline at end of file
+
+    // Franjas ocupadas desde una fecha (carga del índice de calendario)
+    @Query(SLOT_SELECT + "AND m.fechaHora >= :desde")
+    List<MatchSlot> findSlotsFrom(@Param("desde") LocalDateTime desde);
+
+    @Query(SLOT_SELECT + "AND m.competicion.id = :competicionId AND m.fechaHora >= :desde")
+    List<MatchSlot> findSlotsByCompetitionFrom(@Param("competicionId") Long competicionId, @Param("desde") LocalDateTime desde);
+
+    @Query(SLOT_SELECT + "AND m.id = :id")
+    Optional<MatchSlot> findSlotById(@Param("id") Long id);
+
+    // Franjas que empiezan entre dos fechas con alguno de los equipos o en el estadio (fechas anteriores al índice)
+    @Query(SLOT_SELECT + "AND m.fechaHora > :desde AND m.fechaHora < :hasta " +
+           "AND (m.equipoLocal.id IN :equipos OR m.equipoVisitante.id IN :equipos OR LOWER(TRIM(m.estadio)) = :estadio)")
+    List<MatchSlot> findSlotsBetween(@Param("desde") LocalDateTime desde, @Param("hasta") LocalDateTime hasta,
+                                     @Param("equipos") List<Long> equipos, @Param("estadio") String estadio);
+
+    // Partidos por ID con sus asociaciones
+    @EntityGraph(attributePaths = {"competicion", "equipoLocal", "equipoVisitante"})
+    @Query("SELECT m FROM Match m WHERE m.id IN :ids ORDER BY m.fechaHora ASC")
+    List<Match> findWithTeamsByIdIn(@Param("ids") List<Long> ids);
+
+    // Versiones para ETag
+    @Query(VERSION_SELECT)
+    VersionStamp findAllVersion();
+
+    @Query(VERSION_SELECT + "WHERE m.fechaHora > :now AND m.estado = 'PROGRAMADO'")
+    VersionStamp findUpcomingVersion(@Param("now") LocalDateTime now);
+
+    @Query(VERSION_SELECT + "WHERE c.id = :competicionId")
+    VersionStamp findVersionByCompetition(@Param("competicionId") Long competicionId);
+
+    @Query(VERSION_SELECT + "WHERE m.id = :id")
+    VersionStamp findVersionById(@Param("id") Long id);
+}
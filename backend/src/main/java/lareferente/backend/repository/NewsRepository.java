@@ -1,50 +1,99 @@
 package lareferente.backend.repository;
 
+import lareferente.backend.dto.NewsSummaryDTO;
+import lareferente.backend.dto.VersionStamp;
 import lareferente.backend.enums.NewsCategory;
 import lareferente.backend.model.News;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface NewsRepository extends JpaRepository<News, Long> {
 
-    // Noticias publicadas ordenadas por fecha
-    List<News> findByPublicadaTrueOrderByFechaPublicacionDesc();
+    // Consulta base del feed: proyección sin contenido y autor unido en la misma sentencia
+    String FEED_SELECT = "SELECT new lareferente.backend.dto.NewsSummaryDTO(n.id, n.titulo, n.subtitulo, n.imagenPrincipalUrl, " +
+            "a.id, TRIM(CONCAT(a.nombre, ' ', COALESCE(a.apellidos, ''))), n.categoria, n.destacada, n.fechaPublicacion, n.visitas) " +
+            "FROM News n JOIN n.autor a ";
+
+    String FEED_CURSOR = "n.fechaPublicacion IS NOT NULL " +
+            "AND (n.fechaPublicacion < :fecha OR (n.fechaPublicacion = :fecha AND n.id < :id)) ";
+
+    String FEED_ORDER = "ORDER BY n.fechaPublicacion DESC, n.id DESC";
+
+    // Todos, con sus asociaciones en la misma consulta
+    @Override
+    @EntityGraph(attributePaths = {"autor"})
+    List<News> findAll();
 
     // Noticias destacadas publicadas
+    @EntityGraph(attributePaths = {"autor"})
     @Query("SELECT n FROM News n WHERE n.publicada = true AND n.destacada = true ORDER BY n.fechaPublicacion DESC")
     List<News> findFeaturedNews();
 
     // Buscar por categoría
+    @EntityGraph(attributePaths = {"autor"})
     List<News> findByCategoriaAndPublicadaTrueOrderByFechaPublicacionDesc(NewsCategory categoria);
 
     // Buscar por autor
     List<News> findByAutorIdOrderByFechaCreacionDesc(Long autorId);
 
     // Noticias más vistas
+    @EntityGraph(attributePaths = {"autor"})
     @Query("SELECT n FROM News n WHERE n.publicada = true ORDER BY n.visitas DESC")
     List<News> findMostViewedNews();
 
-    // Buscar por título o contenido
-    @Query("SELECT n FROM News n WHERE n.publicada = true AND (LOWER(n.titulo) LIKE LOWER(CONCAT('%', :query, '%')) OR LOWER(n.contenido) LIKE LOWER(CONCAT('%', :query, '%'))) ORDER BY n.fechaPublicacion DESC")
-    List<News> searchNews(@Param("query") String query);
+    // Búsqueda de texto completo (índice GIN sobre noticias.busqueda, ver schema.sql): IDs ordenados por relevancia
+    @Query(value = "SELECT n.id FROM noticias n, websearch_to_tsquery('es_unaccent', :query) q " +
+            "WHERE n.publicada = true AND n.busqueda @@ q " +
+            "ORDER BY ts_rank_cd(n.busqueda, q) DESC, n.fecha_publicacion DESC, n.id DESC " +
+            "LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<Long> searchNews(@Param("query") String query, @Param("limit") int limit, @Param("offset") long offset);
+
+    // Resumen de una noticia publicada
+    @Query(FEED_SELECT + "WHERE n.id = :id AND n.publicada = true")
+    Optional<NewsSummaryDTO> findPublishedSummary(@Param("id") Long id);
+
+    // Resúmenes de un conjunto de noticias (el orden lo decide quien llama)
+    @Query(FEED_SELECT + "WHERE n.id IN :ids")
+    List<NewsSummaryDTO> findSummariesByIds(@Param("ids") List<Long> ids);
 
     // Noticias recientes (últimos 7 días)
+    @EntityGraph(attributePaths = {"autor"})
     @Query("SELECT n FROM News n WHERE n.publicada = true AND n.fechaPublicacion >= :fecha ORDER BY n.fechaPublicacion DESC")
     List<News> findRecentNews(@Param("fecha") LocalDateTime fecha);
 
-    // Incrementar visitas
-    @Modifying
-    @Query("UPDATE News n SET n.visitas = n.visitas + 1 WHERE n.id = :id")
-    void incrementVisits(@Param("id") Long id);
+    // Feed de noticias publicadas paginado por cursor (fechaPublicacion, id)
+    @Query(FEED_SELECT + "WHERE n.publicada = true AND " + FEED_CURSOR + FEED_ORDER)
+    List<NewsSummaryDTO> findPublishedFeed(@Param("fecha") LocalDateTime fecha, @Param("id") Long id, Pageable pageable);
+
+    // Feed de noticias destacadas paginado por cursor
+    @Query(FEED_SELECT + "WHERE n.publicada = true AND n.destacada = true AND " + FEED_CURSOR + FEED_ORDER)
+    List<NewsSummaryDTO> findFeaturedFeed(@Param("fecha") LocalDateTime fecha, @Param("id") Long id, Pageable pageable);
+
+    // Feed de noticias por categoría paginado por cursor
+    @Query(FEED_SELECT + "WHERE n.publicada = true AND n.categoria = :categoria AND " + FEED_CURSOR + FEED_ORDER)
+    List<NewsSummaryDTO> findCategoryFeed(@Param("categoria") NewsCategory categoria, @Param("fecha") LocalDateTime fecha,
+                                          @Param("id") Long id, Pageable pageable);
 
     // Contar noticias por autor
     @Query("SELECT COUNT(n) FROM News n WHERE n.autor.id = :autorId AND n.publicada = true")
     Long countPublishedByAuthor(@Param("autorId") Long autorId);
-}
\ No newline at end of file
+
+    // Versiones para ETag (número de filas + última modificación)
+    @Query("SELECT new lareferente.backend.dto.VersionStamp(COUNT(n), MAX(COALESCE(n.fechaModificacion, n.fechaCreacion))) FROM News n")
+    VersionStamp findAllVersion();
+
+    @Query("SELECT new lareferente.backend.dto.VersionStamp(COUNT(n), MAX(COALESCE(n.fechaModificacion, n.fechaCreacion))) FROM News n WHERE n.publicada = true")
+    VersionStamp findPublishedVersion();
+
+    @Query("SELECT new lareferente.backend.dto.VersionStamp(COUNT(n), MAX(COALESCE(n.fechaModificacion, n.fechaCreacion))) FROM News n WHERE n.id = :id")
+    VersionStamp findVersionById(@Param("id") Long id);
+}
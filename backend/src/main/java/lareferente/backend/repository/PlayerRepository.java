@@ -1,7 +1,9 @@
 package lareferente.backend.repository;
 
+import lareferente.backend.dto.VersionStamp;
 import lareferente.backend.enums.PlayerPosition;
 import lareferente.backend.model.Player;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -12,19 +14,33 @@ import java.util.List;
 @Repository
 public interface PlayerRepository extends JpaRepository<Player, Long> {
 
+    // Versiones para ETag: incluyen el equipo porque su nombre viaja en el DTO
+    String VERSION_SELECT = "SELECT new lareferente.backend.dto.VersionStamp(COUNT(p), MAX(COALESCE(p.fechaModificacion, p.fechaCreacion)), " +
+            "MAX(COALESCE(e.fechaModificacion, e.fechaCreacion))) FROM Player p LEFT JOIN p.equipo e ";
+
+    // Todos, con sus asociaciones en la misma consulta
+    @Override
+    @EntityGraph(attributePaths = {"equipo"})
+    List<Player> findAll();
+
     // Buscar jugadores activos
+    @EntityGraph(attributePaths = {"equipo"})
     List<Player> findByActivoTrueOrderByApellidosAsc();
 
     // Buscar por equipo (ordenados por dorsal)
+    @EntityGraph(attributePaths = {"equipo"})
     List<Player> findByEquipoIdAndActivoTrueOrderByDorsalAsc(Long equipoId);
 
     // Buscar por posición
+    @EntityGraph(attributePaths = {"equipo"})
     List<Player> findByPosicionAndActivoTrue(PlayerPosition posicion);
 
     // Buscar por nacionalidad
+    @EntityGraph(attributePaths = {"equipo"})
     List<Player> findByNacionalidadAndActivoTrue(String nacionalidad);
 
     // Buscar jugadores por nombre o apellidos
+    @EntityGraph(attributePaths = {"equipo"})
     @Query("SELECT p FROM Player p WHERE (LOWER(p.nombre) LIKE LOWER(CONCAT('%', :query, '%')) OR LOWER(p.apellidos) LIKE LOWER(CONCAT('%', :query, '%'))) AND p.activo = true")
     List<Player> searchByNameOrSurname(@Param("query") String query);
 
@@ -33,10 +49,24 @@ public interface PlayerRepository extends JpaRepository<Player, Long> {
     List<Player> findTopScorersBySeasonLimit(@Param("temporada") String temporada);
 
     // Jugadores sin equipo
+    @EntityGraph(attributePaths = {"equipo"})
     @Query("SELECT p FROM Player p WHERE p.equipo IS NULL AND p.activo = true")
     List<Player> findPlayersWithoutTeam();
 
     // Contar jugadores por posición
     @Query("SELECT COUNT(p) FROM Player p WHERE p.posicion = :posicion AND p.activo = true")
     Long countByPosition(@Param("posicion") PlayerPosition posicion);
-}
\ No newline at end of file
+
+    // Versiones para ETag
+    @Query(VERSION_SELECT)
+    VersionStamp findAllVersion();
+
+    @Query(VERSION_SELECT + "WHERE p.activo = true")
+    VersionStamp findActiveVersion();
+
+    @Query(VERSION_SELECT + "WHERE e.id = :equipoId AND p.activo = true")
+    VersionStamp findVersionByTeam(@Param("equipoId") Long equipoId);
+
+    @Query(VERSION_SELECT + "WHERE p.id = :id")
+    VersionStamp findVersionById(@Param("id") Long id);
+}
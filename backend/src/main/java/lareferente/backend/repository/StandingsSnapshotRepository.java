@@ -0,0 +1,22 @@
+package lareferente.backend.repository;
+
+import lareferente.backend.model.StandingsSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StandingsSnapshotRepository extends JpaRepository<StandingsSnapshot, Long> {
+
+    // Cadena de deltas de una competición, en orden de jornada
+    List<StandingsSnapshot> findByCompeticionIdOrderByJornadaAsc(Long competicionId);
+
+    // Descartar las jornadas que se van a recalcular
+    @Modifying
+    @Query("DELETE FROM StandingsSnapshot s WHERE s.competicion.id = :competicionId AND s.jornada >= :jornada")
+    void deleteFromJornada(@Param("competicionId") Long competicionId, @Param("jornada") Integer jornada);
+}
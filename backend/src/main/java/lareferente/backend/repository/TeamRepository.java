@@ -1,8 +1,13 @@
 package lareferente.backend.repository;
 
+import jakarta.persistence.QueryHint;
+import lareferente.backend.dto.VersionStamp;
 import lareferente.backend.model.Team;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -12,16 +17,25 @@ import java.util.Optional;
 @Repository
 public interface TeamRepository extends JpaRepository<Team, Long> {
 
+    // Todos, con sus asociaciones en la misma consulta
+    @Override
+    @EntityGraph(attributePaths = {"competiciones"})
+    List<Team> findAll();
+
     // Buscar por nombre
     Optional<Team> findByNombre(String nombre);
 
-    // Buscar equipos activos
+    // Buscar equipos activos (caché de consultas de Hibernate)
+    @EntityGraph(attributePaths = {"competiciones"})
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Team> findByActivoTrueOrderByNombreAsc();
 
     // Buscar por país
+    @EntityGraph(attributePaths = {"competiciones"})
     List<Team> findByPaisAndActivoTrue(String pais);
 
     // Buscar por ciudad
+    @EntityGraph(attributePaths = {"competiciones"})
     List<Team> findByCiudadAndActivoTrue(String ciudad);
 
     // Buscar equipos con jugadores
@@ -29,18 +43,34 @@ public interface TeamRepository extends JpaRepository<Team, Long> {
     List<Team> findTeamsWithPlayers();
 
     // Buscar por nombre parcial
+    @EntityGraph(attributePaths = {"competiciones"})
     @Query("SELECT t FROM Team t WHERE LOWER(t.nombre) LIKE LOWER(CONCAT('%', :nombre, '%')) AND t.activo = true")
     List<Team> searchByName(@Param("nombre") String nombre);
 
     // Buscar por categoría
+    @EntityGraph(attributePaths = {"competiciones"})
     @Query("SELECT t FROM Team t WHERE t.categoria = :categoria AND t.activo = true ORDER BY t.nombre ASC")
     List<Team> findByCategoria(@Param("categoria") lareferente.backend.enums.AgeCategory categoria);
 
     // Buscar por nombre parcial y categoría
+    @EntityGraph(attributePaths = {"competiciones"})
     @Query("SELECT t FROM Team t WHERE LOWER(t.nombre) LIKE LOWER(CONCAT('%', :nombre, '%')) AND t.categoria = :categoria AND t.activo = true ORDER BY t.nombre ASC")
     List<Team> searchByNameAndCategoria(@Param("nombre") String nombre, @Param("categoria") lareferente.backend.enums.AgeCategory categoria);
 
     // Contar jugadores por equipo
     @Query("SELECT COUNT(p) FROM Player p WHERE p.equipo.id = :teamId AND p.activo = true")
     Long countPlayersByTeam(@Param("teamId") Long teamId);
-}
\ No newline at end of file
+
+    // Versiones para ETag (número de filas + última modificación)
+    @Query("SELECT new lareferente.backend.dto.VersionStamp(COUNT(t), MAX(COALESCE(t.fechaModificacion, t.fechaCreacion))) FROM Team t")
+    VersionStamp findAllVersion();
+
+    @Query("SELECT new lareferente.backend.dto.VersionStamp(COUNT(t), MAX(COALESCE(t.fechaModificacion, t.fechaCreacion))) FROM Team t WHERE t.activo = true")
+    VersionStamp findActiveVersion();
+
+    @Query("SELECT new lareferente.backend.dto.VersionStamp(COUNT(t), MAX(COALESCE(t.fechaModificacion, t.fechaCreacion))) FROM Team t WHERE t.id = :id")
+    VersionStamp findVersionById(@Param("id") Long id);
+
+    @Query("SELECT new lareferente.backend.dto.VersionStamp(COUNT(t), MAX(COALESCE(t.fechaModificacion, t.fechaCreacion))) FROM Team t JOIN t.competiciones c WHERE c.id = :competicionId")
+    VersionStamp findVersionByCompetition(@Param("competicionId") Long competicionId);
+}
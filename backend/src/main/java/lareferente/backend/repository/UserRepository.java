@@ -26,6 +26,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u WHERE u.rol = 'ADMIN' AND u.activo = true")
     List<User> findActiveAdmins();
 
+    // Todos los emails registrados (carga del filtro de Bloom)
+    @Query("SELECT u.email FROM User u")
+    List<String> findAllEmails();
+
     // Verificar si existe un email
     boolean existsByEmail(String email);
 
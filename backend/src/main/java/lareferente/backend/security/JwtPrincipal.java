@@ -0,0 +1,19 @@
+package lareferente.backend.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+
+// Datos de un token ya verificado (firma y expiración): se obtienen una sola vez por token
+public record JwtPrincipal(String email, String role, Instant expiresAt, List<GrantedAuthority> authorities) {
+
+    public JwtPrincipal(String email, String role, Instant expiresAt) {
+        this(email, role, expiresAt, List.of(new SimpleGrantedAuthority("ROLE_" + role)));
+    }
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
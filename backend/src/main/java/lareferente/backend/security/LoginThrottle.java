@@ -0,0 +1,98 @@
+package lareferente.backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.Locale;
+
+// Límite de intentos por IP y por email (token bucket) que se comprueba antes de tocar BCrypt
+@Component
+public class LoginThrottle {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${auth.throttle.ip.capacity:20}")
+    private int ipCapacity;
+
+    @Value("${auth.throttle.ip.per-minute:20}")
+    private int ipPerMinute;
+
+    @Value("${auth.throttle.email.capacity:5}")
+    private int emailCapacity;
+
+    @Value("${auth.throttle.email.per-minute:5}")
+    private int emailPerMinute;
+
+    @Value("${auth.throttle.max-keys:100000}")
+    private long maxKeys;
+
+    // Un cubo sin uso durante un rato está lleno de nuevo: se puede descartar sin cambiar el resultado
+    private Cache<String, TokenBucket> buckets;
+
+    @PostConstruct
+    void init() {
+        buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+    }
+
+    // Lanza 429 si la IP o el email han agotado sus intentos
+    public void check(String email, String clientIp) {
+        if (clientIp != null && !bucket("ip:" + clientIp, ipCapacity, ipPerMinute).tryConsume()) {
+            reject("ip");
+        }
+        if (email != null && !bucket("email:" + email.trim().toLowerCase(Locale.ROOT), emailCapacity, emailPerMinute).tryConsume()) {
+            reject("email");
+        }
+    }
+
+    private TokenBucket bucket(String key, int capacity, int perMinute) {
+        return buckets.get(key, k -> new TokenBucket(capacity, perMinute / 60_000.0));
+    }
+
+    private void reject(String key) {
+        Counter.builder("auth.throttle.rejected")
+                .description("Intentos de autenticación rechazados antes de calcular BCrypt")
+                .tag("key", key)
+                .register(meterRegistry)
+                .increment();
+        throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Demasiados intentos, espera un momento antes de volver a intentarlo");
+    }
+
+    private static final class TokenBucket {
+
+        private final int capacity;
+        private final double tokensPerMs;
+        private double tokens;
+        private long lastRefill;
+
+        TokenBucket(int capacity, double tokensPerMs) {
+            this.capacity = capacity;
+            this.tokensPerMs = tokensPerMs;
+            this.tokens = capacity;
+            this.lastRefill = System.currentTimeMillis();
+        }
+
+        synchronized boolean tryConsume() {
+            long now = System.currentTimeMillis();
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerMs);
+            lastRefill = now;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+    }
+}
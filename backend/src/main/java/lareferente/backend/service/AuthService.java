@@ -4,12 +4,16 @@ import lareferente.backend.dto.LoginRequestDTO;
 import lareferente.backend.dto.LoginResponseDTO;
 import lareferente.backend.dto.RegisterRequestDTO;
 import lareferente.backend.enums.UserRole;
+import lareferente.backend.event.EntityChangedEvent;
 import lareferente.backend.model.User;
 import lareferente.backend.repository.UserRepository;
 import lareferente.backend.security.JwtUtil;
+import lareferente.backend.security.LoginThrottle;
+import lareferente.backend.security.PasswordHasher;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 
@@ -20,12 +24,26 @@ public class AuthService {
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private LoginThrottle loginThrottle;
 
     @Autowired
     private JwtUtil jwtUtil;
 
-    public LoginResponseDTO login(LoginRequestDTO loginRequest) {
+    @Autowired
+    private LastLoginRecorder lastLoginRecorder;
+
+    @Autowired
+    private EmailBloomFilter emailBloomFilter;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    public LoginResponseDTO login(LoginRequestDTO loginRequest, String clientIp) {
+        loginThrottle.check(loginRequest.getEmail(), clientIp);
+
         User user = userRepository.findByEmail(loginRequest.getEmail())
                 .orElseThrow(() -> new RuntimeException("Credenciales inválidas"));
 
@@ -33,13 +51,12 @@ public class AuthService {
             throw new RuntimeException("Usuario inactivo");
         }
 
-        if (!passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())) {
+        if (!passwordHasher.matches(loginRequest.getPassword(), user.getPassword())) {
             throw new RuntimeException("Credenciales inválidas");
         }
 
-        // Actualizar última conexión
-        user.setUltimaConexion(LocalDateTime.now());
-        userRepository.save(user);
+        // Actualizar última conexión (se vuelca a la base de datos en segundo plano)
+        lastLoginRecorder.record(user.getId(), LocalDateTime.now());
 
         String token = jwtUtil.generateToken(user.getEmail(), user.getRol().name());
 
@@ -51,7 +68,10 @@ public class AuthService {
         );
     }
 
-    public LoginResponseDTO register(RegisterRequestDTO registerRequest) {
+    @Transactional
+    public LoginResponseDTO register(RegisterRequestDTO registerRequest, String clientIp) {
+        loginThrottle.check(registerRequest.getEmail(), clientIp);
+
         // Verificar que el email no esté en uso
         if (userRepository.existsByEmail(registerRequest.getEmail())) {
             throw new RuntimeException("El email ya está registrado");
@@ -59,13 +79,15 @@ public class AuthService {
 
         User user = new User();
         user.setEmail(registerRequest.getEmail());
-        user.setPassword(passwordEncoder.encode(registerRequest.getPassword()));
+        user.setPassword(passwordHasher.encode(registerRequest.getPassword()));
         user.setNombre(registerRequest.getNombre());
         user.setApellidos(registerRequest.getApellidos());
         user.setRol(UserRole.USER); // Por defecto todos son USER
         user.setActivo(true);
 
         User savedUser = userRepository.save(user);
+        emailBloomFilter.add(savedUser.getEmail());
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityChangedEvent.EntityType.USER, savedUser.getId()));
 
         String token = jwtUtil.generateToken(savedUser.getEmail(), savedUser.getRol().name());
 
@@ -78,6 +100,7 @@ public class AuthService {
     }
 
     public boolean emailExists(String email) {
-        return userRepository.existsByEmail(email);
+        // Solo los posibles positivos del filtro llegan a la base de datos
+        return emailBloomFilter.mightContain(email) && userRepository.existsByEmail(email);
     }
 }
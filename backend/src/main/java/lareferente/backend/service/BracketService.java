@@ -0,0 +1,557 @@
+package lareferente.backend.service;
+
+import lareferente.backend.dto.BracketDTO;
+import lareferente.backend.dto.BracketRequestDTO;
+import lareferente.backend.dto.BracketRoundDTO;
+import lareferente.backend.dto.BracketTieDTO;
+import lareferente.backend.dto.MatchSlot;
+import lareferente.backend.dto.TiePenaltiesDTO;
+import lareferente.backend.enums.CompetitionType;
+import lareferente.backend.enums.MatchStatus;
+import lareferente.backend.event.CacheFlushEvent;
+import lareferente.backend.event.EntityChangedEvent;
+import lareferente.backend.model.Competition;
+import lareferente.backend.model.KnockoutTie;
+import lareferente.backend.model.Match;
+import lareferente.backend.model.Team;
+import lareferente.backend.repository.CompetitionRepository;
+import lareferente.backend.repository.KnockoutTieRepository;
+import lareferente.backend.repository.MatchRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Cuadro de eliminatorias de las copas.
+ *
+ * Al crearlo se guardan todos los cruces de todas las rondas (los de rondas posteriores sin equipos) y los
+ * partidos de los cruces que ya tienen rival. Cuando se finalizan los partidos de un cruce se calcula el
+ * global y el ganador pasa a su cruce de la ronda siguiente; si ese cruce ya tiene los dos equipos, se
+ * crean sus partidos en la primera franja libre desde la fecha prevista. Con el global empatado el cruce
+ * espera a que se registre la tanda de penaltis.
+ *
+ * El cuadro completo de cada competición se sirve ya montado desde memoria y se descarta con cualquier
+ * cambio de sus partidos, equipos o de la propia competición.
+ */
+@Service
+@Slf4j
+public class BracketService {
+
+    private static final LocalTime DEFAULT_KICKOFF = LocalTime.of(21, 0);
+    private static final int DEFAULT_DAYS_BETWEEN_ROUNDS = 14;
+    private static final int DEFAULT_DAYS_BETWEEN_LEGS = 7;
+    private static final int MAX_SCHEDULE_SHIFTS = 12;
+
+    @Autowired
+    private KnockoutTieRepository tieRepository;
+
+    @Autowired
+    private CompetitionRepository competitionRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private MatchScheduleIndex scheduleIndex;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final Map<Long, Materialized> brackets = new ConcurrentHashMap<>();
+    // Partidos de los cuadros montados, para descartarlos con los cambios que llegan de otros nodos
+    private final Map<Long, Long> competitionByMatch = new ConcurrentHashMap<>();
+    // Un cuadro montado mientras se descartaba otro puede estar ya obsoleto: no se guarda
+    private final AtomicLong generation = new AtomicLong();
+
+    public BracketDTO getBracket(Long competitionId) {
+        return materialized(competitionId).bracket();
+    }
+
+    public String getBracketETag(Long competitionId) {
+        return materialized(competitionId).etag();
+    }
+
+    @Transactional
+    public BracketDTO createBracket(Long competitionId, BracketRequestDTO request) {
+        Competition competition = competitionRepository.findById(competitionId)
+                .orElseThrow(() -> new RuntimeException("Competición no encontrada con ID: " + competitionId));
+
+        // Lógica de negocio: solo copas y un único cuadro por competición
+        if (competition.getTipo() != CompetitionType.COPA) {
+            throw new RuntimeException("Solo se puede generar el cuadro de una copa");
+        }
+        if (tieRepository.existsByCompeticionId(competitionId)) {
+            throw new RuntimeException("La competición ya tiene cuadro de eliminatorias");
+        }
+        List<Team> teams = seededTeams(competition, request != null ? request.getEquipoIds() : null);
+        if (teams.size() < 2) {
+            throw new RuntimeException("La competición necesita al menos dos equipos para generar el cuadro");
+        }
+
+        LocalDateTime inicio = request != null && request.getInicio() != null ? request.getInicio()
+                : competition.getFechaInicio() != null ? competition.getFechaInicio().atTime(DEFAULT_KICKOFF) : null;
+        if (inicio == null) {
+            throw new RuntimeException("Indica la fecha del primer partido o la fecha de inicio de la competición");
+        }
+        int diasEntreRondas = request != null && request.getDiasEntreRondas() != null
+                ? request.getDiasEntreRondas() : DEFAULT_DAYS_BETWEEN_ROUNDS;
+        int diasEntrePartidos = request != null && request.getDiasEntrePartidos() != null
+                ? request.getDiasEntrePartidos() : DEFAULT_DAYS_BETWEEN_LEGS;
+        boolean idaYVuelta = request == null || request.getIdaYVuelta() == null || request.getIdaYVuelta();
+        boolean finalAPartidoUnico = request == null || request.getFinalAPartidoUnico() == null || request.getFinalAPartidoUnico();
+
+        // Cuadro de 2^k plazas; las que sobran son exenciones para los primeros cabezas de serie
+        int size = Integer.highestOneBit(teams.size() - 1) << 1;
+        int roundCount = Integer.numberOfTrailingZeros(size);
+        List<List<KnockoutTie>> rounds = new ArrayList<>(roundCount);
+        for (int ronda = 1; ronda <= roundCount; ronda++) {
+            LocalDateTime fechaIda = inicio.plusDays((long) (ronda - 1) * diasEntreRondas);
+            boolean twoLegs = idaYVuelta && !(ronda == roundCount && finalAPartidoUnico);
+            List<KnockoutTie> ties = new ArrayList<>(size >> ronda);
+            for (int posicion = 0; posicion < size >> ronda; posicion++) {
+                KnockoutTie tie = new KnockoutTie();
+                tie.setCompeticion(competition);
+                tie.setRonda(ronda);
+                tie.setPosicion(posicion);
+                tie.setIdaYVuelta(twoLegs);
+                tie.setFechaIda(fechaIda);
+                tie.setFechaVuelta(twoLegs ? fechaIda.plusDays(diasEntrePartidos) : null);
+                ties.add(tie);
+            }
+            rounds.add(ties);
+        }
+
+        int[] order = seedOrder(size);
+        Changes changes = new Changes();
+        for (KnockoutTie tie : rounds.get(0)) {
+            int seedA = order[2 * tie.getPosicion()];
+            int seedB = order[2 * tie.getPosicion() + 1];
+            tie.setEquipoA(seedA <= teams.size() ? teams.get(seedA - 1) : null);
+            tie.setEquipoB(seedB <= teams.size() ? teams.get(seedB - 1) : null);
+            schedule(tie, changes, false);
+        }
+        // Los exentos pasan directamente a la segunda ronda
+        rounds.get(0).forEach(tie -> resolve(rounds, tie, changes, false));
+
+        // Las fechas las ha elegido el administrador: si chocan con otros partidos no se guarda nada
+        MatchScheduleIndex.Batch batch = scheduleIndex.newBatch();
+        Set<MatchSlot> conflicts = new LinkedHashSet<>();
+        for (Match match : changes.created) {
+            conflicts.addAll(batch.check(MatchScheduleIndex.slotOf(match)));
+        }
+        if (!conflicts.isEmpty()) {
+            throw new ScheduleConflictException(matchService.toConflictDTOs(new ArrayList<>(conflicts)));
+        }
+
+        matchRepository.saveAll(changes.created);
+        tieRepository.saveAll(rounds.stream().flatMap(List::stream).toList());
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityChangedEvent.EntityType.COMPETITION, competitionId));
+        return build(competitionId).bracket();
+    }
+
+    // Desempate de un cruce con el global igualado
+    @Transactional
+    public BracketDTO setPenalties(Long competitionId, Long tieId, TiePenaltiesDTO penalties) {
+        KnockoutTie tie = tieRepository.findById(tieId)
+                .filter(found -> found.getCompeticion().getId().equals(competitionId))
+                .orElseThrow(() -> new RuntimeException("Cruce no encontrado con ID: " + tieId));
+
+        if (penalties.getPenaltisA() == null || penalties.getPenaltisB() == null
+                || penalties.getPenaltisA() < 0 || penalties.getPenaltisB() < 0) {
+            throw new RuntimeException("Indica los penaltis marcados por cada equipo");
+        }
+        if (penalties.getPenaltisA().equals(penalties.getPenaltisB())) {
+            throw new RuntimeException("Una tanda de penaltis no puede acabar empatada");
+        }
+        int[] goals = aggregate(tie);
+        if (goals == null || goals[0] != goals[1]) {
+            throw new RuntimeException("Los penaltis solo se registran con los partidos finalizados y el global empatado");
+        }
+
+        tie.setPenaltisA(penalties.getPenaltisA());
+        tie.setPenaltisB(penalties.getPenaltisB());
+        List<List<KnockoutTie>> rounds = load(competitionId);
+        Changes changes = new Changes();
+        resolve(rounds, rounds.get(tie.getRonda() - 1).get(tie.getPosicion()), changes, true);
+        apply(changes);
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityChangedEvent.EntityType.COMPETITION, competitionId));
+        return build(competitionId).bracket();
+    }
+
+    // Tras el commit del partido: el nodo que hizo el cambio pasa de ronda al ganador; todos descartan el cuadro
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        switch (event.type()) {
+            case MATCH -> {
+                if (event.id() == null) {
+                    evictAll();
+                    return;
+                }
+                Long competitionId = competitionByMatch.get(event.id());
+                if (!event.remote()) {
+                    Long advanced = advance(event.id());
+                    competitionId = advanced != null ? advanced : competitionId;
+                }
+                if (competitionId != null) {
+                    evict(competitionId);
+                }
+            }
+            case COMPETITION -> {
+                if (event.id() != null) {
+                    evict(event.id());
+                } else {
+                    evictAll();
+                }
+            }
+            // Nombres y escudos van dentro del cuadro montado
+            case TEAM -> evictAll();
+            default -> {
+            }
+        }
+    }
+
+    @EventListener
+    public void onCacheFlush(CacheFlushEvent event) {
+        evictAll();
+    }
+
+    // Cruce del partido, si lo tiene: recalcula su ganador y lo pasa de ronda. Devuelve la competición afectada
+    private Long advance(Long matchId) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            return transaction.execute(status -> tieRepository.findByPartido(matchId).map(tie -> {
+                Long competitionId = tie.getCompeticion().getId();
+                List<List<KnockoutTie>> rounds = load(competitionId);
+                Changes changes = new Changes();
+                resolve(rounds, rounds.get(tie.getRonda() - 1).get(tie.getPosicion()), changes, true);
+                apply(changes);
+                return competitionId;
+            }).orElse(null));
+        } catch (RuntimeException e) {
+            log.warn("No se pudo actualizar el cuadro tras el partido {}: {}", matchId, e.getMessage());
+            return null;
+        }
+    }
+
+    // Ganador del cruce; si cambia, ocupa su sitio en el cruce siguiente
+    private void resolve(List<List<KnockoutTie>> rounds, KnockoutTie tie, Changes changes, boolean adjustDates) {
+        Team winner = winner(tie);
+        if (Objects.equals(id(winner), id(tie.getGanador()))) {
+            return;
+        }
+        if (tie.getRonda() == rounds.size()) {
+            tie.setGanador(winner);
+            return;
+        }
+        KnockoutTie next = rounds.get(tie.getRonda()).get(tie.getPosicion() / 2);
+        if (started(next)) {
+            // Corrección de un resultado cuando el cruce siguiente ya se ha jugado: no se rehace, y el ganador
+            // guardado sigue siendo el que jugó ese cruce
+            log.warn("El cruce {} ya ha empezado; no se cambia el ganador del cruce {}", next.getId(), tie.getId());
+            return;
+        }
+        tie.setGanador(winner);
+        if (tie.getPosicion() % 2 == 0) {
+            next.setEquipoA(winner);
+        } else {
+            next.setEquipoB(winner);
+        }
+        schedule(next, changes, adjustDates);
+    }
+
+    // Partidos de un cruce que aún no ha empezado, según los equipos que tiene ahora
+    private void schedule(KnockoutTie tie, Changes changes, boolean adjustDates) {
+        Team a = tie.getEquipoA();
+        Team b = tie.getEquipoB();
+        if (a == null || b == null) {
+            // Falta un rival (exento o resultado corregido): fuera los partidos que se hubieran creado
+            if (tie.getPartidoIda() != null) {
+                changes.deleted.add(tie.getPartidoIda());
+                tie.setPartidoIda(null);
+            }
+            if (tie.getPartidoVuelta() != null) {
+                changes.deleted.add(tie.getPartidoVuelta());
+                tie.setPartidoVuelta(null);
+            }
+            return;
+        }
+        tie.setPartidoIda(leg(tie, tie.getPartidoIda(), a, b, tie.getFechaIda(), changes, adjustDates));
+        if (tie.getIdaYVuelta()) {
+            tie.setPartidoVuelta(leg(tie, tie.getPartidoVuelta(), b, a, tie.getFechaVuelta(), changes, adjustDates));
+        }
+    }
+
+    private Match leg(KnockoutTie tie, Match existing, Team local, Team visitante, LocalDateTime fecha,
+                      Changes changes, boolean adjustDates) {
+        Match match = existing != null ? existing : new Match();
+        match.setCompeticion(tie.getCompeticion());
+        match.setEquipoLocal(local);
+        match.setEquipoVisitante(visitante);
+        match.setEstadio(local.getEstadio());
+        match.setJornada(tie.getRonda());
+        if (existing != null) {
+            changes.updated.add(match);
+            return match;
+        }
+        match.setEstado(MatchStatus.PROGRAMADO);
+        match.setFechaHora(fecha);
+        if (adjustDates) {
+            match.setFechaHora(scheduleIndex.firstFreeStart(MatchScheduleIndex.slotOf(match), MAX_SCHEDULE_SHIFTS));
+        }
+        changes.created.add(match);
+        return match;
+    }
+
+    private void apply(Changes changes) {
+        matchRepository.saveAll(changes.created);
+        changes.deleted.forEach(matchRepository::delete);
+        Set<Long> ids = new HashSet<>();
+        changes.created.forEach(match -> ids.add(match.getId()));
+        changes.updated.forEach(match -> ids.add(match.getId()));
+        changes.deleted.forEach(match -> ids.add(match.getId()));
+        ids.forEach(id -> eventPublisher.publishEvent(new EntityChangedEvent(EntityChangedEvent.EntityType.MATCH, id)));
+    }
+
+    private List<List<KnockoutTie>> load(Long competitionId) {
+        List<List<KnockoutTie>> rounds = new ArrayList<>();
+        for (KnockoutTie tie : tieRepository.findByCompeticionIdOrderByRondaAscPosicionAsc(competitionId)) {
+            if (rounds.size() < tie.getRonda()) {
+                rounds.add(new ArrayList<>());
+            }
+            rounds.get(tie.getRonda() - 1).add(tie);
+        }
+        return rounds;
+    }
+
+    private Materialized materialized(Long competitionId) {
+        Materialized cached = brackets.get(competitionId);
+        if (cached != null) {
+            return cached;
+        }
+        long current = generation.get();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        Materialized built = transaction.execute(status -> build(competitionId));
+        if (generation.get() == current) {
+            brackets.put(competitionId, built);
+            built.bracket().getRondas().stream()
+                    .flatMap(round -> round.getEliminatorias().stream())
+                    .forEach(tie -> {
+                        if (tie.getIda() != null) {
+                            competitionByMatch.put(tie.getIda().getId(), competitionId);
+                        }
+                        if (tie.getVuelta() != null) {
+                            competitionByMatch.put(tie.getVuelta().getId(), competitionId);
+                        }
+                    });
+        }
+        return built;
+    }
+
+    private Materialized build(Long competitionId) {
+        List<List<KnockoutTie>> rounds = load(competitionId);
+        if (rounds.isEmpty()) {
+            throw new RuntimeException("La competición no tiene cuadro de eliminatorias");
+        }
+        List<BracketRoundDTO> roundDTOs = new ArrayList<>(rounds.size());
+        for (List<KnockoutTie> ties : rounds) {
+            int ronda = ties.get(0).getRonda();
+            roundDTOs.add(new BracketRoundDTO(ronda, roundName(ronda, rounds.size()),
+                    ties.stream().map(this::toDTO).toList()));
+        }
+        KnockoutTie finalTie = rounds.get(rounds.size() - 1).get(0);
+        BracketDTO bracket = new BracketDTO(competitionId, id(finalTie.getGanador()), roundDTOs);
+        String etag = "\"" + DigestUtils.md5DigestAsHex(("bracket|" + bracket).getBytes(StandardCharsets.UTF_8)) + "\"";
+        return new Materialized(bracket, etag);
+    }
+
+    private BracketTieDTO toDTO(KnockoutTie tie) {
+        BracketTieDTO dto = new BracketTieDTO();
+        dto.setId(tie.getId());
+        dto.setRonda(tie.getRonda());
+        dto.setPosicion(tie.getPosicion());
+        dto.setIdaYVuelta(tie.getIdaYVuelta());
+        dto.setFechaIda(tie.getFechaIda());
+        dto.setFechaVuelta(tie.getFechaVuelta());
+        if (tie.getEquipoA() != null) {
+            dto.setEquipoAId(tie.getEquipoA().getId());
+            dto.setEquipoANombre(tie.getEquipoA().getNombre());
+            dto.setEquipoALogo(tie.getEquipoA().getLogoUrl());
+        }
+        if (tie.getEquipoB() != null) {
+            dto.setEquipoBId(tie.getEquipoB().getId());
+            dto.setEquipoBNombre(tie.getEquipoB().getNombre());
+            dto.setEquipoBLogo(tie.getEquipoB().getLogoUrl());
+        }
+        if (tie.getPartidoIda() != null) {
+            dto.setIda(matchService.convertToDTO(tie.getPartidoIda()));
+        }
+        if (tie.getPartidoVuelta() != null) {
+            dto.setVuelta(matchService.convertToDTO(tie.getPartidoVuelta()));
+        }
+        int[] goals = goals(tie);
+        if (goals != null) {
+            dto.setGolesA(goals[0]);
+            dto.setGolesB(goals[1]);
+        }
+        dto.setPenaltisA(tie.getPenaltisA());
+        dto.setPenaltisB(tie.getPenaltisB());
+        dto.setGanadorId(id(tie.getGanador()));
+        return dto;
+    }
+
+    // Exento en primera ronda, o quien gana el global (o los penaltis) con todos los partidos finalizados
+    private static Team winner(KnockoutTie tie) {
+        if (tie.getEquipoA() == null || tie.getEquipoB() == null) {
+            return tie.getRonda() == 1 ? (tie.getEquipoA() != null ? tie.getEquipoA() : tie.getEquipoB()) : null;
+        }
+        int[] goals = aggregate(tie);
+        if (goals == null) {
+            return null;
+        }
+        if (goals[0] != goals[1]) {
+            return goals[0] > goals[1] ? tie.getEquipoA() : tie.getEquipoB();
+        }
+        if (tie.getPenaltisA() != null && tie.getPenaltisB() != null && !tie.getPenaltisA().equals(tie.getPenaltisB())) {
+            return tie.getPenaltisA() > tie.getPenaltisB() ? tie.getEquipoA() : tie.getEquipoB();
+        }
+        return null;
+    }
+
+    // Global {A, B} con todos los partidos del cruce finalizados, o null
+    private static int[] aggregate(KnockoutTie tie) {
+        if (!finished(tie.getPartidoIda()) || (tie.getIdaYVuelta() && !finished(tie.getPartidoVuelta()))) {
+            return null;
+        }
+        return goals(tie);
+    }
+
+    // Global {A, B} de los partidos ya jugados o en juego, o null si no hay ninguno
+    private static int[] goals(KnockoutTie tie) {
+        if (tie.getEquipoA() == null || tie.getEquipoB() == null) {
+            return null;
+        }
+        int[] goals = null;
+        for (Match leg : new Match[]{tie.getPartidoIda(), tie.getPartidoVuelta()}) {
+            if (leg == null || leg.getEstado() == MatchStatus.PROGRAMADO || !MatchScheduleIndex.occupiesSlot(leg.getEstado())) {
+                continue;
+            }
+            boolean aIsLocal = leg.getEquipoLocal().getId().equals(tie.getEquipoA().getId());
+            int local = leg.getGolesLocal() != null ? leg.getGolesLocal() : 0;
+            int visitante = leg.getGolesVisitante() != null ? leg.getGolesVisitante() : 0;
+            goals = goals != null ? goals : new int[2];
+            goals[0] += aIsLocal ? local : visitante;
+            goals[1] += aIsLocal ? visitante : local;
+        }
+        return goals;
+    }
+
+    private static boolean finished(Match match) {
+        return match != null && match.getEstado() == MatchStatus.FINALIZADO;
+    }
+
+    private static boolean started(KnockoutTie tie) {
+        return tie.getGanador() != null || isUnderway(tie.getPartidoIda()) || isUnderway(tie.getPartidoVuelta());
+    }
+
+    private static boolean isUnderway(Match match) {
+        return match != null && (match.getEstado() == MatchStatus.EN_CURSO || match.getEstado() == MatchStatus.FINALIZADO);
+    }
+
+    private static Long id(Team team) {
+        return team != null ? team.getId() : null;
+    }
+
+    // Cabezas de serie en el orden del cuadro: 1 y 2 solo pueden cruzarse en la final (1, 8, 4, 5, 2, 7, 3, 6...)
+    static int[] seedOrder(int size) {
+        int[] order = {1};
+        while (order.length < size) {
+            int[] next = new int[order.length * 2];
+            for (int i = 0; i < order.length; i++) {
+                next[2 * i] = order[i];
+                next[2 * i + 1] = next.length + 1 - order[i];
+            }
+            order = next;
+        }
+        return order;
+    }
+
+    private static String roundName(int ronda, int roundCount) {
+        return switch (roundCount - ronda) {
+            case 0 -> "Final";
+            case 1 -> "Semifinales";
+            case 2 -> "Cuartos de final";
+            case 3 -> "Octavos de final";
+            case 4 -> "Dieciseisavos de final";
+            default -> "Ronda " + ronda;
+        };
+    }
+
+    private List<Team> seededTeams(Competition competition, List<Long> equipoIds) {
+        List<Team> registered = new ArrayList<>(competition.getEquipos());
+        registered.sort(Comparator.comparing(Team::getId));
+        if (equipoIds == null || equipoIds.isEmpty()) {
+            return registered;
+        }
+        List<Team> seeded = new ArrayList<>(equipoIds.size());
+        for (Long equipoId : new LinkedHashSet<>(equipoIds)) {
+            seeded.add(registered.stream()
+                    .filter(team -> team.getId().equals(equipoId))
+                    .findFirst()
+                    .orElseThrow(() -> new RuntimeException("El equipo " + equipoId + " no está inscrito en la competición")));
+        }
+        return seeded;
+    }
+
+    private void evict(Long competitionId) {
+        generation.incrementAndGet();
+        brackets.remove(competitionId);
+        competitionByMatch.values().removeIf(competitionId::equals);
+    }
+
+    private void evictAll() {
+        generation.incrementAndGet();
+        brackets.clear();
+        competitionByMatch.clear();
+    }
+
+    private record Materialized(BracketDTO bracket, String etag) {
+    }
+
+    // Partidos que crea, modifica o borra un paso del cuadro; se guardan y se avisan juntos
+    private static final class Changes {
+        private final List<Match> created = new ArrayList<>();
+        private final List<Match> updated = new ArrayList<>();
+        private final List<Match> deleted = new ArrayList<>();
+    }
+}
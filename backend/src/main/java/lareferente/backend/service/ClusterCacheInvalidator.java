@@ -0,0 +1,366 @@
+package lareferente.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lareferente.backend.config.CacheConfig;
+import lareferente.backend.event.CacheFlushEvent;
+import lareferente.backend.event.EntityChangedEvent;
+import lareferente.backend.event.EntityChangedEvent.EntityType;
+import lareferente.backend.model.Competition;
+import lareferente.backend.model.Team;
+import lareferente.backend.model.User;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Coherencia de cachés entre réplicas del backend sin infraestructura nueva: tras el commit de cada
+ * escritura se publica "nodo|secuencia|tipo|id" con pg_notify y cada nodo escucha el canal con una
+ * conexión dedicada e invalida lo suyo. El número se toma al enviar, así que una escritura deshecha no
+ * deja hueco.
+ *
+ * Dos envíos simultáneos del mismo nodo pueden llegar en orden inverso: un número que falta solo se da
+ * por perdido si no llega en gap-grace-ms. Entonces (o al reconectar el listener) se vacían todas las
+ * cachés locales, porque no se sabe qué quedó obsoleto.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "app.cluster.invalidation.enabled", havingValue = "true", matchIfMissing = true)
+public class ClusterCacheInvalidator {
+
+    private static final String SEPARATOR = "|";
+    private static final long POLL_TIMEOUT_MS = 1000;
+    private static final long KEEPALIVE_INTERVAL_MS = 30000;
+    private static final long MAX_BACKOFF_MS = 30000;
+    // Un salto mayor no se sigue número a número: se vacía todo directamente
+    private static final int MAX_TRACKED_GAP = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    @Qualifier("primaryDataSourceProperties")
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.cluster.invalidation.channel:lareferente_cache}")
+    private String channel;
+
+    @Value("${app.cluster.invalidation.gap-grace-ms:5000}")
+    private long gapGraceMs;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicLong sequence = new AtomicLong();
+    // Solo lo usa el hilo del listener
+    private final Map<String, Sender> senders = new HashMap<>();
+
+    private volatile boolean running;
+    private volatile boolean connected;
+    private volatile Connection connection;
+    private Thread listener;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Gauge.builder("cache.cluster.connected", this, invalidator -> invalidator.connected ? 1 : 0)
+                .description("1 si el nodo está escuchando el canal de invalidación")
+                .register(meterRegistry);
+
+        running = true;
+        listener = new Thread(this::listen, "cache-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        closeConnection();
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    // Tras el commit: si la escritura se deshace el aviso no sale ni consume número. La conexión de la
+    // escritura ya no confirma nada, así que el pg_notify va en su propia transacción
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLocalChange(EntityChangedEvent event) {
+        if (event.remote()) {
+            return;
+        }
+        String payload = String.join(SEPARATOR, nodeId, String.valueOf(sequence.incrementAndGet()),
+                event.type().name(), event.id() != null ? event.id().toString() : "");
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            transaction.executeWithoutResult(status -> jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", channel, payload));
+            messages("sent").increment();
+        } catch (RuntimeException e) {
+            // El número ya está gastado: los demás nodos verán el hueco y vaciarán sus cachés pasado el margen
+            log.warn("No se pudo publicar la invalidación {}: {}", payload, e.getMessage());
+        }
+    }
+
+    private void listen() {
+        long backoff = 1000;
+        boolean firstConnection = true;
+        while (running) {
+            try {
+                connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                        dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                connected = true;
+                backoff = 1000;
+                log.info("Escuchando invalidaciones de caché en el canal {}", channel);
+
+                // Mientras el listener estuvo caído se han podido perder mensajes
+                if (!firstConnection) {
+                    senders.clear();
+                    flushAll("reconnect");
+                }
+                firstConnection = false;
+
+                receive(connection.unwrap(PGConnection.class));
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Canal de invalidación desconectado, reintento en {} ms: {}", backoff, e.getMessage());
+                }
+            } catch (RuntimeException e) {
+                // Un fallo al vaciar (o en quien reacciona al vaciado) no puede matar el hilo: se reconecta
+                // como tras una caída y al volver se vacía todo, porque no se sabe qué quedó sin aplicar
+                log.error("Error en el listener de invalidación, reintento en {} ms", backoff, e);
+                firstConnection = false;
+            } finally {
+                connected = false;
+                closeConnection();
+            }
+
+            if (running) {
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MS);
+            }
+        }
+    }
+
+    private void receive(PGConnection pgConnection) throws SQLException {
+        long lastActivity = System.currentTimeMillis();
+        while (running) {
+            PGNotification[] notifications = pgConnection.getNotifications((int) POLL_TIMEOUT_MS);
+            if (notifications != null && notifications.length > 0) {
+                for (PGNotification notification : notifications) {
+                    handle(notification.getParameter());
+                }
+                lastActivity = System.currentTimeMillis();
+            } else if (System.currentTimeMillis() - lastActivity > KEEPALIVE_INTERVAL_MS) {
+                // Una conexión caída sin tráfico no da error hasta que se usa
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SELECT 1");
+                }
+                lastActivity = System.currentTimeMillis();
+            }
+            expireGaps();
+        }
+    }
+
+    private void handle(String payload) {
+        String[] parts = payload.split("\\" + SEPARATOR, -1);
+        if (parts.length != 4) {
+            log.warn("Mensaje de invalidación no válido: {}", payload);
+            return;
+        }
+        String sender = parts[0];
+        if (nodeId.equals(sender)) {
+            return;
+        }
+        messages("received").increment();
+
+        try {
+            long seq = Long.parseLong(parts[1]);
+            EntityType type = EntityType.valueOf(parts[2]);
+            Long id = parts[3].isEmpty() ? null : Long.valueOf(parts[3]);
+
+            evictLocal(type, id);
+            if (!track(sender, seq)) {
+                log.warn("Se han perdido {} o más invalidaciones del nodo {}", MAX_TRACKED_GAP, sender);
+                flushAll("gap");
+                return;
+            }
+            // Portada, tendencias y demás estado derivado reaccionan como a un cambio local
+            eventPublisher.publishEvent(new EntityChangedEvent(type, id, true));
+        } catch (RuntimeException e) {
+            log.warn("No se pudo aplicar la invalidación {}: {}", payload, e.getMessage());
+            flushAll("error");
+        }
+    }
+
+    // Anota el número recibido; los que se salta quedan pendientes. Devuelve false si el salto es demasiado grande
+    private boolean track(String sender, long seq) {
+        Sender state = senders.get(sender);
+        if (state == null) {
+            // Primer mensaje de ese nodo (o tras reconectar): no hay nada anterior que comprobar
+            senders.put(sender, new Sender(seq));
+            return true;
+        }
+        if (seq <= state.highest) {
+            // Llega tarde: rellena su hueco (o es un duplicado)
+            state.missingSince.remove(seq);
+            return true;
+        }
+        if (seq - state.highest > MAX_TRACKED_GAP) {
+            senders.put(sender, new Sender(seq));
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        for (long missing = state.highest + 1; missing < seq; missing++) {
+            state.missingSince.put(missing, now);
+        }
+        state.highest = seq;
+        return true;
+    }
+
+    // Huecos que siguen sin rellenar pasado el margen: mensajes perdidos
+    private void expireGaps() {
+        long deadline = System.currentTimeMillis() - gapGraceMs;
+        int lost = 0;
+        for (Map.Entry<String, Sender> entry : senders.entrySet()) {
+            Iterator<Long> since = entry.getValue().missingSince.values().iterator();
+            while (since.hasNext()) {
+                if (since.next() < deadline) {
+                    since.remove();
+                    lost++;
+                }
+            }
+        }
+        if (lost > 0) {
+            log.warn("Se han perdido {} invalidaciones de otros nodos", lost);
+            flushAll("gap");
+        }
+    }
+
+    private void evictLocal(EntityType type, Long id) {
+        Cache secondLevel = entityManagerFactory.getCache().unwrap(Cache.class);
+        switch (type) {
+            case TEAM -> {
+                if (id != null) {
+                    secondLevel.evictEntityData(Team.class, id);
+                    secondLevel.evictCollectionData(Team.class.getName() + ".competiciones", id);
+                    referenceDataCache.evictTeamPlayers(id);
+                }
+                // Las marcas de actualización de tabla son locales: los resultados cacheados de otros nodos no se enteran
+                secondLevel.evictQueryRegions();
+                referenceDataCache.evictActiveTeams();
+                // No se sabe en qué competiciones estaba el equipo antes del cambio
+                referenceDataCache.clear(CacheConfig.COMPETITION_TEAMS);
+            }
+            case COMPETITION -> {
+                if (id != null) {
+                    secondLevel.evictEntityData(Competition.class, id);
+                    referenceDataCache.evictCompetitionTeams(List.of(id));
+                }
+                secondLevel.evictQueryRegions();
+                referenceDataCache.evictActiveCompetitions();
+            }
+            // Ni el equipo anterior ni el nuevo viajan en el mensaje
+            case PLAYER -> referenceDataCache.clear(CacheConfig.TEAM_PLAYERS);
+            case USER -> {
+                if (id != null) {
+                    secondLevel.evictEntityData(User.class, id);
+                }
+            }
+            // Noticias y partidos no tienen cachés propias: basta con el evento remoto
+            case NEWS, MATCH -> {
+            }
+        }
+    }
+
+    private void flushAll(String reason) {
+        entityManagerFactory.getCache().unwrap(Cache.class).evictAllRegions();
+        referenceDataCache.clearAll();
+        Counter.builder("cache.cluster.flushes")
+                .description("Vaciados completos de las cachés locales por mensajes perdidos")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        eventPublisher.publishEvent(new CacheFlushEvent(reason));
+    }
+
+    private Counter messages(String direction) {
+        return Counter.builder("cache.cluster.messages")
+                .description("Mensajes de invalidación enviados y recibidos de otros nodos")
+                .tag("direction", direction)
+                .register(meterRegistry);
+    }
+
+    private void closeConnection() {
+        Connection current = connection;
+        connection = null;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (SQLException e) {
+                log.debug("Error al cerrar la conexión del canal de invalidación: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static final class Sender {
+
+        private long highest;
+        // Número que falta -> instante en que se detectó el hueco
+        private final Map<Long, Long> missingSince = new HashMap<>();
+
+        Sender(long highest) {
+            this.highest = highest;
+        }
+    }
+}
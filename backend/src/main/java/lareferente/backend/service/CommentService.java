@@ -9,9 +9,9 @@ import lareferente.backend.repository.NewsRepository;
 import lareferente.backend.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class CommentService {
@@ -25,30 +25,30 @@ public class CommentService {
     @Autowired
     private UserRepository userRepository;
 
+    // Los listados se proyectan directamente a DTO en una única consulta
+    @Transactional(readOnly = true)
     public List<CommentDTO> getApprovedCommentsByNews(Long newsId) {
-        return commentRepository.findByNoticiaIdAndAprobadoTrueOrderByFechaCreacionDesc(newsId).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return commentRepository.findApprovedDTOsByNews(newsId);
     }
 
+    @Transactional(readOnly = true)
     public List<CommentDTO> getAllCommentsByNews(Long newsId) {
-        return commentRepository.findByNoticiaIdOrderByFechaCreacionDesc(newsId).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return commentRepository.findDTOsByNews(newsId);
     }
 
+    @Transactional(readOnly = true)
     public List<CommentDTO> getPendingComments() {
-        return commentRepository.findPendingComments().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return commentRepository.findPendingDTOs();
     }
 
+    @Transactional(readOnly = true)
     public CommentDTO getCommentById(Long id) {
         Comment comment = commentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Comentario no encontrado con ID: " + id));
         return convertToDTO(comment);
     }
 
+    @Transactional
     public CommentDTO createComment(CommentDTO commentDTO) {
         // Lógica de negocio: verificar que la noticia y el usuario existen
         News news = newsRepository.findById(commentDTO.getNoticiaId())
@@ -77,6 +77,7 @@ public class CommentService {
         return convertToDTO(savedComment);
     }
 
+    @Transactional
     public CommentDTO approveComment(Long id) {
         Comment comment = commentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Comentario no encontrado con ID: " + id));
@@ -86,6 +87,7 @@ public class CommentService {
         return convertToDTO(approvedComment);
     }
 
+    @Transactional
     public void deleteComment(Long id) {
         commentRepository.deleteById(id);
     }
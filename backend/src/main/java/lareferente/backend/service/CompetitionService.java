@@ -1,13 +1,19 @@
 package lareferente.backend.service;
 
+import lareferente.backend.config.CacheConfig;
 import lareferente.backend.dto.CompetitionDTO;
 import lareferente.backend.dto.TeamDTO;
+import lareferente.backend.event.EntityChangedEvent;
 import lareferente.backend.model.Competition;
 import lareferente.backend.model.Team;
 import lareferente.backend.repository.CompetitionRepository;
 import lareferente.backend.repository.MatchRepository;
+import lareferente.backend.repository.TeamRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -21,24 +27,38 @@ public class CompetitionService {
     @Autowired
     private MatchRepository matchRepository;
 
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
     public List<CompetitionDTO> getAllCompetitions() {
         return competitionRepository.findAll().stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
+    @Cacheable(CacheConfig.ACTIVE_COMPETITIONS)
+    @Transactional(readOnly = true)
     public List<CompetitionDTO> getActiveCompetitions() {
         return competitionRepository.findByActivaTrueOrderByNombreAsc().stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public CompetitionDTO getCompetitionById(Long id) {
         Competition competition = competitionRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Competición no encontrada con ID: " + id));
         return convertToDTO(competition);
     }
 
+    @Transactional
     public CompetitionDTO createCompetition(CompetitionDTO competitionDTO) {
         Competition competition = new Competition();
         competition.setNombre(competitionDTO.getNombre());
@@ -55,9 +75,12 @@ public class CompetitionService {
         competition.setActiva(true);
 
         Competition savedCompetition = competitionRepository.save(competition);
+        referenceDataCache.evictActiveCompetitions();
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityChangedEvent.EntityType.COMPETITION, savedCompetition.getId()));
         return convertToDTO(savedCompetition);
     }
 
+    @Transactional
     public CompetitionDTO updateCompetition(Long id, CompetitionDTO competitionDTO) {
         Competition competition = competitionRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Competición no encontrada con ID: " + id));
@@ -75,16 +98,23 @@ public class CompetitionService {
         competition.setFechaFin(competitionDTO.getFechaFin());
 
         Competition updatedCompetition = competitionRepository.save(competition);
+        referenceDataCache.evictActiveCompetitions();
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityChangedEvent.EntityType.COMPETITION, id));
         return convertToDTO(updatedCompetition);
     }
 
+    @Transactional
     public void deleteCompetition(Long id) {
         Competition competition = competitionRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Competición no encontrada con ID: " + id));
         competition.setActiva(false);
         competitionRepository.save(competition);
+        referenceDataCache.evictActiveCompetitions();
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityChangedEvent.EntityType.COMPETITION, id));
     }
 
+    @Cacheable(CacheConfig.COMPETITION_TEAMS)
+    @Transactional(readOnly = true)
     public List<TeamDTO> getTeamsByCompetition(Long competitionId) {
         Competition competition = competitionRepository.findById(competitionId)
                 .orElseThrow(() -> new RuntimeException("Competición no encontrada con ID: " + competitionId));
@@ -94,6 +124,23 @@ public class CompetitionService {
                 .collect(Collectors.toList());
     }
 
+    // ETags: se calculan con un agregado barato antes de cargar o mapear ninguna competición
+    public String getAllCompetitionsETag() {
+        return competitionRepository.findAllVersion().toETag("all");
+    }
+
+    public String getActiveCompetitionsETag() {
+        return competitionRepository.findActiveVersion().toETag("active");
+    }
+
+    public String getCompetitionETag(Long id) {
+        return competitionRepository.findVersionById(id).toETag("competition", id);
+    }
+
+    public String getTeamsByCompetitionETag(Long competitionId) {
+        return teamRepository.findVersionByCompetition(competitionId).toETag("teams", competitionId);
+    }
+
     private CompetitionDTO convertToDTO(Competition competition) {
         CompetitionDTO dto = new CompetitionDTO();
         dto.setId(competition.getId());
@@ -0,0 +1,224 @@
+package lareferente.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lareferente.backend.event.CacheFlushEvent;
+import lareferente.backend.event.EntityChangedEvent;
+import lareferente.backend.event.EntityChangedEvent.EntityType;
+import lareferente.backend.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+ * Filtro de Bloom con los emails registrados (en minúsculas) para el validador de disponibilidad.
+ * Un "no está" es definitivo y se responde sin consultar la base de datos; un "puede estar" se
+ * confirma con existsByEmail. Los falsos positivos solo cuestan una consulta, nunca una respuesta errónea.
+ *
+ * Los emails no cambian ni se borran (la baja es lógica), así que el filtro solo crece: se reconstruye
+ * con más capacidad cuando se llena, y los registros hechos en otros nodos llegan como EntityChangedEvent remoto.
+ */
+@Component
+@Slf4j
+public class EmailBloomFilter {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${auth.email-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${auth.email-filter.min-capacity:10000}")
+    private int minCapacity;
+
+    // null hasta la carga inicial: mientras tanto todo va a la base de datos
+    private volatile BloomFilter filter;
+    // Emails añadidos mientras se reconstruye, para no perderlos al cambiar de filtro
+    private volatile Queue<String> addedDuringRebuild;
+    private volatile boolean rebuildRequested;
+
+    private Counter negatives;
+    private Counter lookups;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        negatives = Counter.builder("auth.email-filter.checks")
+                .description("Comprobaciones de email resueltas por el filtro de Bloom o por la base de datos")
+                .tag("result", "negative")
+                .register(meterRegistry);
+        lookups = Counter.builder("auth.email-filter.checks")
+                .description("Comprobaciones de email resueltas por el filtro de Bloom o por la base de datos")
+                .tag("result", "database")
+                .register(meterRegistry);
+        Gauge.builder("auth.email-filter.size", this, bloom -> bloom.filter != null ? bloom.filter.count() : 0)
+                .description("Emails añadidos al filtro de Bloom")
+                .register(meterRegistry);
+        rebuild();
+    }
+
+    // false = el email seguro que no está registrado; true = hay que preguntar a la base de datos
+    public boolean mightContain(String email) {
+        BloomFilter current = filter;
+        if (current != null && !current.mightContain(normalize(email))) {
+            negatives.increment();
+            return false;
+        }
+        if (lookups != null) {
+            lookups.increment();
+        }
+        return true;
+    }
+
+    public void add(String email) {
+        String normalized = normalize(email);
+        Queue<String> pending = addedDuringRebuild;
+        if (pending != null) {
+            pending.add(normalized);
+        }
+        BloomFilter current = filter;
+        if (current != null) {
+            current.put(normalized);
+            if (current.count() > current.capacity()) {
+                rebuildRequested = true;
+            }
+        }
+    }
+
+    // Registros hechos en otros nodos
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.remote() && event.type() == EntityType.USER && event.id() != null) {
+            userRepository.findById(event.id()).ifPresent(user -> add(user.getEmail()));
+        }
+    }
+
+    // Se han perdido mensajes de otros nodos: puede faltar algún registro
+    @EventListener
+    public void onCacheFlush(CacheFlushEvent event) {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${auth.email-filter.check-interval-ms:60000}")
+    public void rebuildIfFull() {
+        if (rebuildRequested) {
+            rebuild();
+        }
+    }
+
+    private synchronized void rebuild() {
+        rebuildRequested = false;
+        Queue<String> pending = new ConcurrentLinkedQueue<>();
+        addedDuringRebuild = pending;
+        try {
+            List<String> emails = userRepository.findAllEmails();
+            BloomFilter rebuilt = new BloomFilter(Math.max(minCapacity, emails.size() * 2L), falsePositiveRate);
+            emails.forEach(email -> rebuilt.put(normalize(email)));
+
+            // Se vacía antes y después del cambio: lo que llegue entre medias está en ambos filtros
+            pending.forEach(rebuilt::put);
+            filter = rebuilt;
+            pending.forEach(rebuilt::put);
+            log.info("Filtro de emails cargado con {} usuarios (capacidad {})", emails.size(), rebuilt.capacity());
+        } catch (RuntimeException e) {
+            // Sin filtro nuevo se sigue usando el anterior (o la base de datos si no había ninguno)
+            log.warn("No se pudo reconstruir el filtro de emails: {}", e.getMessage());
+        } finally {
+            addedDuringRebuild = null;
+        }
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Bits en un AtomicLongArray para que put y mightContain no necesiten bloqueo
+    private static final class BloomFilter {
+
+        private final AtomicLongArray bits;
+        private final long bitCount;
+        private final int hashCount;
+        private final long capacity;
+        private final AtomicLong count = new AtomicLong();
+
+        BloomFilter(long capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.bits = new AtomicLongArray((int) ((optimalBits + 63) / 64));
+            this.bitCount = bits.length() * 64L;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * Math.log(2)));
+        }
+
+        void put(String value) {
+            long[] hashes = hashes(value);
+            for (int i = 0; i < hashCount; i++) {
+                long bit = index(hashes, i);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current;
+                do {
+                    current = bits.get(word);
+                } while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+            }
+            count.incrementAndGet();
+        }
+
+        boolean mightContain(String value) {
+            long[] hashes = hashes(value);
+            for (int i = 0; i < hashCount; i++) {
+                long bit = index(hashes, i);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        long count() {
+            return count.get();
+        }
+
+        long capacity() {
+            return capacity;
+        }
+
+        // Doble hashing (Kirsch-Mitzenmacher): h1 + i·h2 sustituye a k funciones independientes
+        private long index(long[] hashes, int i) {
+            return Math.floorMod(hashes[0] + i * hashes[1], bitCount);
+        }
+
+        private static long[] hashes(String value) {
+            // FNV-1a de 64 bits sobre UTF-8, con dos mezclas distintas para h1 y h2
+            long hash = 0xcbf29ce484222325L;
+            for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b & 0xff;
+                hash *= 0x100000001b3L;
+            }
+            return new long[]{mix(hash), mix(hash ^ 0x9e3779b97f4a7c15L) | 1};
+        }
+
+        private static long mix(long h) {
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
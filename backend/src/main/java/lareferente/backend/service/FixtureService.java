@@ -0,0 +1,199 @@
+package lareferente.backend.service;
+
+import lareferente.backend.dto.FixtureRequestDTO;
+import lareferente.backend.dto.MatchDTO;
+import lareferente.backend.dto.MatchSlot;
+import lareferente.backend.enums.CompetitionType;
+import lareferente.backend.enums.MatchStatus;
+import lareferente.backend.event.EntityChangedEvent;
+import lareferente.backend.model.Competition;
+import lareferente.backend.model.Match;
+import lareferente.backend.model.Team;
+import lareferente.backend.repository.CompetitionRepository;
+import lareferente.backend.repository.MatchRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/*
+ * Calendario de liga a doble vuelta generado de una vez.
+ *
+ * Primera vuelta por el método del círculo (tablas de Berger): un equipo fijo y el resto rotando, con el campo
+ * alternado de forma que en la primera vuelta solo hay n-2 repeticiones de campo en total. La segunda vuelta
+ * invierte los campos y empieza por la última jornada de la primera ("esquema inglés"), así tampoco se
+ * repite campo en el cambio de vuelta. Con número impar de equipos, el que cae contra el hueco descansa.
+ *
+ * Los partidos de una jornada se escalonan desde la hora de inicio dentro del horario 12:00-22:00; el que ya
+ * no cabe en el día pasa al siguiente a primera hora, sin invadir la jornada siguiente.
+ *
+ * Antes de insertar, cada franja se comprueba contra el índice de calendario y contra las demás del lote.
+ * Todos los partidos se insertan en una transacción con inserciones por lotes (ids de secuencia y
+ * hibernate.jdbc.batch_size) y se avisa con un único evento de competición en lugar de uno por partido.
+ */
+@Service
+public class FixtureService {
+
+    private static final LocalTime DEFAULT_KICKOFF = LocalTime.of(18, 0);
+    private static final int DEFAULT_DAYS_BETWEEN_ROUNDS = 7;
+    private static final int DEFAULT_MINUTES_BETWEEN_MATCHES = 120;
+    private static final LocalTime EARLIEST_KICKOFF = LocalTime.of(12, 0);
+    private static final LocalTime LATEST_KICKOFF = LocalTime.of(22, 0);
+
+    @Autowired
+    private CompetitionRepository competitionRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private MatchScheduleIndex scheduleIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public List<MatchDTO> generateLeagueFixtures(Long competitionId, FixtureRequestDTO request) {
+        Competition competition = competitionRepository.findById(competitionId)
+                .orElseThrow(() -> new RuntimeException("Competición no encontrada con ID: " + competitionId));
+
+        // Lógica de negocio: solo ligas, con al menos dos equipos y sin calendario previo
+        if (competition.getTipo() != CompetitionType.LIGA) {
+            throw new RuntimeException("Solo se puede generar el calendario de una liga");
+        }
+        List<Team> teams = new ArrayList<>(competition.getEquipos());
+        if (teams.size() < 2) {
+            throw new RuntimeException("La competición necesita al menos dos equipos para generar el calendario");
+        }
+        if (matchRepository.existsByCompeticionId(competitionId)) {
+            throw new RuntimeException("La competición ya tiene partidos");
+        }
+
+        LocalDateTime inicio = request != null && request.getInicio() != null ? request.getInicio()
+                : competition.getFechaInicio() != null ? competition.getFechaInicio().atTime(DEFAULT_KICKOFF) : null;
+        if (inicio == null) {
+            throw new RuntimeException("Indica la fecha del primer partido o la fecha de inicio de la competición");
+        }
+        int diasEntreJornadas = request != null && request.getDiasEntreJornadas() != null
+                ? request.getDiasEntreJornadas() : DEFAULT_DAYS_BETWEEN_ROUNDS;
+        int minutosEntrePartidos = request != null && request.getMinutosEntrePartidos() != null
+                ? request.getMinutosEntrePartidos() : DEFAULT_MINUTES_BETWEEN_MATCHES;
+        if (inicio.toLocalTime().isBefore(EARLIEST_KICKOFF) || inicio.toLocalTime().isAfter(LATEST_KICKOFF)) {
+            throw new RuntimeException("El primer partido debe empezar entre las " + EARLIEST_KICKOFF + " y las " + LATEST_KICKOFF);
+        }
+        if (diasEntreJornadas < 1 || minutosEntrePartidos < 0) {
+            throw new RuntimeException("Los días entre jornadas deben ser al menos 1 y los minutos entre partidos no pueden ser negativos");
+        }
+
+        // Orden estable: el mismo conjunto de equipos da siempre el mismo calendario
+        teams.sort(Comparator.comparing(Team::getId));
+        List<List<Pairing<Team>>> rounds = doubleRoundRobin(teams);
+
+        List<Match> matches = new ArrayList<>(rounds.size() * rounds.get(0).size());
+        for (int round = 0; round < rounds.size(); round++) {
+            LocalDateTime roundStart = inicio.plusDays((long) round * diasEntreJornadas);
+            List<Pairing<Team>> pairings = rounds.get(round);
+            LocalDateTime kickoff = roundStart;
+            for (int slot = 0; slot < pairings.size(); slot++) {
+                if (slot > 0) {
+                    kickoff = nextKickoff(kickoff, minutosEntrePartidos);
+                }
+                Team local = pairings.get(slot).local();
+                Team visitante = pairings.get(slot).visitante();
+                Match match = new Match();
+                match.setCompeticion(competition);
+                match.setEquipoLocal(local);
+                match.setEquipoVisitante(visitante);
+                match.setFechaHora(kickoff);
+                match.setEstadio(local.getEstadio());
+                match.setJornada(round + 1);
+                match.setEstado(MatchStatus.PROGRAMADO);
+                matches.add(match);
+            }
+            if (round + 1 < rounds.size() && !kickoff.isBefore(roundStart.plusDays(diasEntreJornadas))) {
+                throw new RuntimeException("Los partidos de una jornada no caben antes de la siguiente: "
+                        + "reduce los minutos entre partidos o aumenta los días entre jornadas");
+            }
+        }
+
+        // Todo el calendario contra el índice y contra sí mismo antes de insertar nada
+        MatchScheduleIndex.Batch batch = scheduleIndex.newBatch();
+        Set<MatchSlot> conflicts = new LinkedHashSet<>();
+        for (Match match : matches) {
+            conflicts.addAll(batch.check(MatchScheduleIndex.slotOf(match)));
+        }
+        if (!conflicts.isEmpty()) {
+            throw new ScheduleConflictException(matchService.toConflictDTOs(new ArrayList<>(conflicts)));
+        }
+
+        List<Match> saved = matchRepository.saveAll(matches);
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityChangedEvent.EntityType.COMPETITION, competitionId));
+        return saved.stream().map(matchService::convertToDTO).toList();
+    }
+
+    // Siguiente partido de la jornada; si pasaría de la última hora permitida, al día siguiente a primera hora
+    static LocalDateTime nextKickoff(LocalDateTime previous, int minutes) {
+        LocalDateTime next = previous.plusMinutes(minutes);
+        if (!next.toLocalDate().equals(previous.toLocalDate()) || next.toLocalTime().isAfter(LATEST_KICKOFF)) {
+            return previous.toLocalDate().plusDays(1).atTime(EARLIEST_KICKOFF);
+        }
+        return next;
+    }
+
+    // Jornadas de la doble vuelta
+    static <T> List<List<Pairing<T>>> doubleRoundRobin(List<T> teams) {
+        // Con número impar, un hueco (null) hace de rival del equipo que descansa
+        List<T> slots = new ArrayList<>(teams);
+        if (slots.size() % 2 != 0) {
+            slots.add(null);
+        }
+        int n = slots.size();
+        int rotating = n - 1;
+        T fixed = slots.get(rotating);
+
+        List<List<Pairing<T>>> firstLeg = new ArrayList<>(rotating);
+        for (int round = 0; round < rotating; round++) {
+            List<Pairing<T>> pairings = new ArrayList<>(n / 2);
+            // El equipo fijo alterna campo jornada a jornada
+            T other = slots.get(round);
+            add(pairings, round % 2 == 0 ? other : fixed, round % 2 == 0 ? fixed : other);
+            for (int k = 1; k < n / 2; k++) {
+                T a = slots.get(Math.floorMod(round + k, rotating));
+                T b = slots.get(Math.floorMod(round - k, rotating));
+                add(pairings, k % 2 == 1 ? a : b, k % 2 == 1 ? b : a);
+            }
+            firstLeg.add(pairings);
+        }
+
+        List<List<Pairing<T>>> rounds = new ArrayList<>(firstLeg);
+        rounds.add(reversed(firstLeg.get(rotating - 1)));
+        for (int round = 0; round < rotating - 1; round++) {
+            rounds.add(reversed(firstLeg.get(round)));
+        }
+        return rounds;
+    }
+
+    private static <T> void add(List<Pairing<T>> pairings, T local, T visitante) {
+        if (local != null && visitante != null) {
+            pairings.add(new Pairing<>(local, visitante));
+        }
+    }
+
+    private static <T> List<Pairing<T>> reversed(List<Pairing<T>> pairings) {
+        return pairings.stream().map(pairing -> new Pairing<>(pairing.visitante(), pairing.local())).toList();
+    }
+
+    record Pairing<T>(T local, T visitante) {
+    }
+}
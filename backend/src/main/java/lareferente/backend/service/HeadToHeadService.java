@@ -0,0 +1,241 @@
+package lareferente.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lareferente.backend.dto.HeadToHeadDTO;
+import lareferente.backend.dto.MatchDTO;
+import lareferente.backend.enums.MatchStatus;
+import lareferente.backend.event.CacheFlushEvent;
+import lareferente.backend.event.EntityChangedEvent;
+import lareferente.backend.model.Match;
+import lareferente.backend.repository.MatchRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Cara a cara entre parejas de equipos.
+ *
+ * La clave es la pareja normalizada (menor id, mayor id), así que A-B y B-A comparten entrada y la consulta
+ * usa un solo índice. Cada pareja pedida se carga una vez y después se actualiza con cada cambio de partido:
+ * se descuenta lo que aportaba el partido antes del cambio y se suma lo que aporta ahora.
+ */
+@Service
+public class HeadToHeadService {
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${head-to-head.cache.max-size:20000}")
+    private long maxSize;
+
+    private Cache<PairKey, Pair> pairs;
+    // Pareja de cada partido cargado, para descontarlo aunque cambie de equipos o se borre
+    private final Map<Long, PairKey> pairByMatch = new ConcurrentHashMap<>();
+    // Cargas y deltas se serializan con este cerrojo; las lecturas usan la instantánea de cada pareja
+    private final Object lock = new Object();
+
+    @PostConstruct
+    void init() {
+        pairs = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .evictionListener((PairKey key, Pair pair, RemovalCause cause) -> {
+                    if (key != null && pair != null) {
+                        pair.matches.keySet().forEach(matchId -> pairByMatch.remove(matchId, key));
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, pairs, "head-to-head.pairs");
+    }
+
+    public HeadToHeadDTO getHeadToHead(Long teamId, Long rivalId) {
+        PairKey key = PairKey.of(teamId, rivalId);
+        return pair(key).view.orientedTo(teamId.equals(key.menor()));
+    }
+
+    public String getHeadToHeadETag(Long teamId, Long rivalId) {
+        PairKey key = PairKey.of(teamId, rivalId);
+        return pair(key).view.etag(teamId.equals(key.menor()));
+    }
+
+    // Tras el commit: el partido que se lee ya es el confirmado
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        switch (event.type()) {
+            case MATCH -> onMatchChanged(event.id());
+            // Nombres y escudos van dentro de los partidos guardados
+            case TEAM, COMPETITION -> evictAll();
+            default -> {
+            }
+        }
+    }
+
+    @EventListener
+    public void onCacheFlush(CacheFlushEvent event) {
+        evictAll();
+    }
+
+    private void onMatchChanged(Long matchId) {
+        if (matchId == null) {
+            evictAll();
+            return;
+        }
+        Optional<Match> match = matchRepository.findWithTeamsById(matchId);
+        synchronized (lock) {
+            PairKey before = pairByMatch.remove(matchId);
+            if (before != null) {
+                Pair pair = pairs.getIfPresent(before);
+                if (pair != null) {
+                    pair.remove(matchId);
+                }
+            }
+            match.ifPresent(current -> {
+                PairKey after = new PairKey(current.getEquipoMenorId(), current.getEquipoMayorId());
+                Pair pair = pairs.getIfPresent(after);
+                if (pair != null) {
+                    pair.put(matchService.convertToDTO(current));
+                    pairByMatch.put(matchId, after);
+                }
+            });
+        }
+    }
+
+    private Pair pair(PairKey key) {
+        Pair pair = pairs.getIfPresent(key);
+        if (pair != null) {
+            return pair;
+        }
+        synchronized (lock) {
+            return pairs.get(key, this::load);
+        }
+    }
+
+    private Pair load(PairKey key) {
+        Pair pair = new Pair(key);
+        for (Match match : matchRepository.findByPair(key.menor(), key.mayor())) {
+            pair.put(matchService.convertToDTO(match));
+            pairByMatch.put(match.getId(), key);
+        }
+        return pair;
+    }
+
+    private void evictAll() {
+        synchronized (lock) {
+            pairs.invalidateAll();
+            pairByMatch.clear();
+        }
+    }
+
+    private record PairKey(long menor, long mayor) {
+
+        static PairKey of(Long teamId, Long rivalId) {
+            if (teamId.equals(rivalId)) {
+                throw new RuntimeException("Un equipo no tiene cara a cara consigo mismo");
+            }
+            return new PairKey(Math.min(teamId, rivalId), Math.max(teamId, rivalId));
+        }
+    }
+
+    // Contadores vistos desde el equipo de menor id; solo cuentan los partidos finalizados
+    private static final class Pair {
+
+        private final PairKey key;
+        // Concurrente: el aviso de expulsión de la caché lo recorre sin el cerrojo
+        private final Map<Long, MatchDTO> matches = new ConcurrentHashMap<>();
+        private int played;
+        private int wins;
+        private int draws;
+        private int losses;
+        private int goalsFor;
+        private int goalsAgainst;
+        private volatile View view;
+
+        Pair(PairKey key) {
+            this.key = key;
+            this.view = rebuild();
+        }
+
+        void put(MatchDTO match) {
+            MatchDTO previous = matches.put(match.getId(), match);
+            if (previous != null) {
+                count(previous, -1);
+            }
+            count(match, 1);
+            view = rebuild();
+        }
+
+        void remove(Long matchId) {
+            MatchDTO previous = matches.remove(matchId);
+            if (previous != null) {
+                count(previous, -1);
+                view = rebuild();
+            }
+        }
+
+        private void count(MatchDTO match, int sign) {
+            if (match.getEstado() != MatchStatus.FINALIZADO) {
+                return;
+            }
+            boolean menorIsLocal = match.getEquipoLocalId() == key.menor();
+            int local = match.getGolesLocal() != null ? match.getGolesLocal() : 0;
+            int visitante = match.getGolesVisitante() != null ? match.getGolesVisitante() : 0;
+            int scored = menorIsLocal ? local : visitante;
+            int conceded = menorIsLocal ? visitante : local;
+            played += sign;
+            goalsFor += sign * scored;
+            goalsAgainst += sign * conceded;
+            if (scored > conceded) {
+                wins += sign;
+            } else if (scored == conceded) {
+                draws += sign;
+            } else {
+                losses += sign;
+            }
+        }
+
+        private View rebuild() {
+            List<MatchDTO> ordered = matches.values().stream()
+                    .sorted(Comparator.comparing(MatchDTO::getFechaHora, Comparator.nullsLast(Comparator.reverseOrder())))
+                    .toList();
+            HeadToHeadDTO fromMenor = new HeadToHeadDTO(key.menor(), key.mayor(), played, wins, draws, losses,
+                    goalsFor, goalsAgainst, ordered);
+            HeadToHeadDTO fromMayor = new HeadToHeadDTO(key.mayor(), key.menor(), played, losses, draws, wins,
+                    goalsAgainst, goalsFor, ordered);
+            String hash = DigestUtils.md5DigestAsHex(("h2h|" + key + "|" + fromMenor).getBytes(StandardCharsets.UTF_8));
+            return new View(fromMenor, fromMayor, hash);
+        }
+    }
+
+    private record View(HeadToHeadDTO fromMenor, HeadToHeadDTO fromMayor, String hash) {
+
+        HeadToHeadDTO orientedTo(boolean menor) {
+            return menor ? fromMenor : fromMayor;
+        }
+
+        String etag(boolean menor) {
+            return "\"" + hash + (menor ? "-a" : "-b") + "\"";
+        }
+    }
+}
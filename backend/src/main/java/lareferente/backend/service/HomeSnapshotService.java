@@ -0,0 +1,163 @@
+package lareferente.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lareferente.backend.dto.HomeSnapshotDTO;
+import lareferente.backend.dto.MatchDTO;
+import lareferente.backend.event.CacheFlushEvent;
+import lareferente.backend.event.EntityChangedEvent;
+import lareferente.backend.event.EntityChangedEvent.EntityType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+// Portada precalculada: se serializa y comprime una sola vez y se sirve desde memoria
+@Service
+@Slf4j
+public class HomeSnapshotService {
+
+    private static final int FEATURED_NEWS_LIMIT = 6;
+    private static final int UPCOMING_MATCHES_LIMIT = 10;
+    private static final int FEATURED_TEAMS_LIMIT = 4;
+    private static final int FEATURED_PLAYERS_LIMIT = 6;
+    private static final Set<EntityType> HOME_TYPES = EnumSet.of(EntityType.NEWS, EntityType.MATCH, EntityType.COMPETITION,
+            EntityType.TEAM, EntityType.PLAYER);
+
+    @Autowired
+    private NewsService newsService;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private CompetitionService competitionService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicReference<HomeSnapshot> current = new AtomicReference<>();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    // Versión inmutable de la portada ya serializada (JSON plano y gzip)
+    public record HomeSnapshot(byte[] json, byte[] gzip, LocalDateTime generatedAt, LocalDateTime expiresAt) {
+    }
+
+    public HomeSnapshot getSnapshot() {
+        HomeSnapshot snapshot = current.get();
+        return snapshot != null ? snapshot : rebuild();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuildQuietly();
+    }
+
+    // Solo las escrituras de noticias, partidos, competiciones, equipos y jugadores afectan a la portada.
+    // No se regenera en la petición que escribe: se marca y la tarea programada agrupa todos los cambios pendientes.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (HOME_TYPES.contains(event.type())) {
+            dirty.set(true);
+        }
+    }
+
+    @EventListener
+    public void onCacheFlush(CacheFlushEvent event) {
+        dirty.set(true);
+    }
+
+    // Los próximos partidos dependen de la hora: al empezar el primero también se regenera
+    @Scheduled(fixedDelayString = "${home.snapshot.rebuild-interval-ms:1000}")
+    public void rebuildIfStale() {
+        HomeSnapshot snapshot = current.get();
+        boolean expired = snapshot != null && snapshot.expiresAt() != null && LocalDateTime.now().isAfter(snapshot.expiresAt());
+        if (dirty.getAndSet(false) || expired) {
+            rebuildQuietly();
+        }
+    }
+
+    // Si falla se sigue sirviendo la portada anterior y se reintenta en la siguiente pasada
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            dirty.set(true);
+            log.warn("No se pudo regenerar la portada: {}", e.getMessage());
+        }
+    }
+
+    public synchronized HomeSnapshot rebuild() {
+        // Transacción de lectura-escritura propia: las consultas readOnly se unen a ella y van al primario,
+        // así la portada ya incluye la escritura que la invalidó aunque la réplica vaya con retraso
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        HomeSnapshotDTO dto = transaction.execute(status -> new HomeSnapshotDTO(
+                newsService.getFeaturedFeed(null, FEATURED_NEWS_LIMIT).getItems(),
+                matchService.getUpcomingMatches().stream().limit(UPCOMING_MATCHES_LIMIT).toList(),
+                competitionService.getActiveCompetitions(),
+                sample(teamService.getActiveTeams(), FEATURED_TEAMS_LIMIT),
+                sample(playerService.getActivePlayers(), FEATURED_PLAYERS_LIMIT),
+                LocalDateTime.now()));
+        List<MatchDTO> upcoming = dto.getProximosPartidos();
+        LocalDateTime now = dto.getGeneradoEn();
+        LocalDateTime expiresAt = upcoming.isEmpty() ? null : upcoming.get(0).getFechaHora();
+
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(dto);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("No se pudo serializar la portada: " + e.getMessage());
+        }
+
+        HomeSnapshot snapshot = new HomeSnapshot(json, gzip(json), now, expiresAt);
+        current.set(snapshot);
+        log.debug("Portada regenerada ({} bytes, {} comprimidos)", json.length, snapshot.gzip().length);
+        return snapshot;
+    }
+
+    // Equipos y jugadores al azar: cambian con cada regeneración, no con cada visita
+    private static <T> List<T> sample(List<T> items, int limit) {
+        List<T> shuffled = new ArrayList<>(items);
+        Collections.shuffle(shuffled);
+        return shuffled.subList(0, Math.min(limit, shuffled.size()));
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,127 @@
+package lareferente.backend.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lareferente.backend.model.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Última conexión con escritura diferida: se guarda solo la marca más reciente de cada usuario
+// y se vuelca en un único UPDATE, fuera del camino del login
+@Component
+@Slf4j
+public class LastLoginRecorder {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${auth.last-login.flush-batch-size:500}")
+    private int batchSize;
+
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private final Object flushLock = new Object();
+
+    private Timer flushTimer;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("auth.last-login.pending", pending, Map::size)
+                .description("Usuarios con última conexión pendiente de volcar a la base de datos")
+                .register(meterRegistry);
+        flushTimer = Timer.builder("auth.last-login.flush")
+                .description("Duración de cada volcado de últimas conexiones")
+                .register(meterRegistry);
+    }
+
+    public void record(Long userId, LocalDateTime when) {
+        pending.merge(userId, when, LastLoginRecorder::latest);
+    }
+
+    public int getPendingUsers() {
+        return pending.size();
+    }
+
+    @Scheduled(fixedDelayString = "${auth.last-login.flush-interval-ms:10000}")
+    public void flush() {
+        synchronized (flushLock) {
+            flushTimer.record(this::drain);
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    private void drain() {
+        // remove(clave, valor) solo quita la marca si nadie la ha cambiado mientras tanto;
+        // si llega un login más reciente, se queda para el siguiente volcado
+        List<Map.Entry<Long, LocalDateTime>> logins = new ArrayList<>();
+        for (Map.Entry<Long, LocalDateTime> entry : pending.entrySet()) {
+            Long userId = entry.getKey();
+            LocalDateTime when = entry.getValue();
+            if (pending.remove(userId, when)) {
+                logins.add(Map.entry(userId, when));
+            }
+        }
+        if (logins.isEmpty()) {
+            return;
+        }
+
+        for (int from = 0; from < logins.size(); from += batchSize) {
+            List<Map.Entry<Long, LocalDateTime>> chunk = logins.subList(from, Math.min(from + batchSize, logins.size()));
+            try {
+                List<Long> updated = applyLogins(chunk);
+                evictFromSecondLevelCache(updated);
+            } catch (RuntimeException e) {
+                // Se devuelven las marcas para reintentar en el siguiente volcado
+                log.warn("No se pudieron volcar {} últimas conexiones: {}", chunk.size(), e.getMessage());
+                chunk.forEach(login -> record(login.getKey(), login.getValue()));
+            }
+        }
+    }
+
+    private List<Long> applyLogins(List<Map.Entry<Long, LocalDateTime>> chunk) {
+        StringBuilder sql = new StringBuilder("UPDATE usuarios u SET ultima_conexion = v.ts FROM (VALUES ");
+        Object[] params = new Object[chunk.size() * 2];
+        for (int i = 0; i < chunk.size(); i++) {
+            sql.append(i == 0 ? "(?, CAST(? AS timestamp))" : ", (?, CAST(? AS timestamp))");
+            params[i * 2] = chunk.get(i).getKey();
+            params[i * 2 + 1] = Timestamp.valueOf(chunk.get(i).getValue());
+        }
+        // Nunca se retrocede: otra réplica puede haber volcado ya un login posterior
+        sql.append(") AS v(id, ts) WHERE u.id = v.id AND (u.ultima_conexion IS NULL OR u.ultima_conexion < v.ts) RETURNING u.id");
+        return jdbcTemplate.queryForList(sql.toString(), Long.class, params);
+    }
+
+    // El UPDATE no pasa por Hibernate: las copias cacheadas de esos usuarios quedarían obsoletas
+    private void evictFromSecondLevelCache(List<Long> userIds) {
+        jakarta.persistence.Cache cache = entityManagerFactory.getCache();
+        userIds.forEach(id -> cache.evict(User.class, id));
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
@@ -0,0 +1,347 @@
+package lareferente.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lareferente.backend.dto.LiveMatchDeltaDTO;
+import lareferente.backend.enums.MatchStatus;
+import lareferente.backend.event.EntityChangedEvent;
+import lareferente.backend.event.MatchScoreChangedEvent;
+import lareferente.backend.repository.MatchRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/*
+ * Reparto de marcadores en directo por Server-Sent Events.
+ *
+ * Un suscriptor inactivo solo cuesta su SseEmitter y una entrada en los índices: no tiene hilo propio.
+ * Los envíos los hace un pool pequeño y cada suscriptor tiene como mucho una tarea en cola. Lo pendiente
+ * se guarda por partido, así que a un cliente lento le llega solo el último estado de cada partido; si aun
+ * así acumula demasiados partidos sin enviar, lo más antiguo lleva demasiado esperando o un envío no termina
+ * a tiempo, se le desconecta (EventSource reconecta solo). Un envío bloqueado no se puede interrumpir: el
+ * hilo queda libre cuando vence la escritura del socket (server.tomcat.connection-timeout).
+ */
+@Component
+@Slf4j
+public class LiveMatchHub {
+
+    private static final String EVENT_NAME = "score";
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${live.matches.max-subscribers:50000}")
+    private int maxSubscribers;
+
+    @Value("${live.matches.max-pending:50}")
+    private int maxPending;
+
+    @Value("${live.matches.max-pending-age-ms:10000}")
+    private long maxPendingAgeMs;
+
+    @Value("${live.matches.write-timeout-ms:10000}")
+    private long writeTimeoutMs;
+
+    @Value("${live.matches.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${live.matches.send-threads:4}")
+    private int sendThreads;
+
+    // Índices por filtro: un cambio solo recorre los suscriptores que pueden estar interesados
+    private final Set<Subscriber> unfiltered = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Set<Subscriber>> byCompetition = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Subscriber>> byTeam = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    // Último estado enviado de cada partido, para detectar cambios que llegan de otros nodos
+    private final Map<Long, LiveMatchDeltaDTO> lastState = new ConcurrentHashMap<>();
+
+    private ExecutorService sender;
+    private Counter deltasSent;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        sender = Executors.newFixedThreadPool(sendThreads, task -> {
+            Thread thread = new Thread(task, "live-match-sender-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("live.matches.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Clientes conectados al directo de partidos")
+                .register(meterRegistry);
+        deltasSent = Counter.builder("live.matches.deltas.sent")
+                .description("Cambios de marcador enviados a clientes")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sender.shutdownNow();
+    }
+
+    public SseEmitter subscribe(Long competitionId, Long teamId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Demasiados clientes en directo, inténtalo más tarde");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, competitionId, teamId);
+        index(subscriber).add(subscriber);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onScoreChanged(MatchScoreChangedEvent event) {
+        broadcast(event.delta());
+    }
+
+    // Cambios hechos en otros nodos: solo llega el ID, se lee el partido y se compara con lo último enviado
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (!event.remote() || event.type() != EntityChangedEvent.EntityType.MATCH || event.id() == null) {
+            return;
+        }
+        matchRepository.findById(event.id()).map(matchService::toLiveDelta).ifPresent(delta -> {
+            LiveMatchDeltaDTO previous = lastState.get(delta.getId());
+            boolean changed = previous == null
+                    ? delta.getEstado() != MatchStatus.PROGRAMADO
+                    : !Objects.equals(previous.getGolesLocal(), delta.getGolesLocal())
+                    || !Objects.equals(previous.getGolesVisitante(), delta.getGolesVisitante())
+                    || previous.getEstado() != delta.getEstado();
+            if (changed) {
+                broadcast(delta);
+            }
+        });
+    }
+
+    // Comentario periódico: mantiene viva la conexión en proxies y detecta clientes que ya no están
+    @Scheduled(fixedDelayString = "${live.matches.heartbeat-ms:25000}")
+    public void heartbeat() {
+        long now = System.nanoTime();
+        forEachSubscriber(subscriber -> {
+            if (stalled(subscriber, now)) {
+                disconnect(subscriber, "write-timeout");
+                return;
+            }
+            subscriber.heartbeatDue = true;
+            schedule(subscriber);
+        });
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    private void broadcast(LiveMatchDeltaDTO delta) {
+        lastState.put(delta.getId(), delta);
+
+        offerAll(unfiltered, delta);
+        offerAll(byCompetition.get(delta.getCompeticionId()), delta);
+        offerAll(byTeam.get(delta.getEquipoLocalId()), delta);
+        if (!Objects.equals(delta.getEquipoLocalId(), delta.getEquipoVisitanteId())) {
+            offerAll(byTeam.get(delta.getEquipoVisitanteId()), delta);
+        }
+    }
+
+    private void offerAll(Set<Subscriber> subscribers, LiveMatchDeltaDTO delta) {
+        if (subscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.accepts(delta)) {
+                offer(subscriber, delta);
+            }
+        }
+    }
+
+    private void offer(Subscriber subscriber, LiveMatchDeltaDTO delta) {
+        long now = System.nanoTime();
+        boolean overflow;
+        synchronized (subscriber.pending) {
+            if (subscriber.pending.isEmpty()) {
+                subscriber.pendingSince = now;
+            }
+            subscriber.pending.put(delta.getId(), delta);
+            overflow = subscriber.pending.size() > maxPending
+                    || now - subscriber.pendingSince > TimeUnit.MILLISECONDS.toNanos(maxPendingAgeMs);
+        }
+        if (overflow) {
+            disconnect(subscriber, "slow");
+        } else if (stalled(subscriber, now)) {
+            disconnect(subscriber, "write-timeout");
+        } else {
+            schedule(subscriber);
+        }
+    }
+
+    private boolean stalled(Subscriber subscriber, long now) {
+        long since = subscriber.sendingSince;
+        return since != 0 && now - since > TimeUnit.MILLISECONDS.toNanos(writeTimeoutMs);
+    }
+
+    // Se quita de los índices al momento; el emisor lo cierra el hilo de envío, porque complete()
+    // esperaría a que termine el envío en curso y aquí estamos en el hilo de quien escribió el partido
+    private void disconnect(Subscriber subscriber, String reason) {
+        if (remove(subscriber)) {
+            dropped(reason);
+            schedule(subscriber);
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            sender.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            while (!subscriber.removed.get()) {
+                List<LiveMatchDeltaDTO> batch;
+                synchronized (subscriber.pending) {
+                    batch = new ArrayList<>(subscriber.pending.values());
+                    subscriber.pending.clear();
+                }
+                boolean heartbeat = subscriber.heartbeatDue;
+                subscriber.heartbeatDue = false;
+                if (batch.isEmpty() && !heartbeat) {
+                    break;
+                }
+                for (LiveMatchDeltaDTO delta : batch) {
+                    send(subscriber, SseEmitter.event().name(EVENT_NAME).data(delta));
+                    deltasSent.increment();
+                }
+                if (batch.isEmpty()) {
+                    send(subscriber, SseEmitter.event().comment("ping"));
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Cliente desconectado o emisor ya cerrado
+            if (remove(subscriber)) {
+                dropped("disconnected");
+            }
+            return;
+        } finally {
+            subscriber.scheduled.set(false);
+        }
+        if (subscriber.removed.get()) {
+            // Desconectado mientras tanto por lento o por un envío atascado
+            subscriber.emitter.complete();
+            return;
+        }
+        // Lo que llegó justo después de vaciar la cola y antes de liberar la marca
+        synchronized (subscriber.pending) {
+            if (subscriber.pending.isEmpty()) {
+                return;
+            }
+        }
+        schedule(subscriber);
+    }
+
+    private void send(Subscriber subscriber, SseEmitter.SseEventBuilder event) throws IOException {
+        subscriber.sendingSince = System.nanoTime();
+        try {
+            subscriber.emitter.send(event);
+        } finally {
+            subscriber.sendingSince = 0;
+        }
+    }
+
+    private Set<Subscriber> index(Subscriber subscriber) {
+        // Con los dos filtros se indexa por equipo, que es el más selectivo; la competición se comprueba al enviar
+        if (subscriber.teamId != null) {
+            return byTeam.computeIfAbsent(subscriber.teamId, id -> ConcurrentHashMap.newKeySet());
+        }
+        if (subscriber.competitionId != null) {
+            return byCompetition.computeIfAbsent(subscriber.competitionId, id -> ConcurrentHashMap.newKeySet());
+        }
+        return unfiltered;
+    }
+
+    private boolean remove(Subscriber subscriber) {
+        if (!subscriber.removed.compareAndSet(false, true)) {
+            return false;
+        }
+        index(subscriber).remove(subscriber);
+        subscriberCount.decrementAndGet();
+        return true;
+    }
+
+    private void forEachSubscriber(Consumer<Subscriber> action) {
+        unfiltered.forEach(action);
+        byCompetition.values().forEach(subscribers -> subscribers.forEach(action));
+        byTeam.values().forEach(subscribers -> subscribers.forEach(action));
+    }
+
+    private void dropped(String reason) {
+        Counter.builder("live.matches.dropped")
+                .description("Clientes desconectados del directo")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Long competitionId;
+        private final Long teamId;
+        // Último cambio pendiente de cada partido (los anteriores ya no interesan)
+        private final Map<Long, LiveMatchDeltaDTO> pending = new LinkedHashMap<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean removed = new AtomicBoolean();
+        private volatile boolean heartbeatDue;
+        // Desde cuándo espera lo más antiguo de pending (protegido por pending)
+        private long pendingSince;
+        // Inicio del envío en curso en nanoTime, 0 si no hay ninguno
+        private volatile long sendingSince;
+
+        Subscriber(SseEmitter emitter, Long competitionId, Long teamId) {
+            this.emitter = emitter;
+            this.competitionId = competitionId;
+            this.teamId = teamId;
+        }
+
+        boolean accepts(LiveMatchDeltaDTO delta) {
+            return competitionId == null || competitionId.equals(delta.getCompeticionId());
+        }
+    }
+}
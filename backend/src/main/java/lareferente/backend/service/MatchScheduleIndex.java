@@ -0,0 +1,288 @@
+package lareferente.backend.service;
+
+import lareferente.backend.dto.MatchSlot;
+import lareferente.backend.enums.MatchStatus;
+import lareferente.backend.event.CacheFlushEvent;
+import lareferente.backend.event.EntityChangedEvent;
+import lareferente.backend.model.Match;
+import lareferente.backend.repository.MatchRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+/*
+ * Índice en memoria del calendario para detectar solapes sin consultar la base de datos en cada alta.
+ *
+ * Todos los partidos ocupan una franja de la misma duración, así que dos partidos se solapan si sus inicios
+ * están a menos de una franja: basta un árbol ordenado por inicio por cada equipo y cada estadio, y cada
+ * comprobación es un subMap, O(log n) más los partidos que choquen.
+ *
+ * Solo se indexan las fechas desde unos días atrás; un partido anterior (resultado histórico que se da de
+ * alta tarde) se comprueba con una consulta. El índice se actualiza tras el commit de cada cambio, también
+ * los de otros nodos; dos altas simultáneas en la misma franja pueden pasar ambas la comprobación.
+ */
+@Component
+@Slf4j
+public class MatchScheduleIndex {
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Value("${matches.schedule.slot-minutes:120}")
+    private long slotMinutes;
+
+    @Value("${matches.schedule.index-days-back:7}")
+    private long daysBack;
+
+    private final Timeline timeline = new Timeline();
+    private final Map<Long, MatchSlot> slotsByMatch = new HashMap<>();
+    private final Object lock = new Object();
+    // Hasta la primera carga todo se comprueba con la base de datos
+    private volatile LocalDateTime indexedFrom = LocalDateTime.MAX;
+
+    // Los partidos aplazados o cancelados no ocupan su fecha
+    public static boolean occupiesSlot(MatchStatus estado) {
+        return estado != MatchStatus.APLAZADO && estado != MatchStatus.CANCELADO;
+    }
+
+    public static MatchSlot slotOf(Match match) {
+        return new MatchSlot(match.getId(), match.getFechaHora(), match.getEquipoLocal().getId(),
+                match.getEquipoVisitante().getId(), match.getEstadio());
+    }
+
+    // Partidos que chocan con la franja (excluido el propio partido si ya existe)
+    public List<MatchSlot> findConflicts(MatchSlot candidate) {
+        return newBatch().check(candidate);
+    }
+
+    // Primera franja libre desde la prevista, retrasando de franja en franja (partidos que se crean solos);
+    // si no la hay en maxShifts intentos se queda la prevista
+    public LocalDateTime firstFreeStart(MatchSlot candidate, int maxShifts) {
+        Duration slot = Duration.ofMinutes(slotMinutes);
+        for (int shift = 0; shift <= maxShifts; shift++) {
+            LocalDateTime start = candidate.fechaHora().plus(slot.multipliedBy(shift));
+            MatchSlot shifted = new MatchSlot(candidate.matchId(), start, candidate.equipoLocalId(),
+                    candidate.equipoVisitanteId(), candidate.estadio());
+            if (findConflicts(shifted).isEmpty()) {
+                return start;
+            }
+        }
+        return candidate.fechaHora();
+    }
+
+    // Para calendarios completos: cada franja se comprueba también contra las anteriores del mismo lote
+    public Batch newBatch() {
+        return new Batch();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        LocalDateTime from = LocalDateTime.now().minusDays(daysBack);
+        synchronized (lock) {
+            timeline.clear();
+            slotsByMatch.clear();
+            indexedFrom = from;
+            matchRepository.findSlotsFrom(from).forEach(this::put);
+        }
+        log.info("Índice de calendario cargado con {} partidos", slotsByMatch.size());
+    }
+
+    // El horizonte avanza: lo anterior ya no se indexa y pasa a comprobarse con la base de datos
+    @Scheduled(fixedDelayString = "${matches.schedule.prune-interval-ms:3600000}")
+    public void prune() {
+        if (indexedFrom.equals(LocalDateTime.MAX)) {
+            return;
+        }
+        LocalDateTime from = LocalDateTime.now().minusDays(daysBack);
+        synchronized (lock) {
+            new ArrayList<>(slotsByMatch.values()).stream()
+                    .filter(slot -> slot.fechaHora().isBefore(from))
+                    .forEach(slot -> remove(slot.matchId()));
+            indexedFrom = from;
+        }
+    }
+
+    // Tras el commit: el partido que se lee ya es el confirmado
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        switch (event.type()) {
+            case MATCH -> {
+                if (event.id() == null) {
+                    load();
+                    return;
+                }
+                Optional<MatchSlot> slot = matchRepository.findSlotById(event.id());
+                synchronized (lock) {
+                    remove(event.id());
+                    slot.ifPresent(this::put);
+                }
+            }
+            // Calendario generado de una vez: un único aviso para toda la competición
+            case COMPETITION -> {
+                if (event.id() == null) {
+                    load();
+                    return;
+                }
+                List<MatchSlot> slots = matchRepository.findSlotsByCompetitionFrom(event.id(), indexedFrom);
+                synchronized (lock) {
+                    slots.forEach(slot -> {
+                        remove(slot.matchId());
+                        put(slot);
+                    });
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    @EventListener
+    public void onCacheFlush(CacheFlushEvent event) {
+        load();
+    }
+
+    private void put(MatchSlot slot) {
+        if (slot.fechaHora().isBefore(indexedFrom)) {
+            return;
+        }
+        slotsByMatch.put(slot.matchId(), slot);
+        timeline.add(slot);
+    }
+
+    private void remove(Long matchId) {
+        MatchSlot previous = slotsByMatch.remove(matchId);
+        if (previous != null) {
+            timeline.remove(previous);
+        }
+    }
+
+    private List<MatchSlot> indexedConflicts(MatchSlot candidate, Duration slot) {
+        LocalDateTime from = candidate.fechaHora().minus(slot);
+        if (from.isBefore(indexedFrom)) {
+            return matchRepository.findSlotsBetween(from, candidate.fechaHora().plus(slot),
+                            List.of(candidate.equipoLocalId(), candidate.equipoVisitanteId()), stadiumKey(candidate.estadio()))
+                    .stream()
+                    .filter(conflict -> !sameMatch(conflict, candidate))
+                    .toList();
+        }
+        synchronized (lock) {
+            return timeline.overlapping(candidate, slot);
+        }
+    }
+
+    private static boolean sameMatch(MatchSlot a, MatchSlot b) {
+        return a.matchId() != null && Objects.equals(a.matchId(), b.matchId());
+    }
+
+    // Mismo estadio aunque cambien mayúsculas o espacios
+    private static String stadiumKey(String estadio) {
+        return estadio == null || estadio.isBlank() ? null : estadio.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public final class Batch {
+
+        private final Timeline pending = new Timeline();
+
+        private Batch() {
+        }
+
+        // Conflictos con el calendario guardado y con las franjas anteriores del lote; la franja se suma al lote
+        public List<MatchSlot> check(MatchSlot candidate) {
+            Duration slot = Duration.ofMinutes(slotMinutes);
+            Set<MatchSlot> conflicts = new LinkedHashSet<>(indexedConflicts(candidate, slot));
+            conflicts.addAll(pending.overlapping(candidate, slot));
+            pending.add(candidate);
+            return List.copyOf(conflicts);
+        }
+    }
+
+    // Inicios ordenados por equipo y por estadio
+    private static final class Timeline {
+
+        private final Map<Long, NavigableMap<LocalDateTime, List<MatchSlot>>> byTeam = new HashMap<>();
+        private final Map<String, NavigableMap<LocalDateTime, List<MatchSlot>>> byStadium = new HashMap<>();
+
+        void add(MatchSlot slot) {
+            add(byTeam, slot.equipoLocalId(), slot);
+            add(byTeam, slot.equipoVisitanteId(), slot);
+            add(byStadium, stadiumKey(slot.estadio()), slot);
+        }
+
+        void remove(MatchSlot slot) {
+            remove(byTeam, slot.equipoLocalId(), slot);
+            remove(byTeam, slot.equipoVisitanteId(), slot);
+            remove(byStadium, stadiumKey(slot.estadio()), slot);
+        }
+
+        void clear() {
+            byTeam.clear();
+            byStadium.clear();
+        }
+
+        List<MatchSlot> overlapping(MatchSlot candidate, Duration slot) {
+            Set<MatchSlot> result = new LinkedHashSet<>();
+            collect(byTeam.get(candidate.equipoLocalId()), candidate, slot, result);
+            collect(byTeam.get(candidate.equipoVisitanteId()), candidate, slot, result);
+            String stadium = stadiumKey(candidate.estadio());
+            if (stadium != null) {
+                collect(byStadium.get(stadium), candidate, slot, result);
+            }
+            return new ArrayList<>(result);
+        }
+
+        private static void collect(NavigableMap<LocalDateTime, List<MatchSlot>> starts, MatchSlot candidate,
+                                    Duration slot, Set<MatchSlot> result) {
+            if (starts == null) {
+                return;
+            }
+            // Franjas semiabiertas: un partido que empieza justo al acabar otro no choca
+            starts.subMap(candidate.fechaHora().minus(slot), false, candidate.fechaHora().plus(slot), false)
+                    .values()
+                    .forEach(slots -> slots.stream()
+                            .filter(existing -> !sameMatch(existing, candidate))
+                            .forEach(result::add));
+        }
+
+        private static <K> void add(Map<K, NavigableMap<LocalDateTime, List<MatchSlot>>> index, K key, MatchSlot slot) {
+            if (key != null) {
+                index.computeIfAbsent(key, k -> new TreeMap<>())
+                        .computeIfAbsent(slot.fechaHora(), start -> new ArrayList<>(1))
+                        .add(slot);
+            }
+        }
+
+        private static <K> void remove(Map<K, NavigableMap<LocalDateTime, List<MatchSlot>>> index, K key, MatchSlot slot) {
+            NavigableMap<LocalDateTime, List<MatchSlot>> starts = key != null ? index.get(key) : null;
+            if (starts == null) {
+                return;
+            }
+            List<MatchSlot> slots = starts.get(slot.fechaHora());
+            if (slots != null && slots.remove(slot) && slots.isEmpty()) {
+                starts.remove(slot.fechaHora());
+                if (starts.isEmpty()) {
+                    index.remove(key);
+                }
+            }
+        }
+    }
+}
@@ -1,6 +1,11 @@
 package lareferente.backend.service;
 
+import lareferente.backend.dto.LiveMatchDeltaDTO;
 import lareferente.backend.dto.MatchDTO;
+import lareferente.backend.dto.MatchSlot;
+import lareferente.backend.enums.MatchStatus;
+import lareferente.backend.event.EntityChangedEvent;
+import lareferente.backend.event.MatchScoreChangedEvent;
 import lareferente.backend.model.Competition;
 import lareferente.backend.model.Match;
 import lareferente.backend.model.Team;
@@ -8,10 +13,14 @@ import lareferente.backend.repository.CompetitionRepository;
 import lareferente.backend.repository.MatchRepository;
 import lareferente.backend.repository.TeamRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,30 +35,41 @@ public class MatchService {
     @Autowired
     private CompetitionRepository competitionRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MatchScheduleIndex scheduleIndex;
+
+    @Transactional(readOnly = true)
     public List<MatchDTO> getAllMatches() {
         return matchRepository.findAll().stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<MatchDTO> getUpcomingMatches() {
         return matchRepository.findUpcomingMatches(LocalDateTime.now()).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<MatchDTO> getMatchesByCompetition(Long competitionId) {
         return matchRepository.findByCompeticionIdOrderByFechaHoraAsc(competitionId).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public MatchDTO getMatchById(Long id) {
         Match match = matchRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Partido no encontrado con ID: " + id));
         return convertToDTO(match);
     }
 
+    @Transactional
     public MatchDTO createMatch(MatchDTO matchDTO) {
         // Lógica de negocio: verificar que los equipos existen
         Team equipoLocal = teamRepository.findById(matchDTO.getEquipoLocalId())
@@ -79,13 +99,22 @@ public class MatchService {
         match.setAsistencia(matchDTO.getAsistencia());
         match.setArbitro(matchDTO.getArbitro());
 
+        // Lógica de negocio: ningún equipo ni estadio puede tener dos partidos a la vez
+        checkSchedule(match);
+
         Match savedMatch = matchRepository.save(match);
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityChangedEvent.EntityType.MATCH, savedMatch.getId()));
         return convertToDTO(savedMatch);
     }
 
+    @Transactional
     public MatchDTO updateMatch(Long id, MatchDTO matchDTO) {
         Match match = matchRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Partido no encontrado con ID: " + id));
+        Integer golesLocalAntes = match.getGolesLocal();
+        Integer golesVisitanteAntes = match.getGolesVisitante();
+        MatchStatus estadoAntes = match.getEstado();
+        MatchSlot franjaAntes = MatchScheduleIndex.slotOf(match);
 
         // Lógica de negocio: si se cambian los equipos, validar
         if (matchDTO.getEquipoLocalId() != null && matchDTO.getEquipoVisitanteId() != null) {
@@ -111,15 +140,90 @@ public class MatchService {
         match.setAsistencia(matchDTO.getAsistencia());
         match.setArbitro(matchDTO.getArbitro());
 
+        // Solo si cambia la franja: un calendario antiguo con solapes debe poder seguir actualizando resultados
+        if (!franjaAntes.equals(MatchScheduleIndex.slotOf(match)) || !MatchScheduleIndex.occupiesSlot(estadoAntes)) {
+            checkSchedule(match);
+        }
+
         Match updatedMatch = matchRepository.save(match);
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityChangedEvent.EntityType.MATCH, id));
+        // Solo marcador y estado interesan a los clientes en directo
+        if (!Objects.equals(golesLocalAntes, updatedMatch.getGolesLocal())
+                || !Objects.equals(golesVisitanteAntes, updatedMatch.getGolesVisitante())
+                || estadoAntes != updatedMatch.getEstado()) {
+            eventPublisher.publishEvent(new MatchScoreChangedEvent(toLiveDelta(updatedMatch)));
+        }
         return convertToDTO(updatedMatch);
     }
 
+    @Transactional
     public void deleteMatch(Long id) {
         matchRepository.deleteById(id);
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityChangedEvent.EntityType.MATCH, id));
+    }
+
+    // ETags: se calculan con un agregado barato antes de cargar o mapear ningún partido
+    @Transactional(readOnly = true)
+    public String getAllMatchesETag() {
+        return matchRepository.findAllVersion().toETag("all");
+    }
+
+    @Transactional(readOnly = true)
+    public String getUpcomingMatchesETag() {
+        return matchRepository.findUpcomingVersion(LocalDateTime.now()).toETag("upcoming");
+    }
+
+    @Transactional(readOnly = true)
+    public String getMatchesByCompetitionETag(Long competitionId) {
+        return matchRepository.findVersionByCompetition(competitionId).toETag("competition", competitionId);
+    }
+
+    @Transactional(readOnly = true)
+    public String getMatchETag(Long id) {
+        return matchRepository.findVersionById(id).toETag("match", id);
+    }
+
+    // Los IDs de las asociaciones se leen del proxy sin inicializarlo
+    public LiveMatchDeltaDTO toLiveDelta(Match match) {
+        return new LiveMatchDeltaDTO(
+                match.getId(),
+                match.getCompeticion().getId(),
+                match.getEquipoLocal().getId(),
+                match.getEquipoVisitante().getId(),
+                match.getGolesLocal(),
+                match.getGolesVisitante(),
+                match.getEstado(),
+                match.getFechaModificacion() != null ? match.getFechaModificacion() : LocalDateTime.now()
+        );
+    }
+
+    // Partidos con los que choca cada franja; las del propio lote aún no guardadas se devuelven sin ID
+    List<MatchDTO> toConflictDTOs(List<MatchSlot> conflicts) {
+        List<Long> ids = conflicts.stream().map(MatchSlot::matchId).filter(Objects::nonNull).distinct().toList();
+        List<MatchDTO> result = new ArrayList<>(ids.isEmpty() ? List.of()
+                : matchRepository.findWithTeamsByIdIn(ids).stream().map(this::convertToDTO).toList());
+        conflicts.stream().filter(conflict -> conflict.matchId() == null).forEach(conflict -> {
+            MatchDTO dto = new MatchDTO();
+            dto.setFechaHora(conflict.fechaHora());
+            dto.setEquipoLocalId(conflict.equipoLocalId());
+            dto.setEquipoVisitanteId(conflict.equipoVisitanteId());
+            dto.setEstadio(conflict.estadio());
+            result.add(dto);
+        });
+        return result;
+    }
+
+    private void checkSchedule(Match match) {
+        if (match.getFechaHora() == null || !MatchScheduleIndex.occupiesSlot(match.getEstado())) {
+            return;
+        }
+        List<MatchSlot> conflicts = scheduleIndex.findConflicts(MatchScheduleIndex.slotOf(match));
+        if (!conflicts.isEmpty()) {
+            throw new ScheduleConflictException(toConflictDTOs(conflicts));
+        }
     }
 
-    private MatchDTO convertToDTO(Match match) {
+    MatchDTO convertToDTO(Match match) {
         MatchDTO dto = new MatchDTO();
         dto.setId(match.getId());
         dto.setFechaHora(match.getFechaHora());
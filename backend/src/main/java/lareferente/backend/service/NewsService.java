@@ -1,56 +1,115 @@
 package lareferente.backend.service;
 
 import lareferente.backend.dto.NewsDTO;
+import lareferente.backend.dto.NewsFeedDTO;
+import lareferente.backend.dto.NewsSummaryDTO;
+import lareferente.backend.enums.NewsCategory;
+import lareferente.backend.enums.TrendingWindow;
+import lareferente.backend.event.EntityChangedEvent;
 import lareferente.backend.model.News;
 import lareferente.backend.model.User;
 import lareferente.backend.repository.NewsRepository;
 import lareferente.backend.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class NewsService {
 
+    private static final int MAX_FEED_LIMIT = 100;
+
     @Autowired
     private NewsRepository newsRepository;
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private NewsViewCounter newsViewCounter;
+
+    @Autowired
+    private TrendingNewsService trendingNewsService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
     public List<NewsDTO> getAllNews() {
         return newsRepository.findAll().stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
-    public List<NewsDTO> getPublishedNews() {
-        return newsRepository.findByPublicadaTrueOrderByFechaPublicacionDesc().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public NewsFeedDTO getPublishedFeed(String after, int limit) {
+        NewsCursor cursor = NewsCursor.parse(after);
+        int size = clampLimit(limit);
+        return toFeed(newsRepository.findPublishedFeed(cursor.fecha(), cursor.id(), PageRequest.of(0, size + 1)), size);
     }
 
-    public List<NewsDTO> getFeaturedNews() {
-        return newsRepository.findFeaturedNews().stream()
-                .map(this::convertToDTO)
+    @Transactional(readOnly = true)
+    public NewsFeedDTO getFeaturedFeed(String after, int limit) {
+        NewsCursor cursor = NewsCursor.parse(after);
+        int size = clampLimit(limit);
+        return toFeed(newsRepository.findFeaturedFeed(cursor.fecha(), cursor.id(), PageRequest.of(0, size + 1)), size);
+    }
+
+    @Transactional(readOnly = true)
+    public NewsFeedDTO getCategoryFeed(NewsCategory categoria, String after, int limit) {
+        NewsCursor cursor = NewsCursor.parse(after);
+        int size = clampLimit(limit);
+        return toFeed(newsRepository.findCategoryFeed(categoria, cursor.fecha(), cursor.id(), PageRequest.of(0, size + 1)), size);
+    }
+
+    @Transactional(readOnly = true)
+    public List<NewsSummaryDTO> searchNews(String query, int page, int size) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        int limit = clampLimit(size);
+        List<Long> ids = newsRepository.searchNews(query.trim(), limit, (long) Math.max(page, 0) * limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        // Se respeta el orden por relevancia devuelto por la búsqueda
+        Map<Long, NewsSummaryDTO> byId = newsRepository.findSummariesByIds(ids).stream()
+                .collect(Collectors.toMap(NewsSummaryDTO::getId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public NewsDTO getNewsById(Long id) {
         News news = newsRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Noticia no encontrada con ID: " + id));
         return convertToDTO(news);
     }
 
-    @Transactional
+    // Las visitas se acumulan en memoria y se vuelcan en lote (ver NewsViewCounter)
     public void incrementViews(Long id) {
-        newsRepository.incrementVisits(id);
+        newsViewCounter.increment(id);
+        trendingNewsService.recordView(id);
+    }
+
+    public List<NewsSummaryDTO> getTrendingNews(TrendingWindow window) {
+        return trendingNewsService.getTrending(window);
     }
 
+    @Transactional
     public NewsDTO createNews(NewsDTO newsDTO) {
         // Lógica de negocio: el autor debe existir y estar activo
         User autor = userRepository.findById(newsDTO.getAutorId())
@@ -71,14 +130,17 @@ public class NewsService {
         news.setPublicada(newsDTO.getPublicada() != null ? newsDTO.getPublicada() : false);
         news.setVisitas(0);
 
-        if (news.getPublicada() && newsDTO.getFechaPublicacion() == null) {
-            news.setFechaPublicacion(LocalDateTime.now());
+        // Toda noticia publicada necesita fecha para poder aparecer en el feed
+        if (news.getPublicada()) {
+            news.setFechaPublicacion(newsDTO.getFechaPublicacion() != null ? newsDTO.getFechaPublicacion() : LocalDateTime.now());
         }
 
         News savedNews = newsRepository.save(news);
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityChangedEvent.EntityType.NEWS, savedNews.getId()));
         return convertToDTO(savedNews);
     }
 
+    @Transactional
     public NewsDTO updateNews(Long id, NewsDTO newsDTO) {
         News news = newsRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Noticia no encontrada con ID: " + id));
@@ -97,11 +159,67 @@ public class NewsService {
         news.setPublicada(newsDTO.getPublicada());
 
         News updatedNews = newsRepository.save(news);
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityChangedEvent.EntityType.NEWS, id));
         return convertToDTO(updatedNews);
     }
 
+    @Transactional
     public void deleteNews(Long id) {
         newsRepository.deleteById(id);
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityChangedEvent.EntityType.NEWS, id));
+    }
+
+    // ETags: se calculan con un agregado barato antes de cargar o mapear ninguna noticia
+    @Transactional(readOnly = true)
+    public String getAllNewsETag() {
+        return newsRepository.findAllVersion().toETag("all");
+    }
+
+    @Transactional(readOnly = true)
+    public String getPublishedNewsETag(Object... scope) {
+        return newsRepository.findPublishedVersion().toETag(scope);
+    }
+
+    @Transactional(readOnly = true)
+    public String getNewsETag(Long id) {
+        return newsRepository.findVersionById(id).toETag("news", id);
+    }
+
+    private int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_FEED_LIMIT));
+    }
+
+    // Se pide un elemento de más para saber si existe página siguiente sin COUNT
+    private NewsFeedDTO toFeed(List<NewsSummaryDTO> rows, int size) {
+        if (rows.size() <= size) {
+            return new NewsFeedDTO(rows, null);
+        }
+        List<NewsSummaryDTO> page = rows.subList(0, size);
+        NewsSummaryDTO last = page.get(size - 1);
+        return new NewsFeedDTO(new ArrayList<>(page), new NewsCursor(last.getFechaPublicacion(), last.getId()).encode());
+    }
+
+    private record NewsCursor(LocalDateTime fecha, Long id) {
+
+        // Cursor inicial: posterior a cualquier noticia real
+        private static final NewsCursor FIRST = new NewsCursor(LocalDateTime.of(9999, 12, 31, 23, 59), Long.MAX_VALUE);
+
+        static NewsCursor parse(String value) {
+            if (value == null || value.isBlank()) {
+                return FIRST;
+            }
+            int comma = value.lastIndexOf(',');
+            try {
+                return new NewsCursor(LocalDateTime.parse(value.substring(0, comma).trim()),
+                        Long.parseLong(value.substring(comma + 1).trim()));
+            } catch (RuntimeException e) {
+                throw new RuntimeException("Cursor de paginación inválido: " + value);
+            }
+        }
+
+        String encode() {
+            return fecha + "," + id;
+        }
     }
 
     private NewsDTO convertToDTO(News news) {
@@ -0,0 +1,118 @@
+package lareferente.backend.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Contador de visitas con escritura diferida: acumula en memoria y vuelca los deltas en un único UPDATE
+@Component
+@Slf4j
+public class NewsViewCounter {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${news.views.flush-batch-size:500}")
+    private int batchSize;
+
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    private final LongAdder pendingTotal = new LongAdder();
+    private final Object flushLock = new Object();
+
+    private Timer flushTimer;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("news.views.pending", pendingTotal, LongAdder::sum)
+                .description("Visitas acumuladas pendientes de volcar a la base de datos")
+                .register(meterRegistry);
+        flushTimer = Timer.builder("news.views.flush")
+                .description("Duración de cada volcado de visitas")
+                .register(meterRegistry);
+    }
+
+    public void increment(Long newsId) {
+        pending.computeIfAbsent(newsId, id -> new LongAdder()).increment();
+        pendingTotal.increment();
+    }
+
+    public long getPendingIncrements() {
+        return pendingTotal.sum();
+    }
+
+    @Scheduled(fixedDelayString = "${news.views.flush-interval-ms:5000}")
+    public void flush() {
+        synchronized (flushLock) {
+            flushTimer.record(this::drain);
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    private void drain() {
+        // Los contadores se conservan entre volcados para no perder incrementos concurrentes;
+        // sumThenReset es atómico por celda, lo que llegue después entra en el siguiente volcado
+        List<long[]> deltas = new ArrayList<>();
+        for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta > 0) {
+                deltas.add(new long[]{entry.getKey(), delta});
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        for (int from = 0; from < deltas.size(); from += batchSize) {
+            List<long[]> chunk = deltas.subList(from, Math.min(from + batchSize, deltas.size()));
+            try {
+                Set<Long> updated = applyDeltas(chunk);
+                for (long[] delta : chunk) {
+                    pendingTotal.add(-delta[1]);
+                    // Noticias inexistentes o borradas: se descarta su contador
+                    if (!updated.contains(delta[0])) {
+                        pending.remove(delta[0]);
+                    }
+                }
+            } catch (RuntimeException e) {
+                // Se devuelven los deltas al contador para reintentar en el siguiente volcado
+                log.warn("No se pudieron volcar {} contadores de visitas: {}", chunk.size(), e.getMessage());
+                chunk.forEach(delta -> pending.computeIfAbsent(delta[0], id -> new LongAdder()).add(delta[1]));
+            }
+        }
+    }
+
+    private Set<Long> applyDeltas(List<long[]> chunk) {
+        StringBuilder sql = new StringBuilder("UPDATE noticias n SET visitas = n.visitas + v.delta FROM (VALUES ");
+        Object[] params = new Object[chunk.size() * 2];
+        for (int i = 0; i < chunk.size(); i++) {
+            sql.append(i == 0 ? "(?, ?)" : ", (?, ?)");
+            params[i * 2] = chunk.get(i)[0];
+            params[i * 2 + 1] = chunk.get(i)[1];
+        }
+        sql.append(") AS v(id, delta) WHERE n.id = v.id RETURNING n.id");
+        return new HashSet<>(jdbcTemplate.queryForList(sql.toString(), Long.class, params));
+    }
+}
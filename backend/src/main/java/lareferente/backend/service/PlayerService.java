@@ -1,12 +1,17 @@
 package lareferente.backend.service;
 
+import lareferente.backend.config.CacheConfig;
 import lareferente.backend.dto.PlayerDTO;
+import lareferente.backend.event.EntityChangedEvent;
 import lareferente.backend.model.Player;
 import lareferente.backend.model.Team;
 import lareferente.backend.repository.PlayerRepository;
 import lareferente.backend.repository.TeamRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.Period;
@@ -22,30 +27,43 @@ public class PlayerService {
     @Autowired
     private TeamRepository teamRepository;
 
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
     public List<PlayerDTO> getAllPlayers() {
         return playerRepository.findAll().stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<PlayerDTO> getActivePlayers() {
         return playerRepository.findByActivoTrueOrderByApellidosAsc().stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
+    // La edad se calcula al vuelo: una entrada cacheada puede ir como mucho un TTL por detrás en un cumpleaños
+    @Cacheable(CacheConfig.TEAM_PLAYERS)
+    @Transactional(readOnly = true)
     public List<PlayerDTO> getPlayersByTeam(Long teamId) {
         return playerRepository.findByEquipoIdAndActivoTrueOrderByDorsalAsc(teamId).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public PlayerDTO getPlayerById(Long id) {
         Player player = playerRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Jugador no encontrado con ID: " + id));
         return convertToDTO(player);
     }
 
+    @Transactional
     public PlayerDTO createPlayer(PlayerDTO playerDTO) {
         // Lógica de negocio: verificar que el equipo existe y está activo
         Team team = null;
@@ -74,12 +92,16 @@ public class PlayerService {
         player.setActivo(true);
 
         Player savedPlayer = playerRepository.save(player);
+        referenceDataCache.evictTeamPlayers(playerDTO.getEquipoId());
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityChangedEvent.EntityType.PLAYER, savedPlayer.getId()));
         return convertToDTO(savedPlayer);
     }
 
+    @Transactional
     public PlayerDTO updatePlayer(Long id, PlayerDTO playerDTO) {
         Player player = playerRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Jugador no encontrado con ID: " + id));
+        Long previousTeamId = player.getEquipo() != null ? player.getEquipo().getId() : null;
 
         // Lógica de negocio: verificar que el nuevo equipo existe y está activo
         if (playerDTO.getEquipoId() != null) {
@@ -107,14 +129,36 @@ public class PlayerService {
         player.setBiografia(playerDTO.getBiografia());
 
         Player updatedPlayer = playerRepository.save(player);
+        referenceDataCache.evictTeamPlayers(previousTeamId, playerDTO.getEquipoId());
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityChangedEvent.EntityType.PLAYER, id));
         return convertToDTO(updatedPlayer);
     }
 
+    @Transactional
     public void deletePlayer(Long id) {
         Player player = playerRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Jugador no encontrado con ID: " + id));
         player.setActivo(false);
         playerRepository.save(player);
+        referenceDataCache.evictTeamPlayers(player.getEquipo() != null ? player.getEquipo().getId() : null);
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityChangedEvent.EntityType.PLAYER, id));
+    }
+
+    // ETags: se calculan con un agregado barato; la fecha forma parte del ámbito porque la edad se calcula al vuelo
+    public String getAllPlayersETag() {
+        return playerRepository.findAllVersion().toETag("all", LocalDate.now());
+    }
+
+    public String getActivePlayersETag() {
+        return playerRepository.findActiveVersion().toETag("active", LocalDate.now());
+    }
+
+    public String getPlayersByTeamETag(Long teamId) {
+        return playerRepository.findVersionByTeam(teamId).toETag("team", teamId, LocalDate.now());
+    }
+
+    public String getPlayerETag(Long id) {
+        return playerRepository.findVersionById(id).toETag("player", id, LocalDate.now());
     }
 
     private PlayerDTO convertToDTO(Player player) {
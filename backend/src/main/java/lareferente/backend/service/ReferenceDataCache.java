@@ -0,0 +1,80 @@
+package lareferente.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lareferente.backend.config.CacheConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Objects;
+
+// Invalidación precisa de las cachés de datos de referencia: solo se borran las claves afectadas
+// (los listados sin parámetros usan la clave por defecto de Spring, SimpleKey.EMPTY).
+// Dentro de una transacción el borrado se aplaza hasta el commit, para que ninguna lectura concurrente
+// vuelva a cachear los datos antiguos.
+@Component
+public class ReferenceDataCache {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    public void evictActiveTeams() {
+        evict(CacheConfig.ACTIVE_TEAMS, SimpleKey.EMPTY);
+    }
+
+    public void evictActiveCompetitions() {
+        evict(CacheConfig.ACTIVE_COMPETITIONS, SimpleKey.EMPTY);
+    }
+
+    public void evictCompetitionTeams(Collection<Long> competitionIds) {
+        competitionIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(id -> evict(CacheConfig.COMPETITION_TEAMS, id));
+    }
+
+    public void evictTeamPlayers(Long... teamIds) {
+        for (Long teamId : teamIds) {
+            if (teamId != null) {
+                evict(CacheConfig.TEAM_PLAYERS, teamId);
+            }
+        }
+    }
+
+    // Vacía una caché entera: solo para invalidaciones remotas en las que no se conocen las claves afectadas
+    public void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            new TransactionAwareCacheDecorator(cache).clear();
+            invalidations(cacheName).increment();
+        }
+    }
+
+    public void clearAll() {
+        cacheManager.getCacheNames().forEach(this::clear);
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        new TransactionAwareCacheDecorator(cache).evict(key);
+        invalidations(cacheName).increment();
+    }
+
+    private Counter invalidations(String cacheName) {
+        return Counter.builder("cache.invalidations")
+                .description("Claves (o cachés completas) invalidadas explícitamente tras una escritura")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+    }
+}
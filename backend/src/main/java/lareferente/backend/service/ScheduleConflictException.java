@@ -0,0 +1,20 @@
+package lareferente.backend.service;
+
+import lareferente.backend.dto.MatchDTO;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+// 409 con los partidos que ya ocupan la franja (mismo equipo o mismo estadio)
+@Getter
+public class ScheduleConflictException extends ResponseStatusException {
+
+    private final List<MatchDTO> conflicts;
+
+    public ScheduleConflictException(List<MatchDTO> conflicts) {
+        super(HttpStatus.CONFLICT, "El partido coincide con otros partidos del mismo equipo o estadio");
+        this.conflicts = conflicts;
+    }
+}
@@ -0,0 +1,275 @@
+package lareferente.backend.service;
+
+import lareferente.backend.dto.StandingsDTO;
+import lareferente.backend.dto.StandingsPositionDTO;
+import lareferente.backend.event.StandingsChangedEvent;
+import lareferente.backend.model.StandingsSnapshot;
+import lareferente.backend.repository.CompetitionRepository;
+import lareferente.backend.repository.MatchRepository;
+import lareferente.backend.repository.StandingsSnapshotRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/*
+ * Clasificación "a la jornada N" y evolución de posiciones por equipo.
+ *
+ * Al cerrarse una jornada (ningún partido pendiente) se guarda en clasificaciones_jornada solo lo que cambia
+ * respecto a la jornada anterior guardada. En memoria se mantiene cada jornada ya reconstruida, un índice
+ * jornada -> tabla y la serie de posiciones de cada equipo, así que las consultas no recorren nada.
+ *
+ * Un resultado que cambia en una jornada ya cerrada (partido aplazado, corrección) invalida esa jornada y
+ * todas las siguientes, que se recalculan desde StandingsService sin volver a leer partidos.
+ */
+@Service
+@Slf4j
+public class StandingsHistoryService {
+
+    private static final String ROW_SEPARATOR = ";";
+    private static final String FIELD_SEPARATOR = ",";
+    private static final String REMOVED = "-";
+
+    @Autowired
+    private StandingsService standingsService;
+
+    @Autowired
+    private StandingsSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private CompetitionRepository competitionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Map<Long, History> histories = new ConcurrentHashMap<>();
+    private final Object lock = new Object();
+
+    // Tabla de la última jornada cerrada que no sea posterior a N
+    public List<StandingsDTO> getStandingsAtRound(Long competitionId, int jornada) {
+        return history(competitionId).at(jornada).standings();
+    }
+
+    public String getStandingsAtRoundETag(Long competitionId, int jornada) {
+        return history(competitionId).at(jornada).etag();
+    }
+
+    public List<StandingsPositionDTO> getPositionSeries(Long competitionId, Long teamId) {
+        return history(competitionId).series.getOrDefault(teamId, List.of());
+    }
+
+    @EventListener
+    public void onStandingsChanged(StandingsChangedEvent event) {
+        if (event.competitionId() == null) {
+            histories.clear();
+            return;
+        }
+        if (event.fromJornada() == null) {
+            histories.remove(event.competitionId());
+            return;
+        }
+        synchronized (lock) {
+            // Los demás nodos solo recalculan lo que ya tenían en memoria; quien hizo el cambio además lo guarda
+            if (!event.local() && !histories.containsKey(event.competitionId())) {
+                return;
+            }
+            History current = history(event.competitionId());
+            List<Round> kept = current.rounds.stream()
+                    .filter(round -> round.jornada() < event.fromJornada())
+                    .toList();
+            List<Round> recomputed = computeRounds(event.competitionId(), event.fromJornada());
+
+            List<Round> rounds = new ArrayList<>(kept);
+            rounds.addAll(recomputed);
+            if (event.local()) {
+                persist(event.competitionId(), event.fromJornada(), kept.isEmpty() ? null : kept.get(kept.size() - 1), recomputed);
+            }
+            histories.put(event.competitionId(), new History(event.competitionId(), rounds));
+        }
+    }
+
+    private History history(Long competitionId) {
+        History history = histories.get(competitionId);
+        if (history != null) {
+            return history;
+        }
+        synchronized (lock) {
+            return histories.computeIfAbsent(competitionId, this::load);
+        }
+    }
+
+    private History load(Long competitionId) {
+        StandingsService.requireLeague(competitionRepository.findById(competitionId)
+                .orElseThrow(() -> new RuntimeException("Competición no encontrada con ID: " + competitionId)));
+        List<StandingsSnapshot> snapshots = snapshotRepository.findByCompeticionIdOrderByJornadaAsc(competitionId);
+        if (snapshots.isEmpty()) {
+            // Competición sin historial guardado (anterior a esta tabla): se genera a partir de la clasificación actual
+            List<Round> rounds = computeRounds(competitionId, Integer.MIN_VALUE);
+            if (!rounds.isEmpty()) {
+                persist(competitionId, Integer.MIN_VALUE, null, rounds);
+            }
+            return new History(competitionId, rounds);
+        }
+
+        // Nombres y escudos actuales; las filas guardadas solo llevan números
+        Map<Long, StandingsDTO> current = standingsService.getStandings(competitionId).stream()
+                .collect(Collectors.toMap(StandingsDTO::getEquipoId, row -> row));
+        List<Round> rounds = new ArrayList<>(snapshots.size());
+        Map<Long, int[]> stats = new LinkedHashMap<>();
+        for (StandingsSnapshot snapshot : snapshots) {
+            decode(snapshot.getCambios(), stats);
+            rounds.add(new Round(snapshot.getJornada(), toStandings(competitionId, stats, current)));
+        }
+        return new History(competitionId, rounds);
+    }
+
+    private List<Round> computeRounds(Long competitionId, int fromJornada) {
+        List<Round> rounds = new ArrayList<>();
+        for (Integer jornada : matchRepository.findCompletedRounds(competitionId)) {
+            if (jornada >= fromJornada) {
+                rounds.add(new Round(jornada, standingsService.computeStandingsAsOf(competitionId, jornada)));
+            }
+        }
+        return rounds;
+    }
+
+    private void persist(Long competitionId, int fromJornada, Round base, List<Round> rounds) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            transaction.executeWithoutResult(status -> {
+                snapshotRepository.deleteFromJornada(competitionId, fromJornada);
+                List<StandingsDTO> previous = base != null ? base.standings() : List.of();
+                List<StandingsSnapshot> snapshots = new ArrayList<>(rounds.size());
+                for (Round round : rounds) {
+                    StandingsSnapshot snapshot = new StandingsSnapshot();
+                    snapshot.setCompeticion(competitionRepository.getReferenceById(competitionId));
+                    snapshot.setJornada(round.jornada());
+                    snapshot.setCambios(encode(previous, round.standings()));
+                    snapshots.add(snapshot);
+                    previous = round.standings();
+                }
+                snapshotRepository.saveAll(snapshots);
+            });
+        } catch (RuntimeException e) {
+            // Otro nodo pudo guardarlo a la vez; la memoria de este nodo ya es correcta
+            log.warn("No se pudo guardar el historial de la competición {}: {}", competitionId, e.getMessage());
+        }
+    }
+
+    // Solo las filas que cambian respecto a la jornada anterior, y "-equipo" para las que desaparecen
+    static String encode(List<StandingsDTO> previous, List<StandingsDTO> current) {
+        Map<Long, int[]> before = new HashMap<>();
+        previous.forEach(row -> before.put(row.getEquipoId(), stats(row)));
+        StringJoiner changes = new StringJoiner(ROW_SEPARATOR);
+        for (StandingsDTO row : current) {
+            int[] now = stats(row);
+            if (!Arrays.equals(before.remove(row.getEquipoId()), now)) {
+                StringJoiner fields = new StringJoiner(FIELD_SEPARATOR).add(String.valueOf(row.getEquipoId()));
+                Arrays.stream(now).forEach(value -> fields.add(String.valueOf(value)));
+                changes.add(fields.toString());
+            }
+        }
+        before.keySet().forEach(teamId -> changes.add(REMOVED + teamId));
+        return changes.toString();
+    }
+
+    static void decode(String changes, Map<Long, int[]> stats) {
+        if (changes == null || changes.isEmpty()) {
+            return;
+        }
+        for (String change : changes.split(ROW_SEPARATOR)) {
+            if (change.startsWith(REMOVED)) {
+                stats.remove(Long.valueOf(change.substring(REMOVED.length())));
+                continue;
+            }
+            String[] fields = change.split(FIELD_SEPARATOR);
+            int[] values = new int[fields.length - 1];
+            for (int i = 1; i < fields.length; i++) {
+                values[i - 1] = Integer.parseInt(fields[i]);
+            }
+            stats.put(Long.valueOf(fields[0]), values);
+        }
+    }
+
+    // posicion, pj, v, e, d, gf, gc, puntos
+    private static int[] stats(StandingsDTO row) {
+        return new int[]{row.getPosicion(), row.getPartidosJugados(), row.getVictorias(), row.getEmpates(),
+                row.getDerrotas(), row.getGolesFavor(), row.getGolesContra(), row.getPuntos()};
+    }
+
+    private static List<StandingsDTO> toStandings(Long competitionId, Map<Long, int[]> stats, Map<Long, StandingsDTO> current) {
+        List<StandingsDTO> standings = new ArrayList<>(stats.size());
+        stats.forEach((teamId, values) -> {
+            StandingsDTO info = current.get(teamId);
+            standings.add(new StandingsDTO(null, competitionId, info != null ? info.getCompeticionNombre() : null, teamId,
+                    info != null ? info.getEquipoNombre() : null, info != null ? info.getEquipoLogo() : null,
+                    values[0], values[1], values[2], values[3], values[4], values[5], values[6], values[5] - values[6], values[7]));
+        });
+        standings.sort((a, b) -> Integer.compare(a.getPosicion(), b.getPosicion()));
+        return List.copyOf(standings);
+    }
+
+    private record Round(int jornada, List<StandingsDTO> standings) {
+    }
+
+    private record Snapshot(List<StandingsDTO> standings, String etag) {
+    }
+
+    // Todo precalculado: at() es un acceso a un array y la serie de un equipo una búsqueda en un mapa
+    private static final class History {
+
+        private final List<Round> rounds;
+        private final Snapshot[] byJornada;
+        private final Map<Long, List<StandingsPositionDTO>> series = new HashMap<>();
+
+        History(Long competitionId, List<Round> rounds) {
+            this.rounds = List.copyOf(rounds);
+            int maxJornada = rounds.stream().mapToInt(Round::jornada).max().orElse(0);
+            this.byJornada = new Snapshot[Math.max(0, maxJornada) + 1];
+
+            Snapshot last = null;
+            int next = 0;
+            for (int jornada = 0; jornada < byJornada.length; jornada++) {
+                while (next < rounds.size() && rounds.get(next).jornada() <= jornada) {
+                    Round round = rounds.get(next++);
+                    String etag = "\"" + DigestUtils.md5DigestAsHex(("standings|" + competitionId + "|" + round.jornada() + "|"
+                            + round.standings()).getBytes(StandardCharsets.UTF_8)) + "\"";
+                    last = new Snapshot(round.standings(), etag);
+                    for (StandingsDTO row : round.standings()) {
+                        series.computeIfAbsent(row.getEquipoId(), id -> new ArrayList<>())
+                                .add(new StandingsPositionDTO(round.jornada(), row.getPosicion(), row.getPuntos()));
+                    }
+                }
+                byJornada[jornada] = last;
+            }
+            series.replaceAll((teamId, points) -> List.copyOf(points));
+        }
+
+        Snapshot at(int jornada) {
+            Snapshot snapshot = jornada < 0 ? null : byJornada[Math.min(jornada, byJornada.length - 1)];
+            if (snapshot == null) {
+                throw new RuntimeException("No hay ninguna jornada cerrada hasta la jornada " + jornada);
+            }
+            return snapshot;
+        }
+    }
+}
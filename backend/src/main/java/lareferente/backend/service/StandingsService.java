@@ -0,0 +1,429 @@
+package lareferente.backend.service;
+
+import lareferente.backend.dto.StandingsDTO;
+import lareferente.backend.dto.TeamDTO;
+import lareferente.backend.enums.CompetitionType;
+import lareferente.backend.enums.MatchStatus;
+import lareferente.backend.event.CacheFlushEvent;
+import lareferente.backend.event.EntityChangedEvent;
+import lareferente.backend.event.StandingsChangedEvent;
+import lareferente.backend.model.Competition;
+import lareferente.backend.model.Match;
+import lareferente.backend.model.Standings;
+import lareferente.backend.repository.CompetitionRepository;
+import lareferente.backend.repository.MatchRepository;
+import lareferente.backend.repository.StandingsRepository;
+import lareferente.backend.repository.TeamRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/*
+ * Clasificaciones en memoria mantenidas por deltas.
+ *
+ * Cada competición se carga una vez (equipos + partidos finalizados) y desde ahí cada cambio de un partido
+ * solo resta el resultado que tenía contado y suma el nuevo si está FINALIZADO, y reordena. La tabla de
+ * clasificaciones se actualiza en el nodo donde se hizo el cambio; los demás solo ajustan su memoria.
+ * Solo las ligas tienen clasificación: las copas se siguen por su cuadro de eliminatorias.
+ *
+ * Criterios de desempate (liga): puntos, puntos en los enfrentamientos entre los empatados, diferencia de
+ * goles en esos enfrentamientos, diferencia de goles general, goles a favor y nombre.
+ */
+@Service
+@Slf4j
+public class StandingsService {
+
+    private static final int POINTS_WIN = 3;
+    private static final int POINTS_DRAW = 1;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private CompetitionRepository competitionRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private StandingsRepository standingsRepository;
+
+    @Autowired
+    private CompetitionService competitionService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Las lecturas usan la instantánea ya ordenada de cada tabla; cargas y deltas se serializan con este cerrojo
+    private final Map<Long, Table> tables = new ConcurrentHashMap<>();
+    // Competición de cada partido contado, para poder descontarlo aunque se borre
+    private final Map<Long, Long> competitionByMatch = new ConcurrentHashMap<>();
+    private final Object lock = new Object();
+
+    public List<StandingsDTO> getStandings(Long competitionId) {
+        return table(competitionId).ranking;
+    }
+
+    public String getStandingsETag(Long competitionId) {
+        return table(competitionId).etag;
+    }
+
+    // Clasificación contando solo los partidos finalizados de las jornadas 1..N (se calcula en memoria)
+    public List<StandingsDTO> computeStandingsAsOf(Long competitionId, int jornada) {
+        Table table = table(competitionId);
+        synchronized (lock) {
+            return table.asOf(jornada);
+        }
+    }
+
+    // Tras el commit del cambio: la carga o el delta leen ya el estado confirmado
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        switch (event.type()) {
+            case MATCH -> onMatchChanged(event.id(), !event.remote());
+            case COMPETITION -> evict(event.id());
+            // Nombre, escudo o competiciones de un equipo: no se sabe a qué tablas afecta
+            case TEAM -> evictAll();
+            default -> {
+            }
+        }
+    }
+
+    @EventListener
+    public void onCacheFlush(CacheFlushEvent event) {
+        evictAll();
+    }
+
+    private void onMatchChanged(Long matchId, boolean local) {
+        if (matchId == null) {
+            return;
+        }
+        Optional<Match> match = matchRepository.findWithTeamsById(matchId);
+        Set<Table> changed = new HashSet<>();
+        // Primera jornada afectada de cada tabla (la anterior y la nueva del partido, si cambió de jornada)
+        Map<Long, Integer> fromJornada = new HashMap<>();
+        synchronized (lock) {
+            // El nodo que hizo el cambio debe guardar la tabla aunque nadie la hubiera pedido todavía;
+            // la carga ya lee el partido confirmado y el delta de abajo no lo cuenta dos veces
+            if (local && match.isPresent() && match.get().getCompeticion().getTipo() == CompetitionType.LIGA
+                    && !tables.containsKey(match.get().getCompeticion().getId())) {
+                changed.add(table(match.get().getCompeticion().getId()));
+            }
+
+            // Se descuenta lo que tuviera contado (el partido pudo cambiar de competición, de resultado o borrarse)
+            Long previousCompetition = competitionByMatch.remove(matchId);
+            Table previous = previousCompetition != null ? tables.get(previousCompetition) : null;
+            Result removed = previous != null ? previous.remove(matchId) : null;
+            if (removed != null) {
+                changed.add(previous);
+                affected(fromJornada, previous.competitionId, removed.jornada());
+            }
+
+            if (match.isPresent() && match.get().getEstado() == MatchStatus.FINALIZADO) {
+                Table table = tables.get(match.get().getCompeticion().getId());
+                // Si la competición no está cargada, la carga futura ya leerá este resultado
+                if (table != null) {
+                    table.apply(match.get());
+                    competitionByMatch.put(matchId, table.competitionId);
+                    changed.add(table);
+                    affected(fromJornada, table.competitionId, match.get().getJornada());
+                }
+            }
+            changed.forEach(Table::rank);
+        }
+        if (local) {
+            changed.forEach(this::persist);
+        }
+        fromJornada.forEach((competitionId, jornada) ->
+                eventPublisher.publishEvent(new StandingsChangedEvent(competitionId, jornada, local)));
+    }
+
+    private static void affected(Map<Long, Integer> fromJornada, Long competitionId, Integer jornada) {
+        if (jornada != null) {
+            fromJornada.merge(competitionId, jornada, Math::min);
+        }
+    }
+
+    private Table table(Long competitionId) {
+        Table table = tables.get(competitionId);
+        if (table != null) {
+            return table;
+        }
+        synchronized (lock) {
+            return tables.computeIfAbsent(competitionId, this::load);
+        }
+    }
+
+    private Table load(Long competitionId) {
+        Competition competition = competitionRepository.findById(competitionId)
+                .orElseThrow(() -> new RuntimeException("Competición no encontrada con ID: " + competitionId));
+        requireLeague(competition);
+        Table table = new Table(competitionId, competition.getNombre());
+        for (TeamDTO team : competitionService.getTeamsByCompetition(competitionId)) {
+            table.row(team.getId(), team.getNombre(), team.getLogoUrl());
+        }
+        for (Match match : matchRepository.findByCompeticionIdAndEstado(competitionId, MatchStatus.FINALIZADO)) {
+            table.apply(match);
+            competitionByMatch.put(match.getId(), competitionId);
+        }
+        table.rank();
+        log.debug("Clasificación de {} cargada con {} partidos", competition.getNombre(), table.results.size());
+        return table;
+    }
+
+    static void requireLeague(Competition competition) {
+        if (competition.getTipo() != CompetitionType.LIGA) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "La competición " + competition.getNombre() + " no es una liga y no tiene clasificación");
+        }
+    }
+
+    private void evict(Long competitionId) {
+        if (competitionId == null) {
+            return;
+        }
+        synchronized (lock) {
+            tables.remove(competitionId);
+            competitionByMatch.values().removeIf(competitionId::equals);
+        }
+        eventPublisher.publishEvent(new StandingsChangedEvent(competitionId, null, false));
+    }
+
+    private void evictAll() {
+        synchronized (lock) {
+            tables.clear();
+            competitionByMatch.clear();
+        }
+        eventPublisher.publishEvent(new StandingsChangedEvent(null, null, false));
+    }
+
+    // Solo escribe el nodo que originó el cambio, para no repetir la escritura en cada réplica.
+    // Por tabla, para que dos cambios seguidos no inserten a la vez las mismas filas.
+    private void persist(Table table) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        synchronized (table) {
+            try {
+                transaction.executeWithoutResult(status -> saveRanking(table.competitionId, table.ranking));
+            } catch (RuntimeException e) {
+                // La memoria ya está al día; la tabla se corregirá con el siguiente cambio de la competición
+                log.warn("No se pudo guardar la clasificación de la competición {}: {}", table.competitionId, e.getMessage());
+            }
+        }
+    }
+
+    private void saveRanking(Long competitionId, List<StandingsDTO> ranking) {
+        Map<Long, Standings> existing = standingsRepository.findByCompeticionIdOrderByPosicionAsc(competitionId).stream()
+                .collect(Collectors.toMap(row -> row.getEquipo().getId(), Function.identity(), (first, second) -> first));
+        List<Standings> rows = new ArrayList<>();
+        for (StandingsDTO dto : ranking) {
+            Standings row = existing.remove(dto.getEquipoId());
+            if (row == null) {
+                row = new Standings();
+                row.setCompeticion(competitionRepository.getReferenceById(competitionId));
+                row.setEquipo(teamRepository.getReferenceById(dto.getEquipoId()));
+            }
+            row.setPosicion(dto.getPosicion());
+            row.setPartidosJugados(dto.getPartidosJugados());
+            row.setVictorias(dto.getVictorias());
+            row.setEmpates(dto.getEmpates());
+            row.setDerrotas(dto.getDerrotas());
+            row.setGolesFavor(dto.getGolesFavor());
+            row.setGolesContra(dto.getGolesContra());
+            row.setPuntos(dto.getPuntos());
+            rows.add(row);
+        }
+        standingsRepository.saveAll(rows);
+        // Equipos que ya no están en la competición
+        standingsRepository.deleteAll(existing.values());
+    }
+
+    private record Result(Long localId, Long visitanteId, int golesLocal, int golesVisitante, Integer jornada) {
+    }
+
+    private static final class Row {
+
+        private final Long teamId;
+        private final String nombre;
+        private final String logo;
+        private int jugados;
+        private int victorias;
+        private int empates;
+        private int derrotas;
+        private int golesFavor;
+        private int golesContra;
+
+        Row(Long teamId, String nombre, String logo) {
+            this.teamId = teamId;
+            this.nombre = nombre;
+            this.logo = logo;
+        }
+
+        // sign = 1 suma el resultado, -1 lo descuenta
+        void add(int favor, int contra, int sign) {
+            jugados += sign;
+            golesFavor += sign * favor;
+            golesContra += sign * contra;
+            if (favor > contra) {
+                victorias += sign;
+            } else if (favor == contra) {
+                empates += sign;
+            } else {
+                derrotas += sign;
+            }
+        }
+
+        int puntos() {
+            return victorias * POINTS_WIN + empates * POINTS_DRAW;
+        }
+
+        int diferencia() {
+            return golesFavor - golesContra;
+        }
+    }
+
+    private static final class Table {
+
+        private final Long competitionId;
+        private final String competitionName;
+        private final Map<Long, Row> rows = new HashMap<>();
+        // Resultado contado de cada partido finalizado
+        private final Map<Long, Result> results = new HashMap<>();
+
+        private volatile List<StandingsDTO> ranking = List.of();
+        private volatile String etag;
+
+        Table(Long competitionId, String competitionName) {
+            this.competitionId = competitionId;
+            this.competitionName = competitionName;
+        }
+
+        Row row(Long teamId, String nombre, String logo) {
+            return rows.computeIfAbsent(teamId, id -> new Row(id, nombre, logo));
+        }
+
+        void apply(Match match) {
+            remove(match.getId());
+            row(match.getEquipoLocal().getId(), match.getEquipoLocal().getNombre(), match.getEquipoLocal().getLogoUrl());
+            row(match.getEquipoVisitante().getId(), match.getEquipoVisitante().getNombre(), match.getEquipoVisitante().getLogoUrl());
+            count(match.getId(), new Result(match.getEquipoLocal().getId(), match.getEquipoVisitante().getId(),
+                    match.getGolesLocal(), match.getGolesVisitante(), match.getJornada()));
+        }
+
+        private void count(Long matchId, Result result) {
+            rows.get(result.localId()).add(result.golesLocal(), result.golesVisitante(), 1);
+            rows.get(result.visitanteId()).add(result.golesVisitante(), result.golesLocal(), 1);
+            results.put(matchId, result);
+        }
+
+        // Devuelve el resultado que se descuenta, o null si el partido no contaba
+        Result remove(Long matchId) {
+            Result result = results.remove(matchId);
+            if (result != null) {
+                rows.get(result.localId()).add(result.golesLocal(), result.golesVisitante(), -1);
+                rows.get(result.visitanteId()).add(result.golesVisitante(), result.golesLocal(), -1);
+            }
+            return result;
+        }
+
+        List<StandingsDTO> asOf(int jornada) {
+            Table partial = new Table(competitionId, competitionName);
+            rows.values().forEach(row -> partial.row(row.teamId, row.nombre, row.logo));
+            results.forEach((matchId, result) -> {
+                if (result.jornada() != null && result.jornada() <= jornada) {
+                    partial.count(matchId, result);
+                }
+            });
+            return partial.sortedRanking();
+        }
+
+        void rank() {
+            List<StandingsDTO> result = sortedRanking();
+            ranking = List.copyOf(result);
+            etag = "\"" + DigestUtils.md5DigestAsHex(("standings|" + competitionId + "|" + result).getBytes(StandardCharsets.UTF_8)) + "\"";
+        }
+
+        private List<StandingsDTO> sortedRanking() {
+            List<Row> sorted = new ArrayList<>(rows.values());
+            sorted.sort(Comparator.comparingInt(Row::puntos).reversed());
+
+            // Los empates a puntos se resuelven con la liguilla entre los empatados
+            List<Row> ordered = new ArrayList<>(sorted.size());
+            int from = 0;
+            while (from < sorted.size()) {
+                int to = from + 1;
+                while (to < sorted.size() && sorted.get(to).puntos() == sorted.get(from).puntos()) {
+                    to++;
+                }
+                List<Row> tied = new ArrayList<>(sorted.subList(from, to));
+                if (tied.size() > 1) {
+                    tied.sort(tieBreaker(headToHead(tied)));
+                }
+                ordered.addAll(tied);
+                from = to;
+            }
+
+            List<StandingsDTO> result = new ArrayList<>(ordered.size());
+            for (int i = 0; i < ordered.size(); i++) {
+                Row row = ordered.get(i);
+                result.add(new StandingsDTO(null, competitionId, competitionName, row.teamId, row.nombre, row.logo, i + 1,
+                        row.jugados, row.victorias, row.empates, row.derrotas, row.golesFavor, row.golesContra,
+                        row.diferencia(), row.puntos()));
+            }
+            return result;
+        }
+
+        // Puntos y diferencia de goles de cada equipo contando solo los partidos entre los empatados
+        private Map<Long, int[]> headToHead(List<Row> tied) {
+            Set<Long> ids = new HashSet<>();
+            tied.forEach(row -> ids.add(row.teamId));
+            Map<Long, int[]> mini = new HashMap<>();
+            ids.forEach(id -> mini.put(id, new int[2]));
+            for (Result result : results.values()) {
+                if (ids.contains(result.localId()) && ids.contains(result.visitanteId())) {
+                    score(mini.get(result.localId()), result.golesLocal(), result.golesVisitante());
+                    score(mini.get(result.visitanteId()), result.golesVisitante(), result.golesLocal());
+                }
+            }
+            return mini;
+        }
+
+        private static void score(int[] entry, int favor, int contra) {
+            entry[0] += favor > contra ? POINTS_WIN : favor == contra ? POINTS_DRAW : 0;
+            entry[1] += favor - contra;
+        }
+
+        private static Comparator<Row> tieBreaker(Map<Long, int[]> headToHead) {
+            return Comparator.<Row>comparingInt(row -> headToHead.get(row.teamId)[0]).reversed()
+                    .thenComparing(Comparator.<Row>comparingInt(row -> headToHead.get(row.teamId)[1]).reversed())
+                    .thenComparing(Comparator.comparingInt(Row::diferencia).reversed())
+                    .thenComparing(Comparator.<Row>comparingInt(row -> row.golesFavor).reversed())
+                    .thenComparing(row -> row.nombre, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+        }
+    }
+}
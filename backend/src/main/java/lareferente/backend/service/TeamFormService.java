@@ -0,0 +1,340 @@
+package lareferente.backend.service;
+
+import lareferente.backend.dto.TeamFormDTO;
+import lareferente.backend.enums.MatchStatus;
+import lareferente.backend.event.CacheFlushEvent;
+import lareferente.backend.event.EntityChangedEvent;
+import lareferente.backend.model.Match;
+import lareferente.backend.repository.MatchRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongConsumer;
+
+/*
+ * Racha reciente de cada equipo ("VVEDV") sin consultar partidos al pedirla.
+ *
+ * Cada equipo tiene un buffer circular con sus últimos N resultados finalizados. Se llena al arrancar con una
+ * sola consulta para todos los equipos y después cada partido que se finaliza entra por la cabeza y expulsa
+ * al más antiguo. Los casos raros (resultado de un partido anterior al último, partido que deja de estar
+ * finalizado, cambia de equipos o se borra) recargan solo los equipos afectados.
+ */
+@Service
+@Slf4j
+public class TeamFormService {
+
+    private static final char WIN = 'V';
+    private static final char DRAW = 'E';
+    private static final char LOSS = 'D';
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private CompetitionService competitionService;
+
+    @Value("${teams.form.size:5}")
+    private int size;
+
+    // Las lecturas solo leen la racha ya calculada de cada buffer; cargas y cambios se serializan con este cerrojo
+    private final Map<Long, Ring> rings = new ConcurrentHashMap<>();
+    // Equipos de cada partido guardado en algún buffer, para sacarlo aunque cambie de equipos o se borre
+    private final Map<Long, long[]> teamsByMatch = new ConcurrentHashMap<>();
+    private final Object lock = new Object();
+    // Tras la carga inicial, un equipo sin buffer es un equipo sin partidos finalizados
+    private volatile boolean seeded;
+
+    public String getForm(Long teamId) {
+        Ring ring = rings.get(teamId);
+        if (ring == null) {
+            synchronized (lock) {
+                ring = rings.computeIfAbsent(teamId, id -> seeded ? new Ring(size) : load(id));
+            }
+        }
+        return ring.form;
+    }
+
+    // Racha de todos los equipos de una competición en una sola llamada
+    public List<TeamFormDTO> getCompetitionForm(Long competitionId) {
+        return competitionService.getTeamsByCompetition(competitionId).stream()
+                .map(team -> new TeamFormDTO(team.getId(), team.getNombre(), getForm(team.getId())))
+                .toList();
+    }
+
+    public String getCompetitionFormETag(Long competitionId) {
+        return "\"" + DigestUtils.md5DigestAsHex(("form|" + competitionId + "|" + getCompetitionForm(competitionId))
+                .getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        synchronized (lock) {
+            rings.clear();
+            teamsByMatch.clear();
+            for (Object[] row : matchRepository.findRecentFinishedForAllTeams(size)) {
+                long teamId = ((Number) row[0]).longValue();
+                long matchId = ((Number) row[1]).longValue();
+                // Filas del más reciente al más antiguo: se van añadiendo por la cola
+                rings.computeIfAbsent(teamId, id -> new Ring(size))
+                        .append(matchId, toLocalDateTime(row[2]), result(toInt(row[3]), toInt(row[4])));
+            }
+            rings.forEach((teamId, ring) -> ring.forEachMatch(matchId -> index(matchId, teamId)));
+            rings.values().forEach(Ring::refresh);
+            seeded = true;
+        }
+        log.info("Rachas cargadas para {} equipos", rings.size());
+    }
+
+    // Tras el commit: el partido que se lee ya es el confirmado (también los que llegan de otros nodos)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.type() != EntityChangedEvent.EntityType.MATCH) {
+            return;
+        }
+        if (event.id() == null) {
+            seed();
+            return;
+        }
+        Optional<Match> match = matchRepository.findById(event.id());
+        synchronized (lock) {
+            apply(event.id(), match.orElse(null));
+        }
+    }
+
+    @EventListener
+    public void onCacheFlush(CacheFlushEvent event) {
+        seed();
+    }
+
+    private void apply(Long matchId, Match match) {
+        boolean finished = match != null && match.getEstado() == MatchStatus.FINALIZADO;
+        long localId = finished ? match.getEquipoLocal().getId() : 0;
+        long visitanteId = finished ? match.getEquipoVisitante().getId() : 0;
+
+        // Sale de los equipos que ya no le corresponden; el hueco lo rellena el siguiente más antiguo
+        long[] before = teamsByMatch.get(matchId);
+        if (before != null) {
+            for (long teamId : before) {
+                if (!finished || (teamId != localId && teamId != visitanteId)) {
+                    reload(teamId);
+                }
+            }
+        }
+        if (finished) {
+            int golesLocal = match.getGolesLocal() != null ? match.getGolesLocal() : 0;
+            int golesVisitante = match.getGolesVisitante() != null ? match.getGolesVisitante() : 0;
+            offer(localId, match, result(golesLocal, golesVisitante));
+            offer(visitanteId, match, result(golesVisitante, golesLocal));
+        }
+    }
+
+    private void offer(long teamId, Match match, char result) {
+        Ring ring = rings.get(teamId);
+        if (ring == null) {
+            if (!seeded) {
+                // Se cargará de la base de datos cuando se pida, ya con este partido
+                return;
+            }
+            ring = new Ring(size);
+            rings.put(teamId, ring);
+        }
+        long matchId = match.getId();
+        int position = ring.indexOf(matchId);
+        if (position >= 0) {
+            // Corrección del resultado: mismo sitio si no cambió la fecha
+            if (Objects.equals(ring.dateAt(position), match.getFechaHora())) {
+                ring.setResult(position, result);
+                ring.refresh();
+            } else {
+                reload(teamId);
+            }
+            return;
+        }
+        if (ring.isFull() && match.getFechaHora().isBefore(ring.oldest())) {
+            // Más antiguo que todo lo guardado: no entra en la racha
+            return;
+        }
+        if (!ring.isEmpty() && match.getFechaHora().isBefore(ring.newest())) {
+            // Partido aplazado que se finaliza tarde: cae en medio del buffer
+            reload(teamId);
+            return;
+        }
+        Long evicted = ring.push(matchId, match.getFechaHora(), result);
+        ring.refresh();
+        index(matchId, teamId);
+        if (evicted != null) {
+            forget(evicted);
+        }
+    }
+
+    private Ring load(Long teamId) {
+        Ring ring = new Ring(size);
+        for (Match match : matchRepository.findRecentFinishedByTeam(teamId, PageRequest.of(0, size))) {
+            boolean local = teamId.equals(match.getEquipoLocal().getId());
+            int golesLocal = match.getGolesLocal() != null ? match.getGolesLocal() : 0;
+            int golesVisitante = match.getGolesVisitante() != null ? match.getGolesVisitante() : 0;
+            ring.append(match.getId(), match.getFechaHora(),
+                    local ? result(golesLocal, golesVisitante) : result(golesVisitante, golesLocal));
+            index(match.getId(), teamId);
+        }
+        ring.refresh();
+        return ring;
+    }
+
+    private void reload(long teamId) {
+        Ring previous = rings.remove(teamId);
+        rings.put(teamId, load(teamId));
+        if (previous != null) {
+            previous.forEachMatch(this::forget);
+        }
+    }
+
+    private void index(long matchId, long teamId) {
+        teamsByMatch.compute(matchId, (id, teams) -> {
+            if (teams == null) {
+                return new long[]{teamId};
+            }
+            return teams[0] == teamId || teams.length > 1 ? teams : new long[]{teams[0], teamId};
+        });
+    }
+
+    // Quita el partido del índice si ya no está en el buffer de ninguno de sus equipos
+    private void forget(long matchId) {
+        long[] teams = teamsByMatch.get(matchId);
+        if (teams == null) {
+            return;
+        }
+        long[] remaining = Arrays.stream(teams)
+                .filter(teamId -> rings.containsKey(teamId) && rings.get(teamId).indexOf(matchId) >= 0)
+                .toArray();
+        if (remaining.length == 0) {
+            teamsByMatch.remove(matchId);
+        } else if (remaining.length != teams.length) {
+            teamsByMatch.put(matchId, remaining);
+        }
+    }
+
+    private static char result(int favor, int contra) {
+        return favor > contra ? WIN : favor == contra ? DRAW : LOSS;
+    }
+
+    private static int toInt(Object value) {
+        return value != null ? ((Number) value).intValue() : 0;
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+    }
+
+    // Buffer circular de tamaño fijo: next apunta a la siguiente posición a escribir (la del más antiguo si está lleno)
+    private static final class Ring {
+
+        private final long[] matchIds;
+        private final LocalDateTime[] dates;
+        private final char[] results;
+        private int next;
+        private int count;
+        private volatile String form = "";
+
+        Ring(int capacity) {
+            matchIds = new long[capacity];
+            dates = new LocalDateTime[capacity];
+            results = new char[capacity];
+        }
+
+        // Añade uno más reciente que todos; devuelve el partido expulsado, si lo hay
+        Long push(long matchId, LocalDateTime date, char result) {
+            Long evicted = count == matchIds.length ? matchIds[next] : null;
+            matchIds[next] = matchId;
+            dates[next] = date;
+            results[next] = result;
+            next = (next + 1) % matchIds.length;
+            count = Math.min(count + 1, matchIds.length);
+            return evicted;
+        }
+
+        // Añade uno más antiguo que todos (carga de más reciente a más antiguo)
+        void append(long matchId, LocalDateTime date, char result) {
+            if (count == matchIds.length) {
+                return;
+            }
+            int slot = Math.floorMod(next - count - 1, matchIds.length);
+            matchIds[slot] = matchId;
+            dates[slot] = date;
+            results[slot] = result;
+            count++;
+        }
+
+        // Posición física del partido, o -1
+        int indexOf(long matchId) {
+            for (int i = 0; i < count; i++) {
+                int slot = slot(i);
+                if (matchIds[slot] == matchId) {
+                    return slot;
+                }
+            }
+            return -1;
+        }
+
+        LocalDateTime dateAt(int slot) {
+            return dates[slot];
+        }
+
+        void setResult(int slot, char result) {
+            results[slot] = result;
+        }
+
+        boolean isEmpty() {
+            return count == 0;
+        }
+
+        boolean isFull() {
+            return count == matchIds.length;
+        }
+
+        LocalDateTime newest() {
+            return dates[slot(0)];
+        }
+
+        LocalDateTime oldest() {
+            return dates[slot(count - 1)];
+        }
+
+        void forEachMatch(LongConsumer action) {
+            for (int i = 0; i < count; i++) {
+                action.accept(matchIds[slot(i)]);
+            }
+        }
+
+        // Del más reciente al más antiguo
+        void refresh() {
+            char[] letters = new char[count];
+            for (int i = 0; i < count; i++) {
+                letters[i] = results[slot(i)];
+            }
+            form = new String(letters);
+        }
+
+        // i-ésimo más reciente
+        private int slot(int i) {
+            return Math.floorMod(next - 1 - i, matchIds.length);
+        }
+    }
+}
@@ -1,14 +1,20 @@
 package lareferente.backend.service;
 
+import lareferente.backend.config.CacheConfig;
 import lareferente.backend.dto.TeamDTO;
+import lareferente.backend.event.EntityChangedEvent;
 import lareferente.backend.model.Competition;
 import lareferente.backend.model.Team;
 import lareferente.backend.repository.CompetitionRepository;
 import lareferente.backend.repository.TeamRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -22,18 +28,28 @@ public class TeamService {
     @Autowired
     private CompetitionRepository competitionRepository;
 
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
     public List<TeamDTO> getAllTeams() {
         return teamRepository.findAll().stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
+    @Cacheable(CacheConfig.ACTIVE_TEAMS)
+    @Transactional(readOnly = true)
     public List<TeamDTO> getActiveTeams() {
         return teamRepository.findByActivoTrueOrderByNombreAsc().stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public TeamDTO getTeamById(Long id) {
         Team team = teamRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Equipo no encontrado con ID: " + id));
@@ -62,6 +78,9 @@ public class TeamService {
         }
 
         Team savedTeam = teamRepository.save(team);
+        referenceDataCache.evictActiveTeams();
+        referenceDataCache.evictCompetitionTeams(competitionIds(savedTeam));
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityChangedEvent.EntityType.TEAM, savedTeam.getId()));
         return convertToDTO(savedTeam);
     }
 
@@ -69,6 +88,8 @@ public class TeamService {
     public TeamDTO updateTeam(Long id, TeamDTO teamDTO) {
         Team team = teamRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Equipo no encontrado con ID: " + id));
+        // Competiciones antes del cambio: también hay que invalidar las que el equipo abandona
+        List<Long> affectedCompetitions = new ArrayList<>(competitionIds(team));
 
         team.setNombre(teamDTO.getNombre());
         team.setNombreCompleto(teamDTO.getNombreCompleto());
@@ -85,19 +106,32 @@ public class TeamService {
         if (teamDTO.getCompeticionIds() != null) {
             List<Competition> competiciones = competitionRepository.findAllById(teamDTO.getCompeticionIds());
             team.setCompeticiones(new HashSet<>(competiciones));
+            // Cambiar solo la colección no marca el equipo como modificado; se fuerza para invalidar su ETag
+            team.setFechaModificacion(LocalDateTime.now());
         }
 
         Team updatedTeam = teamRepository.save(team);
+        affectedCompetitions.addAll(competitionIds(updatedTeam));
+        referenceDataCache.evictActiveTeams();
+        referenceDataCache.evictCompetitionTeams(affectedCompetitions);
+        // El nombre del equipo viaja en cada jugador de su plantilla
+        referenceDataCache.evictTeamPlayers(id);
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityChangedEvent.EntityType.TEAM, id));
         return convertToDTO(updatedTeam);
     }
 
+    @Transactional
     public void deleteTeam(Long id) {
         Team team = teamRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Equipo no encontrado con ID: " + id));
         team.setActivo(false);
         teamRepository.save(team);
+        referenceDataCache.evictActiveTeams();
+        referenceDataCache.evictCompetitionTeams(competitionIds(team));
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityChangedEvent.EntityType.TEAM, id));
     }
 
+    @Transactional(readOnly = true)
     public List<TeamDTO> searchByNameAndCategoria(String nombre, lareferente.backend.enums.AgeCategory categoria) {
         if (nombre == null || nombre.trim().isEmpty()) {
             return teamRepository.findByCategoria(categoria).stream()
@@ -109,6 +143,25 @@ public class TeamService {
                 .collect(Collectors.toList());
     }
 
+    // ETags: se calculan con un agregado barato antes de cargar o mapear ningún equipo
+    public String getAllTeamsETag() {
+        return teamRepository.findAllVersion().toETag("all");
+    }
+
+    public String getActiveTeamsETag() {
+        return teamRepository.findActiveVersion().toETag("active");
+    }
+
+    public String getTeamETag(Long id) {
+        return teamRepository.findVersionById(id).toETag("team", id);
+    }
+
+    private List<Long> competitionIds(Team team) {
+        return team.getCompeticiones().stream()
+                .map(Competition::getId)
+                .collect(Collectors.toList());
+    }
+
     private TeamDTO convertToDTO(Team team) {
         TeamDTO dto = new TeamDTO();
         dto.setId(team.getId());
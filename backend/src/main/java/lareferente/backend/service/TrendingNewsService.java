@@ -0,0 +1,251 @@
+package lareferente.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lareferente.backend.dto.NewsSummaryDTO;
+import lareferente.backend.enums.TrendingWindow;
+import lareferente.backend.event.CacheFlushEvent;
+import lareferente.backend.event.EntityChangedEvent;
+import lareferente.backend.repository.NewsRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Noticias en tendencia: puntuación con decaimiento exponencial por cubos de tiempo y top-K en memoria
+@Service
+public class TrendingNewsService {
+
+    // Por debajo de esta puntuación (en "visitas actuales") la noticia deja de seguirse
+    private static final double MIN_SCORE = 0.05;
+
+    @Autowired
+    private NewsRepository newsRepository;
+
+    @Value("${news.trending.top-k:20}")
+    private int topK;
+
+    @Value("${news.trending.unknown.max-size:10000}")
+    private long unknownMaxSize;
+
+    @Value("${news.trending.unknown.ttl:1m}")
+    private Duration unknownTtl;
+
+    private final Map<TrendingWindow, Board> boards = new EnumMap<>(TrendingWindow.class);
+    private final Map<Long, NewsSummaryDTO> summaries = new ConcurrentHashMap<>();
+    // IDs inexistentes o sin publicar ya consultados: las visitas repetidas no vuelven a la base de datos
+    private Cache<Long, Boolean> unknown;
+
+    @PostConstruct
+    void init() {
+        unknown = Caffeine.newBuilder()
+                .maximumSize(unknownMaxSize)
+                .expireAfterWrite(unknownTtl)
+                .build();
+    }
+
+    public void recordView(Long newsId) {
+        NewsSummaryDTO summary = summaries.get(newsId);
+        if (summary == null) {
+            if (unknown.getIfPresent(newsId) != null) {
+                return;
+            }
+            // Solo la primera visita de cada noticia consulta la base de datos
+            Optional<NewsSummaryDTO> loaded = newsRepository.findPublishedSummary(newsId);
+            if (loaded.isEmpty()) {
+                unknown.put(newsId, Boolean.TRUE);
+                return;
+            }
+            summaries.putIfAbsent(newsId, loaded.get());
+        }
+
+        long now = System.currentTimeMillis();
+        for (TrendingWindow window : TrendingWindow.values()) {
+            board(window).record(newsId, now);
+        }
+    }
+
+    public List<NewsSummaryDTO> getTrending(TrendingWindow window) {
+        List<NewsSummaryDTO> result = new ArrayList<>(topK);
+        for (Long id : board(window).top(System.currentTimeMillis())) {
+            NewsSummaryDTO summary = summaries.get(id);
+            if (summary != null) {
+                result.add(summary);
+            }
+        }
+        return result;
+    }
+
+    // Mantiene al día el resumen en memoria; si deja de estar publicada se retira del ranking
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.type() != EntityChangedEvent.EntityType.NEWS || event.id() == null) {
+            return;
+        }
+        // Puede haberse publicado o creado con ese ID: la siguiente visita vuelve a consultarla
+        unknown.invalidate(event.id());
+        if (summaries.containsKey(event.id())) {
+            refreshSummary(event.id());
+        }
+    }
+
+    // Tras vaciar las cachés se vuelven a leer todos los resúmenes seguidos
+    @EventListener
+    public void onCacheFlush(CacheFlushEvent event) {
+        unknown.invalidateAll();
+        new ArrayList<>(summaries.keySet()).forEach(this::refreshSummary);
+    }
+
+    private void refreshSummary(Long newsId) {
+        Optional<NewsSummaryDTO> loaded = newsRepository.findPublishedSummary(newsId);
+        if (loaded.isPresent()) {
+            summaries.put(newsId, loaded.get());
+        } else {
+            boards.values().forEach(board -> board.remove(newsId));
+            summaries.remove(newsId);
+        }
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void purge() {
+        long now = System.currentTimeMillis();
+        Set<Long> tracked = new HashSet<>();
+        for (TrendingWindow window : TrendingWindow.values()) {
+            tracked.addAll(board(window).purge(now));
+        }
+        summaries.keySet().retainAll(tracked);
+    }
+
+    private Board board(TrendingWindow window) {
+        synchronized (boards) {
+            return boards.computeIfAbsent(window, w -> new Board(w, topK));
+        }
+    }
+
+    /*
+     * Decaimiento "hacia delante": cada visita suma exp(lambda * (cubo - epoch)), de modo que las
+     * puntuaciones nunca bajan y el orden relativo solo cambia con nuevas visitas. Así el top-K se
+     * mantiene exacto actualizándolo en cada visita. La puntuación actual es s * exp(-lambda * (ahora - epoch)).
+     */
+    private static final class Board {
+
+        // Se reajusta la referencia antes de que los exponentes crezcan demasiado
+        private static final double REBASE_EXPONENT = 50;
+
+        private static final Comparator<Entry> ORDER = Comparator
+                .comparingDouble(Entry::score)
+                .thenComparingLong(Entry::id);
+
+        private final long bucketMillis;
+        private final double lambda;
+        private final int k;
+
+        private long epoch;
+        private final Map<Long, Double> scores = new HashMap<>();
+        private final TreeSet<Entry> top = new TreeSet<>(ORDER);
+
+        private record Entry(long id, double score) {
+        }
+
+        Board(TrendingWindow window, int k) {
+            this.bucketMillis = window.getBucket().toMillis();
+            this.lambda = Math.log(2) / window.getHalfLife().toMillis();
+            this.k = k;
+            this.epoch = System.currentTimeMillis();
+        }
+
+        synchronized void record(long id, long now) {
+            long bucket = now - Math.floorMod(now, bucketMillis);
+            if (lambda * (bucket - epoch) > REBASE_EXPONENT) {
+                rebase(bucket);
+            }
+
+            double previous = scores.getOrDefault(id, 0.0);
+            double score = previous + Math.exp(lambda * (bucket - epoch));
+            scores.put(id, score);
+
+            if (top.remove(new Entry(id, previous))) {
+                top.add(new Entry(id, score));
+            } else if (top.size() < k) {
+                top.add(new Entry(id, score));
+            } else if (score > top.first().score()) {
+                top.pollFirst();
+                top.add(new Entry(id, score));
+            }
+        }
+
+        synchronized List<Long> top(long now) {
+            double decay = Math.exp(-lambda * (now - epoch));
+            List<Long> ids = new ArrayList<>(top.size());
+            for (Entry entry : top.descendingSet()) {
+                if (entry.score() * decay >= MIN_SCORE) {
+                    ids.add(entry.id());
+                }
+            }
+            return ids;
+        }
+
+        synchronized void remove(long id) {
+            Double score = scores.remove(id);
+            if (score != null && top.remove(new Entry(id, score))) {
+                refill();
+            }
+        }
+
+        // El hueco que deja una noticia retirada del top-K lo ocupa la mejor de las que estaban fuera
+        private void refill() {
+            Entry best = null;
+            for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                Entry candidate = new Entry(entry.getKey(), entry.getValue());
+                if (!top.contains(candidate) && (best == null || ORDER.compare(candidate, best) > 0)) {
+                    best = candidate;
+                }
+            }
+            if (best != null) {
+                top.add(best);
+            }
+        }
+
+        // Elimina las noticias cuya puntuación ya es despreciable y devuelve las que siguen vivas
+        synchronized Set<Long> purge(long now) {
+            double decay = Math.exp(-lambda * (now - epoch));
+            Iterator<Map.Entry<Long, Double>> it = scores.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Long, Double> entry = it.next();
+                if (entry.getValue() * decay < MIN_SCORE) {
+                    top.remove(new Entry(entry.getKey(), entry.getValue()));
+                    it.remove();
+                }
+            }
+            return new HashSet<>(scores.keySet());
+        }
+
+        private void rebase(long newEpoch) {
+            double factor = Math.exp(-lambda * (newEpoch - epoch));
+            scores.replaceAll((id, score) -> score * factor);
+            List<Entry> current = new ArrayList<>(top);
+            top.clear();
+            for (Entry entry : current) {
+                top.add(new Entry(entry.id(), scores.get(entry.id())));
+            }
+            epoch = newEpoch;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+-- Esquema inicial: exactamente lo que generaba spring.jpa.hibernate.ddl-auto=update antes de Flyway
+-- (ids IDENTITY, sin secuencias). En bases de datos que ya existían Flyway no ejecuta esta migración
+-- (spring.flyway.baseline-on-migrate); los cambios posteriores van en V2+ para que los reciban todas.
+
+CREATE TABLE usuarios (
+    id               bigint       GENERATED BY DEFAULT AS IDENTITY,
+    email            varchar(255) NOT NULL,
+    password         varchar(255) NOT NULL,
+    nombre           varchar(100) NOT NULL,
+    apellidos        varchar(150),
+    rol              varchar(255) NOT NULL,
+    activo           boolean      NOT NULL,
+    fecha_registro   timestamp(6) NOT NULL,
+    ultima_conexion  timestamp(6),
+    CONSTRAINT usuarios_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_usuarios_email UNIQUE (email)
+);
+
+CREATE TABLE competiciones (
+    id                  bigint       GENERATED BY DEFAULT AS IDENTITY,
+    nombre              varchar(200) NOT NULL,
+    nombre_completo     varchar(255),
+    pais                varchar(100),
+    tipo                varchar(255) NOT NULL,
+    categoria           varchar(255) NOT NULL,
+    num_equipos         integer,
+    temporada           varchar(20)  NOT NULL,
+    logo_url            varchar(500),
+    descripcion         text,
+    fecha_inicio        date,
+    fecha_fin           date,
+    activa              boolean      NOT NULL,
+    fecha_creacion      timestamp(6) NOT NULL,
+    CONSTRAINT competiciones_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE equipos (
+    id                  bigint       GENERATED BY DEFAULT AS IDENTITY,
+    nombre              varchar(200) NOT NULL,
+    nombre_completo     varchar(255),
+    categoria           varchar(255) NOT NULL,
+    letra               varchar(5),
+    pais                varchar(100) NOT NULL,
+    ciudad              varchar(150),
+    estadio             varchar(200),
+    fundacion           integer,
+    logo_url            varchar(500),
+    descripcion         text,
+    activo              boolean      NOT NULL,
+    fecha_creacion      timestamp(6) NOT NULL,
+    CONSTRAINT equipos_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE equipo_competiciones (
+    equipo_id       bigint NOT NULL,
+    competicion_id  bigint NOT NULL,
+    CONSTRAINT equipo_competiciones_pkey PRIMARY KEY (equipo_id, competicion_id),
+    CONSTRAINT fk_equipo_competiciones_equipo FOREIGN KEY (equipo_id) REFERENCES equipos (id),
+    CONSTRAINT fk_equipo_competiciones_competicion FOREIGN KEY (competicion_id) REFERENCES competiciones (id)
+);
+
+CREATE TABLE jugadores (
+    id                  bigint       GENERATED BY DEFAULT AS IDENTITY,
+    nombre              varchar(100) NOT NULL,
+    apellidos           varchar(150) NOT NULL,
+    fecha_nacimiento    date         NOT NULL,
+    nacionalidad        varchar(100) NOT NULL,
+    posicion            varchar(255) NOT NULL,
+    categoria           varchar(255) NOT NULL,
+    dorsal              integer,
+    altura              numeric(3, 2),
+    peso                numeric(5, 2),
+    foto_url            varchar(500),
+    biografia           text,
+    equipo_id           bigint,
+    activo              boolean      NOT NULL,
+    fecha_creacion      timestamp(6) NOT NULL,
+    CONSTRAINT jugadores_pkey PRIMARY KEY (id),
+    CONSTRAINT fk_jugadores_equipo FOREIGN KEY (equipo_id) REFERENCES equipos (id)
+);
+
+CREATE TABLE partidos (
+    id                   bigint       GENERATED BY DEFAULT AS IDENTITY,
+    competicion_id       bigint       NOT NULL,
+    equipo_local_id      bigint       NOT NULL,
+    equipo_visitante_id  bigint       NOT NULL,
+    fecha_hora           timestamp(6) NOT NULL,
+    estadio              varchar(200),
+    jornada              integer,
+    goles_local          integer      NOT NULL,
+    goles_visitante      integer      NOT NULL,
+    estado               varchar(255) NOT NULL,
+    asistencia           integer,
+    arbitro              varchar(200),
+    fecha_creacion       timestamp(6) NOT NULL,
+    CONSTRAINT partidos_pkey PRIMARY KEY (id),
+    CONSTRAINT fk_partidos_competicion FOREIGN KEY (competicion_id) REFERENCES competiciones (id),
+    CONSTRAINT fk_partidos_equipo_local FOREIGN KEY (equipo_local_id) REFERENCES equipos (id),
+    CONSTRAINT fk_partidos_equipo_visitante FOREIGN KEY (equipo_visitante_id) REFERENCES equipos (id)
+);
+
+CREATE TABLE noticias (
+    id                    bigint       GENERATED BY DEFAULT AS IDENTITY,
+    titulo                varchar(255) NOT NULL,
+    subtitulo             varchar(300),
+    contenido             text         NOT NULL,
+    imagen_principal_url  varchar(500),
+    autor_id              bigint       NOT NULL,
+    categoria             varchar(255) NOT NULL,
+    destacada             boolean      NOT NULL,
+    publicada             boolean      NOT NULL,
+    fecha_publicacion     timestamp(6),
+    visitas               integer      NOT NULL,
+    fecha_creacion        timestamp(6) NOT NULL,
+    fecha_modificacion    timestamp(6),
+    CONSTRAINT noticias_pkey PRIMARY KEY (id),
+    CONSTRAINT fk_noticias_autor FOREIGN KEY (autor_id) REFERENCES usuarios (id)
+);
+
+CREATE TABLE comentarios (
+    id              bigint       GENERATED BY DEFAULT AS IDENTITY,
+    noticia_id      bigint       NOT NULL,
+    usuario_id      bigint       NOT NULL,
+    contenido       text         NOT NULL,
+    aprobado        boolean      NOT NULL,
+    fecha_creacion  timestamp(6) NOT NULL,
+    CONSTRAINT comentarios_pkey PRIMARY KEY (id),
+    CONSTRAINT fk_comentarios_noticia FOREIGN KEY (noticia_id) REFERENCES noticias (id),
+    CONSTRAINT fk_comentarios_usuario FOREIGN KEY (usuario_id) REFERENCES usuarios (id)
+);
+
+CREATE TABLE clasificaciones (
+    id                   bigint  GENERATED BY DEFAULT AS IDENTITY,
+    competicion_id       bigint  NOT NULL,
+    equipo_id            bigint  NOT NULL,
+    posicion             integer NOT NULL,
+    partidos_jugados     integer NOT NULL,
+    victorias            integer NOT NULL,
+    empates              integer NOT NULL,
+    derrotas             integer NOT NULL,
+    goles_favor          integer NOT NULL,
+    goles_contra         integer NOT NULL,
+    puntos               integer NOT NULL,
+    fecha_actualizacion  timestamp(6),
+    CONSTRAINT clasificaciones_pkey PRIMARY KEY (id),
+    CONSTRAINT fk_clasificaciones_competicion FOREIGN KEY (competicion_id) REFERENCES competiciones (id),
+    CONSTRAINT fk_clasificaciones_equipo FOREIGN KEY (equipo_id) REFERENCES equipos (id)
+);
+
+CREATE TABLE estadisticas_jugadores (
+    id                   bigint      GENERATED BY DEFAULT AS IDENTITY,
+    jugador_id           bigint      NOT NULL,
+    temporada            varchar(20) NOT NULL,
+    partidos_jugados     integer     NOT NULL,
+    partidos_titular     integer     NOT NULL,
+    minutos_jugados      integer     NOT NULL,
+    goles                integer     NOT NULL,
+    asistencias          integer     NOT NULL,
+    tarjetas_amarillas   integer     NOT NULL,
+    tarjetas_rojas       integer     NOT NULL,
+    fecha_actualizacion  timestamp(6),
+    CONSTRAINT estadisticas_jugadores_pkey PRIMARY KEY (id),
+    CONSTRAINT fk_estadisticas_jugadores_jugador FOREIGN KEY (jugador_id) REFERENCES jugadores (id)
+);
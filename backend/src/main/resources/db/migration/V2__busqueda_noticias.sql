@@ -0,0 +1,23 @@
+-- Búsqueda de texto completo en noticias: configuración española sin acentos.
+-- Idempotente: las bases de datos anteriores a Flyway ya lo tenían creado desde schema.sql.
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_ts_config WHERE cfgname = 'es_unaccent') THEN
+        CREATE TEXT SEARCH CONFIGURATION es_unaccent (COPY = spanish);
+        ALTER TEXT SEARCH CONFIGURATION es_unaccent
+            ALTER MAPPING FOR hword, hword_part, word WITH unaccent, spanish_stem;
+    END IF;
+END
+$$;
+
+-- Columna generada: Postgres la mantiene sincronizada con titulo/subtitulo/contenido
+ALTER TABLE noticias ADD COLUMN IF NOT EXISTS busqueda tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('es_unaccent'::regconfig, coalesce(titulo, '')), 'A') ||
+        setweight(to_tsvector('es_unaccent'::regconfig, coalesce(subtitulo, '')), 'B') ||
+        setweight(to_tsvector('es_unaccent'::regconfig, coalesce(contenido, '')), 'C')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_noticias_busqueda ON noticias USING GIN (busqueda);
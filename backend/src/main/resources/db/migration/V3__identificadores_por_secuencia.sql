@@ -0,0 +1,30 @@
+-- Identificadores por secuencia (allocationSize = 50, optimizador pooled de Hibernate).
+-- Las tablas creadas con IDENTITY dejan de generar el id en la base de datos y cada secuencia
+-- se adelanta por encima del máximo id existente. Solo se mueve si se ha quedado atrás, para no
+-- reutilizar bloques ya reservados por otra instancia (se compara el primer id del siguiente bloque).
+-- En una base de datos nueva (tablas vacías recién creadas por V1) solo crea las secuencias y quita IDENTITY.
+CREATE OR REPLACE FUNCTION ajustar_secuencia(tabla text, secuencia text, incremento int) RETURNS void AS $$
+DECLARE
+    max_id bigint;
+    ultimo bigint;
+    llamada boolean;
+BEGIN
+    EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I START WITH 1 INCREMENT BY %s', secuencia, incremento);
+    EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP IDENTITY IF EXISTS', tabla);
+    EXECUTE format('SELECT COALESCE(MAX(id), 0) FROM %I', tabla) INTO max_id;
+    EXECUTE format('SELECT last_value, is_called FROM %I', secuencia) INTO ultimo, llamada;
+    IF (CASE WHEN llamada THEN ultimo + incremento ELSE ultimo END) - incremento + 1 <= max_id THEN
+        PERFORM setval(secuencia, max_id + incremento, false);
+    END IF;
+END
+$$ LANGUAGE plpgsql;
+
+SELECT ajustar_secuencia('usuarios', 'usuarios_seq', 50);
+SELECT ajustar_secuencia('competiciones', 'competiciones_seq', 50);
+SELECT ajustar_secuencia('equipos', 'equipos_seq', 50);
+SELECT ajustar_secuencia('jugadores', 'jugadores_seq', 50);
+SELECT ajustar_secuencia('partidos', 'partidos_seq', 50);
+SELECT ajustar_secuencia('noticias', 'noticias_seq', 50);
+SELECT ajustar_secuencia('comentarios', 'comentarios_seq', 50);
+SELECT ajustar_secuencia('clasificaciones', 'clasificaciones_seq', 50);
+SELECT ajustar_secuencia('estadisticas_jugadores', 'estadisticas_jugadores_seq', 50);
@@ -0,0 +1,81 @@
+-- Índices diseñados a partir de las consultas de los repositorios.
+-- Cada índice indica qué métodos cubre; los parciales solo guardan las filas que esas consultas leen.
+
+-- partidos ---------------------------------------------------------------------------------------
+
+-- MatchRepository.findByCompeticionIdOrderByFechaHoraAsc, findByCompetitionAndRound,
+-- findVersionByCompetition, findTeamsByCompetition; CompetitionRepository.countMatchesByCompetition
+CREATE INDEX IF NOT EXISTS idx_partidos_competicion_fecha ON partidos (competicion_id, fecha_hora);
+
+-- MatchRepository.findByEstadoOrderByFechaHoraAsc, findUpcomingMatches, findUpcomingVersion,
+-- findRecentFinishedMatches (recorrido hacia atrás)
+CREATE INDEX IF NOT EXISTS idx_partidos_estado_fecha ON partidos (estado, fecha_hora);
+
+-- MatchRepository.findByTeam, findMatchesBetweenTeams, countWinsByTeam: local OR visitante se
+-- resuelve combinando los dos índices (BitmapOr)
+CREATE INDEX IF NOT EXISTS idx_partidos_local_fecha ON partidos (equipo_local_id, fecha_hora);
+CREATE INDEX IF NOT EXISTS idx_partidos_visitante_fecha ON partidos (equipo_visitante_id, fecha_hora);
+
+-- MatchRepository.findTodayMatches: CAST(fecha_hora AS date) = CURRENT_DATE
+CREATE INDEX IF NOT EXISTS idx_partidos_dia ON partidos ((CAST(fecha_hora AS date)));
+
+-- noticias ---------------------------------------------------------------------------------------
+
+-- NewsRepository.findPublishedFeed (cursor fecha_publicacion, id), findRecentNews, findPublishedVersion
+CREATE INDEX IF NOT EXISTS idx_noticias_publicadas_fecha ON noticias (fecha_publicacion DESC, id DESC)
+    WHERE publicada = true;
+
+-- NewsRepository.findFeaturedFeed, findFeaturedNews
+CREATE INDEX IF NOT EXISTS idx_noticias_destacadas_fecha ON noticias (fecha_publicacion DESC, id DESC)
+    WHERE publicada = true AND destacada = true;
+
+-- NewsRepository.findCategoryFeed, findByCategoriaAndPublicadaTrueOrderByFechaPublicacionDesc
+CREATE INDEX IF NOT EXISTS idx_noticias_categoria_fecha ON noticias (categoria, fecha_publicacion DESC, id DESC)
+    WHERE publicada = true;
+
+-- NewsRepository.findMostViewedNews
+CREATE INDEX IF NOT EXISTS idx_noticias_visitas ON noticias (visitas DESC)
+    WHERE publicada = true;
+
+-- NewsRepository.findByAutorIdOrderByFechaCreacionDesc, countPublishedByAuthor
+CREATE INDEX IF NOT EXISTS idx_noticias_autor_fecha ON noticias (autor_id, fecha_creacion DESC);
+
+-- comentarios ------------------------------------------------------------------------------------
+
+-- CommentRepository.findApprovedDTOsByNews, findDTOsByNews, countApprovedByNews
+CREATE INDEX IF NOT EXISTS idx_comentarios_noticia_aprobado_fecha ON comentarios (noticia_id, aprobado, fecha_creacion DESC);
+
+-- CommentRepository.findPendingDTOs, findPendingComments, countPendingComments: la cola de
+-- moderación es una fracción pequeña de la tabla
+CREATE INDEX IF NOT EXISTS idx_comentarios_pendientes_fecha ON comentarios (fecha_creacion)
+    WHERE aprobado = false;
+
+-- CommentRepository.findByUsuarioIdOrderByFechaCreacionDesc
+CREATE INDEX IF NOT EXISTS idx_comentarios_usuario_fecha ON comentarios (usuario_id, fecha_creacion DESC);
+
+-- jugadores --------------------------------------------------------------------------------------
+
+-- PlayerRepository.findByEquipoIdAndActivoTrueOrderByDorsalAsc, findPlayersWithoutTeam (equipo_id IS NULL),
+-- findVersionByTeam; TeamRepository.countPlayersByTeam
+CREATE INDEX IF NOT EXISTS idx_jugadores_equipo_dorsal ON jugadores (equipo_id, dorsal)
+    WHERE activo = true;
+
+-- estadisticas_jugadores -------------------------------------------------------------------------
+
+-- PlayerStatsRepository.findTopScorersBySeason, findByTemporadaOrderByGolesDesc, getTotalGoalsBySeason
+CREATE INDEX IF NOT EXISTS idx_estadisticas_temporada_goles ON estadisticas_jugadores (temporada, goles DESC);
+
+-- PlayerStatsRepository.findByJugadorIdAndTemporada, findByJugadorIdOrderByTemporadaDesc
+CREATE INDEX IF NOT EXISTS idx_estadisticas_jugador_temporada ON estadisticas_jugadores (jugador_id, temporada DESC);
+
+-- clasificaciones y relación equipo-competición --------------------------------------------------
+
+-- StandingsRepository.findByCompeticionIdOrderByPosicionAsc, findByCompeticionIdAndEquipoId
+CREATE INDEX IF NOT EXISTS idx_clasificaciones_competicion_posicion ON clasificaciones (competicion_id, posicion);
+
+-- StandingsRepository.findByEquipoIdOrderByCompeticionNombreAsc
+CREATE INDEX IF NOT EXISTS idx_clasificaciones_equipo ON clasificaciones (equipo_id);
+
+-- TeamRepository.findVersionByCompetition y el JOIN inverso de Competition.equipos
+-- (la clave primaria empieza por equipo_id)
+CREATE INDEX IF NOT EXISTS idx_equipo_competiciones_competicion ON equipo_competiciones (competicion_id, equipo_id);
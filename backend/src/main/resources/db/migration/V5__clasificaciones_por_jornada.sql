@@ -0,0 +1,18 @@
+-- Clasificación de cada competición al cerrar cada jornada (StandingsHistoryService).
+-- Cada fila guarda solo los equipos que cambian respecto a la jornada anterior guardada;
+-- la primera jornada de una competición lleva la tabla completa.
+CREATE SEQUENCE IF NOT EXISTS clasificaciones_jornada_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE clasificaciones_jornada (
+    id              bigint       NOT NULL,
+    competicion_id  bigint       NOT NULL,
+    jornada         integer      NOT NULL,
+    cambios         text         NOT NULL,
+    fecha_creacion  timestamp(6) NOT NULL,
+    CONSTRAINT clasificaciones_jornada_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_clasificaciones_jornada UNIQUE (competicion_id, jornada),
+    CONSTRAINT fk_clasificaciones_jornada_competicion FOREIGN KEY (competicion_id) REFERENCES competiciones (id)
+);
+
+-- MatchRepository.findCompletedRounds
+CREATE INDEX IF NOT EXISTS idx_partidos_competicion_jornada ON partidos (competicion_id, jornada);
@@ -0,0 +1,18 @@
+-- Pareja de equipos normalizada (menor id, mayor id) para el cara a cara: con (A,B) OR (B,A) no servía
+-- un único índice. La mantiene la entidad Match; el CHECK impide que una escritura directa la desincronice.
+ALTER TABLE partidos ADD COLUMN IF NOT EXISTS equipo_menor_id bigint;
+ALTER TABLE partidos ADD COLUMN IF NOT EXISTS equipo_mayor_id bigint;
+
+UPDATE partidos
+SET equipo_menor_id = LEAST(equipo_local_id, equipo_visitante_id),
+    equipo_mayor_id = GREATEST(equipo_local_id, equipo_visitante_id)
+WHERE equipo_menor_id IS NULL OR equipo_mayor_id IS NULL;
+
+ALTER TABLE partidos ALTER COLUMN equipo_menor_id SET NOT NULL;
+ALTER TABLE partidos ALTER COLUMN equipo_mayor_id SET NOT NULL;
+ALTER TABLE partidos ADD CONSTRAINT ck_partidos_pareja
+    CHECK (equipo_menor_id = LEAST(equipo_local_id, equipo_visitante_id)
+       AND equipo_mayor_id = GREATEST(equipo_local_id, equipo_visitante_id));
+
+-- MatchRepository.findByPair (findMatchesBetweenTeams)
+CREATE INDEX IF NOT EXISTS idx_partidos_pareja_fecha ON partidos (equipo_menor_id, equipo_mayor_id, fecha_hora DESC);
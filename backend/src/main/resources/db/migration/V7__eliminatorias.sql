@@ -0,0 +1,36 @@
+-- Cuadro de eliminatorias de las copas (BracketService). Cada fila es un cruce de una ronda; el ganador
+-- del cruce (ronda, posicion) pasa al cruce (ronda + 1, posicion / 2), como equipo A si la posición es par.
+-- Los equipos de rondas posteriores y sus partidos se rellenan a medida que se deciden los cruces.
+CREATE SEQUENCE IF NOT EXISTS eliminatorias_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE eliminatorias (
+    id                  bigint       NOT NULL,
+    competicion_id      bigint       NOT NULL,
+    ronda               integer      NOT NULL,
+    posicion            integer      NOT NULL,
+    ida_y_vuelta        boolean      NOT NULL,
+    fecha_ida           timestamp(6) NOT NULL,
+    fecha_vuelta        timestamp(6),
+    equipo_a_id         bigint,
+    equipo_b_id         bigint,
+    partido_ida_id      bigint,
+    partido_vuelta_id   bigint,
+    penaltis_a          integer,
+    penaltis_b          integer,
+    ganador_id          bigint,
+    fecha_creacion      timestamp(6) NOT NULL,
+    fecha_modificacion  timestamp(6),
+    CONSTRAINT eliminatorias_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_eliminatorias_posicion UNIQUE (competicion_id, ronda, posicion),
+    CONSTRAINT fk_eliminatorias_competicion FOREIGN KEY (competicion_id) REFERENCES competiciones (id),
+    CONSTRAINT fk_eliminatorias_equipo_a FOREIGN KEY (equipo_a_id) REFERENCES equipos (id),
+    CONSTRAINT fk_eliminatorias_equipo_b FOREIGN KEY (equipo_b_id) REFERENCES equipos (id),
+    CONSTRAINT fk_eliminatorias_ganador FOREIGN KEY (ganador_id) REFERENCES equipos (id),
+    -- Borrar un partido deja el cruce sin él, no lo impide
+    CONSTRAINT fk_eliminatorias_partido_ida FOREIGN KEY (partido_ida_id) REFERENCES partidos (id) ON DELETE SET NULL,
+    CONSTRAINT fk_eliminatorias_partido_vuelta FOREIGN KEY (partido_vuelta_id) REFERENCES partidos (id) ON DELETE SET NULL
+);
+
+-- KnockoutTieRepository.findByPartido: el cruce de un partido al cambiar su resultado
+CREATE INDEX IF NOT EXISTS idx_eliminatorias_partido_ida ON eliminatorias (partido_ida_id);
+CREATE INDEX IF NOT EXISTS idx_eliminatorias_partido_vuelta ON eliminatorias (partido_vuelta_id);
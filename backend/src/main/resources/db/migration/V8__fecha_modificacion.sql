@@ -0,0 +1,7 @@
+-- Fecha de última modificación (ETag y caché de consultas) en las entidades que no la tenían antes de Flyway.
+-- Va aparte de V1 para que también la reciban las bases de datos marcadas como V1 (baseline-on-migrate);
+-- IF NOT EXISTS cubre las que ya la crearon con ddl-auto=update.
+ALTER TABLE competiciones ADD COLUMN IF NOT EXISTS fecha_modificacion timestamp(6);
+ALTER TABLE equipos ADD COLUMN IF NOT EXISTS fecha_modificacion timestamp(6);
+ALTER TABLE jugadores ADD COLUMN IF NOT EXISTS fecha_modificacion timestamp(6);
+ALTER TABLE partidos ADD COLUMN IF NOT EXISTS fecha_modificacion timestamp(6);
@@ -0,0 +1,144 @@
+package lareferente.backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lareferente.backend.dto.PlayerDTO;
+import lareferente.backend.enums.PlayerPosition;
+import lareferente.backend.service.PlayerService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Dos instancias de PostgreSQL independientes hacen de primario y réplica: el nombre de la base de
+// datos que responde indica a qué pool se ha enviado cada transacción
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+        "app.datasource.replica.hikari.connection-timeout=2000"
+})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ReadReplicaRoutingTests {
+
+    @Container
+    static PostgreSQLContainer<?> primary = new PostgreSQLContainer<>("postgres:16").withDatabaseName("primario");
+
+    @Container
+    static PostgreSQLContainer<?> replica = new PostgreSQLContainer<>("postgres:16").withDatabaseName("replica");
+
+    @DynamicPropertySource
+    static void dataSources(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", primary::getJdbcUrl);
+        registry.add("spring.datasource.username", primary::getUsername);
+        registry.add("spring.datasource.password", primary::getPassword);
+        registry.add("spring.datasource.driver-class-name", primary::getDriverClassName);
+        registry.add("app.datasource.replica.url", replica::getJdbcUrl);
+        registry.add("app.datasource.replica.username", replica::getUsername);
+        registry.add("app.datasource.replica.password", replica::getPassword);
+
+        // Sin replicación real la réplica necesita el mismo esquema para las lecturas del arranque
+        Flyway.configure()
+                .dataSource(replica.getJdbcUrl(), replica.getUsername(), replica.getPassword())
+                .load()
+                .migrate();
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReplicaLagGuard replicaLagGuard;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Test
+    @Order(1)
+    void readOnlyTransactionsGoToReplica() {
+        replicaLagGuard.check();
+
+        assertThat(replicaLagGuard.isReplicaUsable()).isTrue();
+        assertThat(currentDatabase(true)).isEqualTo("replica");
+    }
+
+    @Test
+    @Order(2)
+    void writesAndNonTransactionalCallsGoToPrimary() {
+        assertThat(currentDatabase(false)).isEqualTo("primario");
+        assertThat(jdbcTemplate.queryForObject("SELECT current_database()", String.class)).isEqualTo("primario");
+    }
+
+    // Petición completa: la lectura previa a la escritura no debe fijar la conexión de la réplica,
+    // que no tiene el jugador (aquí no hay replicación) y haría fallar la actualización
+    @Test
+    @Order(3)
+    void webWritesGoToPrimaryWithReplicaUsable() throws Exception {
+        replicaLagGuard.check();
+        assertThat(replicaLagGuard.isReplicaUsable()).isTrue();
+
+        PlayerDTO player = new PlayerDTO();
+        player.setNombre("Original");
+        player.setApellidos("Réplica");
+        player.setFechaNacimiento(LocalDate.of(2000, 1, 1));
+        player.setNacionalidad("España");
+        player.setPosicion(PlayerPosition.PORTERO);
+        player = playerService.createPlayer(player);
+        player.setNombre("Corregido");
+
+        mockMvc.perform(put("/api/players/{id}", player.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(player)))
+                .andExpect(status().isOk());
+        assertThat(jdbcTemplate.queryForObject("SELECT nombre FROM jugadores WHERE id = ?", String.class, player.getId()))
+                .isEqualTo("Corregido");
+    }
+
+    @Test
+    @Order(4)
+    void readsFallBackToPrimaryWhenReplicaIsDown() {
+        replica.stop();
+        replicaLagGuard.check();
+
+        assertThat(replicaLagGuard.isReplicaUsable()).isFalse();
+        assertThat(currentDatabase(true)).isEqualTo("primario");
+    }
+
+    private String currentDatabase(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> jdbcTemplate.queryForObject("SELECT current_database()", String.class));
+    }
+}
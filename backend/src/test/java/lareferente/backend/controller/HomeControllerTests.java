@@ -0,0 +1,27 @@
+package lareferente.backend.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HomeControllerTests {
+
+    @Test
+    void gzipIsSentOnlyWhenAccepted() {
+        assertThat(HomeController.acceptsGzip("gzip, deflate, br")).isTrue();
+        assertThat(HomeController.acceptsGzip("br;q=1.0, gzip;q=0.5")).isTrue();
+        assertThat(HomeController.acceptsGzip("*")).isTrue();
+        assertThat(HomeController.acceptsGzip(null)).isFalse();
+        assertThat(HomeController.acceptsGzip("identity")).isFalse();
+        assertThat(HomeController.acceptsGzip("br, deflate")).isFalse();
+    }
+
+    @Test
+    void zeroQualityRejectsGzip() {
+        assertThat(HomeController.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(HomeController.acceptsGzip("deflate, gzip; q=0.0")).isFalse();
+        // La entrada explícita manda sobre el comodín
+        assertThat(HomeController.acceptsGzip("*, gzip;q=0")).isFalse();
+        assertThat(HomeController.acceptsGzip("*;q=0")).isFalse();
+    }
+}
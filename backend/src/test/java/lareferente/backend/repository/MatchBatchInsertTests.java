@@ -0,0 +1,86 @@
+package lareferente.backend.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lareferente.backend.enums.CompetitionType;
+import lareferente.backend.model.Competition;
+import lareferente.backend.model.Match;
+import lareferente.backend.model.Team;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Una temporada completa (20 equipos, ida y vuelta) debe insertarse en lotes, no fila a fila
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class MatchBatchInsertTests {
+
+    private static final int TEAMS = 20;
+    private static final int SEASON_MATCHES = TEAMS * (TEAMS - 1);
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Test
+    void fullSeasonIsInsertedInBatches() {
+        Competition competition = new Competition();
+        competition.setNombre("Liga Test");
+        competition.setTipo(CompetitionType.LIGA);
+        competition.setTemporada("2025-2026");
+        entityManager.persist(competition);
+
+        List<Team> teams = new ArrayList<>();
+        for (int i = 0; i < TEAMS; i++) {
+            Team team = new Team();
+            team.setNombre("Equipo " + i);
+            team.setPais("España");
+            entityManager.persist(team);
+            teams.add(team);
+        }
+        entityManager.flush();
+
+        List<Match> season = new ArrayList<>(SEASON_MATCHES);
+        LocalDateTime kickoff = LocalDateTime.of(2025, 9, 1, 18, 0);
+        for (Team local : teams) {
+            for (Team visitante : teams) {
+                if (local != visitante) {
+                    Match match = new Match();
+                    match.setCompeticion(competition);
+                    match.setEquipoLocal(local);
+                    match.setEquipoVisitante(visitante);
+                    match.setFechaHora(kickoff.plusHours(season.size()));
+                    season.add(match);
+                }
+            }
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        matchRepository.saveAll(season);
+        entityManager.flush();
+
+        // Con IDENTITY serían SEASON_MATCHES sentencias; con secuencia pooled (50) y lotes de 50,
+        // unas 8 llamadas a la secuencia más 8 lotes de INSERT
+        long roundTrips = statistics.getPrepareStatementCount();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(SEASON_MATCHES);
+        assertThat(roundTrips).isLessThanOrEqualTo(2L * (SEASON_MATCHES / 50 + 1));
+    }
+}
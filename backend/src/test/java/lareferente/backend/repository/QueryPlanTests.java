@@ -0,0 +1,183 @@
+package lareferente.backend.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lareferente.backend.enums.MatchStatus;
+import lareferente.backend.enums.NewsCategory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Comprueba con las migraciones reales y un volumen de datos grande que las consultas de los
+// repositorios usan índices: falla si el plan genérico recorre secuencialmente una tabla vigilada
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=lareferente.backend.repository.QueryPlanTests$RecordingInspector"
+})
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+@Sql(scripts = "/db/seed-plan-check.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+class QueryPlanTests {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16");
+
+    @DynamicPropertySource
+    static void dataSource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", postgres::getDriverClassName);
+    }
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+    private static final LocalDateTime FEED_START = LocalDateTime.of(9999, 12, 31, 23, 59);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private NewsRepository newsRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private PlayerStatsRepository playerStatsRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void matchQueriesUseIndexes() {
+        assertNoSeqScan(() -> matchRepository.findByCompeticionIdOrderByFechaHoraAsc(1L), "partidos");
+        assertNoSeqScan(() -> matchRepository.findByCompetitionAndRound(1L, 1), "partidos");
+        assertNoSeqScan(() -> matchRepository.findByTeam(1L), "partidos");
+        assertNoSeqScan(() -> matchRepository.findMatchesBetweenTeams(1L, 2L), "partidos");
+        assertNoSeqScan(() -> matchRepository.findUpcomingMatches(NOW), "partidos");
+        assertNoSeqScan(() -> matchRepository.findByEstadoOrderByFechaHoraAsc(MatchStatus.APLAZADO), "partidos");
+        assertNoSeqScan(() -> matchRepository.findTodayMatches(), "partidos");
+        assertNoSeqScan(() -> matchRepository.findVersionByCompetition(1L), "partidos");
+        assertNoSeqScan(() -> matchRepository.findUpcomingVersion(NOW), "partidos");
+    }
+
+    @Test
+    void newsQueriesUseIndexes() {
+        assertNoSeqScan(() -> newsRepository.findPublishedFeed(FEED_START, Long.MAX_VALUE, PageRequest.of(0, 20)), "noticias");
+        assertNoSeqScan(() -> newsRepository.findFeaturedFeed(FEED_START, Long.MAX_VALUE, PageRequest.of(0, 20)), "noticias");
+        assertNoSeqScan(() -> newsRepository.findCategoryFeed(NewsCategory.FICHAJES, FEED_START, Long.MAX_VALUE,
+                PageRequest.of(0, 20)), "noticias");
+        assertNoSeqScan(() -> newsRepository.findByAutorIdOrderByFechaCreacionDesc(1L), "noticias");
+        assertNoSeqScan(() -> newsRepository.searchNews("gol", 20, 0), "noticias");
+    }
+
+    @Test
+    void commentQueriesUseIndexes() {
+        assertNoSeqScan(() -> commentRepository.findApprovedDTOsByNews(1L), "comentarios");
+        assertNoSeqScan(() -> commentRepository.findDTOsByNews(1L), "comentarios");
+        assertNoSeqScan(() -> commentRepository.findPendingDTOs(), "comentarios");
+        assertNoSeqScan(() -> commentRepository.countPendingComments(), "comentarios");
+        assertNoSeqScan(() -> commentRepository.findByUsuarioIdOrderByFechaCreacionDesc(1L), "comentarios");
+    }
+
+    @Test
+    void playerQueriesUseIndexes() {
+        assertNoSeqScan(() -> playerRepository.findByEquipoIdAndActivoTrueOrderByDorsalAsc(1L), "jugadores");
+        assertNoSeqScan(() -> playerRepository.findPlayersWithoutTeam(), "jugadores");
+        assertNoSeqScan(() -> teamRepository.countPlayersByTeam(1L), "jugadores");
+        assertNoSeqScan(() -> playerStatsRepository.findTopScorersBySeason("2020-2021"), "estadisticas_jugadores");
+        assertNoSeqScan(() -> playerStatsRepository.findByJugadorIdAndTemporada(1L, "2020-2021"), "estadisticas_jugadores");
+        assertNoSeqScan(() -> playerStatsRepository.findByJugadorIdOrderByTemporadaDesc(1L), "estadisticas_jugadores");
+    }
+
+    // Ejecuta la consulta para capturar el SQL que genera Hibernate y analiza su plan genérico
+    // (EXPLAIN GENERIC_PLAN, PostgreSQL 16+), independiente de los valores concretos de los parámetros
+    private void assertNoSeqScan(Runnable query, String... tables) {
+        RecordingInspector.STATEMENTS.clear();
+        query.run();
+        List<String> statements = new ArrayList<>(RecordingInspector.STATEMENTS);
+        assertThat(statements).as("SQL capturado").isNotEmpty();
+
+        for (String sql : statements) {
+            String plan = jdbcTemplate.queryForObject("EXPLAIN (GENERIC_PLAN, FORMAT JSON) " + numberParameters(sql), String.class);
+            List<String> seqScans = new ArrayList<>();
+            collectSeqScans(readPlan(plan), Set.of(tables), seqScans);
+            assertThat(seqScans).as("Recorrido secuencial en:%n%s%nPlan:%n%s", sql, plan).isEmpty();
+        }
+    }
+
+    // Los parámetros JDBC (?) pasan a ser $1, $2... para que PostgreSQL acepte la sentencia sin valores
+    private static String numberParameters(String sql) {
+        StringBuilder numbered = new StringBuilder(sql.length() + 16);
+        int index = 0;
+        boolean inLiteral = false;
+        for (char c : sql.toCharArray()) {
+            if (c == '\'') {
+                inLiteral = !inLiteral;
+            }
+            if (c == '?' && !inLiteral) {
+                numbered.append('$').append(++index);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+
+    private JsonNode readPlan(String plan) {
+        try {
+            return objectMapper.readTree(plan).get(0).get("Plan");
+        } catch (Exception e) {
+            throw new RuntimeException("Plan no válido: " + plan, e);
+        }
+    }
+
+    private static void collectSeqScans(JsonNode node, Set<String> tables, List<String> found) {
+        if ("Seq Scan".equals(node.path("Node Type").asText()) && tables.contains(node.path("Relation Name").asText())) {
+            found.add(node.path("Relation Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectSeqScans(child, tables, found);
+        }
+    }
+
+    // Hibernate lo instancia por nombre de clase: guarda cada sentencia preparada
+    public static class RecordingInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
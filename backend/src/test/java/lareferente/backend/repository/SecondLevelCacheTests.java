@@ -0,0 +1,118 @@
+package lareferente.backend.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import lareferente.backend.enums.CompetitionType;
+import lareferente.backend.model.Competition;
+import lareferente.backend.model.Team;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Caché de segundo nivel activada sobre H2: las lecturas repetidas en transacciones distintas no van a la base de datos
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:l2cache;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true"
+})
+@ActiveProfiles("test")
+class SecondLevelCacheTests {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private CompetitionRepository competitionRepository;
+
+    private Statistics statistics;
+    private Long teamId;
+
+    @BeforeEach
+    void seed() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        teamId = inTransaction(() -> {
+            Competition competition = new Competition();
+            competition.setNombre("Liga Test");
+            competition.setTipo(CompetitionType.LIGA);
+            competition.setTemporada("2025-2026");
+            competitionRepository.save(competition);
+
+            Team team = new Team();
+            team.setNombre("Equipo Test");
+            team.setPais("España");
+            team.setCompeticiones(Set.of(competition));
+            return teamRepository.save(team).getId();
+        });
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        inTransaction(() -> {
+            teamRepository.deleteAll();
+            competitionRepository.deleteAll();
+            return null;
+        });
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void teamAndItsCompetitionsAreServedFromCache() {
+        inTransaction(() -> teamRepository.findById(teamId).orElseThrow().getCompeticiones().size());
+        long statementsAfterFirstLoad = statistics.getPrepareStatementCount();
+
+        int competitions = inTransaction(() -> teamRepository.findById(teamId).orElseThrow().getCompeticiones().size());
+
+        assertThat(competitions).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsAfterFirstLoad);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isGreaterThanOrEqualTo(3);
+    }
+
+    @Test
+    void activeListsUseQueryCache() {
+        inTransaction(() -> teamRepository.findByActivoTrueOrderByNombreAsc().size());
+        inTransaction(() -> competitionRepository.findByActivaTrueOrderByNombreAsc().size());
+
+        int teams = inTransaction(() -> teamRepository.findByActivoTrueOrderByNombreAsc().size());
+        int competitions = inTransaction(() -> competitionRepository.findByActivaTrueOrderByNombreAsc().size());
+
+        assertThat(teams).isEqualTo(1);
+        assertThat(competitions).isEqualTo(1);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(2);
+    }
+
+    @Test
+    void writesInvalidateCachedQueryResults() {
+        inTransaction(() -> teamRepository.findByActivoTrueOrderByNombreAsc().size());
+        inTransaction(() -> {
+            teamRepository.findById(teamId).orElseThrow().setActivo(false);
+            return null;
+        });
+
+        int teams = inTransaction(() -> teamRepository.findByActivoTrueOrderByNombreAsc().size());
+
+        assertThat(teams).isZero();
+    }
+
+    private <T> T inTransaction(Supplier<T> work) {
+        return new TransactionTemplate(transactionManager).execute(status -> work.get());
+    }
+}
@@ -0,0 +1,52 @@
+package lareferente.backend.security;
+
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class JwtTokenCacheTests {
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private JwtTokenCache jwtTokenCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void tokenIsVerifiedOnlyOnce() {
+        String token = jwtUtil.generateToken("admin@lareferente.es", "ADMIN");
+        double hits = hits();
+
+        JwtPrincipal first = jwtTokenCache.resolve(token);
+        JwtPrincipal second = jwtTokenCache.resolve(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.email()).isEqualTo("admin@lareferente.es");
+        assertThat(first.authorities()).extracting(Object::toString).containsExactly("ROLE_ADMIN");
+        assertThat(hits()).isEqualTo(hits + 1);
+    }
+
+    @Test
+    void tamperedTokenIsRejectedAndNotCached() {
+        String token = jwtUtil.generateToken("user@lareferente.es", "USER");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThatThrownBy(() -> jwtTokenCache.resolve(tampered)).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> jwtTokenCache.resolve(tampered)).isInstanceOf(JwtException.class);
+    }
+
+    private double hits() {
+        return meterRegistry.get("cache.gets").tag("cache", "jwt.tokens").tag("result", "hit").functionCounter().count();
+    }
+}
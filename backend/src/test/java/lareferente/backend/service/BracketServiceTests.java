@@ -0,0 +1,176 @@
+package lareferente.backend.service;
+
+import lareferente.backend.dto.BracketDTO;
+import lareferente.backend.dto.BracketRequestDTO;
+import lareferente.backend.dto.BracketRoundDTO;
+import lareferente.backend.dto.BracketTieDTO;
+import lareferente.backend.dto.MatchDTO;
+import lareferente.backend.dto.TiePenaltiesDTO;
+import lareferente.backend.enums.CompetitionType;
+import lareferente.backend.enums.MatchStatus;
+import lareferente.backend.model.Competition;
+import lareferente.backend.model.Team;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestFixtures.class)
+class BracketServiceTests {
+
+    private static final LocalDateTime INICIO = LocalDateTime.of(2090, 3, 4, 21, 0);
+
+    @Autowired
+    private BracketService bracketService;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @AfterEach
+    void cleanUp() {
+        fixtures.deleteCreated();
+    }
+
+    @Test
+    void byesAndTwoLeggedTiesAdvanceTheWinner() {
+        Competition cup = fixtures.competition("Copa Cuadro", CompetitionType.COPA);
+        Long competitionId = cup.getId();
+        List<Team> teams = teams(cup, 6);
+
+        // Seis equipos: cuadro de ocho con los cabezas de serie 1 y 2 exentos
+        BracketDTO bracket = bracketService.createBracket(competitionId, request());
+        assertThat(bracket.getRondas()).extracting(BracketRoundDTO::getNombre)
+                .containsExactly("Cuartos de final", "Semifinales", "Final");
+        BracketTieDTO bye = tie(bracket, 1, 0);
+        assertThat(bye.getEquipoBId()).isNull();
+        assertThat(bye.getGanadorId()).isEqualTo(teams.get(0).getId());
+        assertThat(bye.getIda()).isNull();
+        BracketTieDTO semifinal = tie(bracket, 2, 0);
+        assertThat(semifinal.getEquipoAId()).isEqualTo(teams.get(0).getId());
+        assertThat(semifinal.getIda()).isNull();
+
+        // 4 contra 5: 2-0 en la ida y 1-1 en la vuelta
+        BracketTieDTO quarter = tie(bracket, 1, 1);
+        assertThat(quarter.getEquipoAId()).isEqualTo(teams.get(3).getId());
+        assertThat(quarter.getEquipoBId()).isEqualTo(teams.get(4).getId());
+        assertThat(quarter.getVuelta().getFechaHora()).isEqualTo(INICIO.plusDays(7));
+        finish(quarter.getIda(), 2, 0);
+        assertThat(tie(bracketService.getBracket(competitionId), 2, 0).getEquipoBId()).isNull();
+        finish(quarter.getVuelta(), 1, 1);
+
+        bracket = bracketService.getBracket(competitionId);
+        assertThat(tie(bracket, 1, 1).getGolesA()).isEqualTo(3);
+        assertThat(tie(bracket, 1, 1).getGolesB()).isEqualTo(1);
+        assertThat(tie(bracket, 1, 1).getGanadorId()).isEqualTo(teams.get(3).getId());
+        semifinal = tie(bracket, 2, 0);
+        assertThat(semifinal.getEquipoBId()).isEqualTo(teams.get(3).getId());
+        assertThat(semifinal.getIda().getEquipoLocalId()).isEqualTo(teams.get(0).getId());
+        assertThat(semifinal.getIda().getFechaHora()).isEqualTo(INICIO.plusDays(14));
+        assertThat(semifinal.getVuelta().getEquipoLocalId()).isEqualTo(teams.get(3).getId());
+        // La final es a partido único
+        assertThat(tie(bracket, 3, 0).getIdaYVuelta()).isFalse();
+    }
+
+    @Test
+    void levelAggregateWaitsForPenalties() {
+        Competition cup = fixtures.competition("Copa Cuadro", CompetitionType.COPA);
+        Long competitionId = cup.getId();
+        List<Team> teams = teams(cup, 6);
+        BracketDTO bracket = bracketService.createBracket(competitionId, request());
+
+        // 3 contra 6: 1-0 y 0-1
+        BracketTieDTO quarter = tie(bracket, 1, 3);
+        assertThatThrownBy(() -> bracketService.setPenalties(competitionId, quarter.getId(), new TiePenaltiesDTO(4, 2)))
+                .isInstanceOf(RuntimeException.class);
+        finish(quarter.getIda(), 1, 0);
+        finish(quarter.getVuelta(), 1, 0);
+
+        bracket = bracketService.getBracket(competitionId);
+        assertThat(tie(bracket, 1, 3).getGanadorId()).isNull();
+        assertThat(tie(bracket, 2, 1).getEquipoBId()).isNull();
+
+        bracket = bracketService.setPenalties(competitionId, quarter.getId(), new TiePenaltiesDTO(2, 4));
+        assertThat(tie(bracket, 1, 3).getGanadorId()).isEqualTo(teams.get(5).getId());
+        assertThat(tie(bracket, 2, 1).getEquipoAId()).isEqualTo(teams.get(1).getId());
+        assertThat(tie(bracket, 2, 1).getEquipoBId()).isEqualTo(teams.get(5).getId());
+        assertThat(tie(bracket, 2, 1).getIda()).isNotNull();
+    }
+
+    @Test
+    void correctionAfterNextTieStartedKeepsTheWinner() {
+        Competition cup = fixtures.competition("Copa Cuadro", CompetitionType.COPA);
+        Long competitionId = cup.getId();
+        List<Team> teams = teams(cup, 6);
+        BracketDTO bracket = bracketService.createBracket(competitionId, request());
+
+        // 4 contra 5 pasa el 4 y la semifinal ya se ha jugado a la ida
+        BracketTieDTO quarter = tie(bracket, 1, 1);
+        finish(quarter.getIda(), 2, 0);
+        finish(quarter.getVuelta(), 1, 1);
+        finish(tie(bracketService.getBracket(competitionId), 2, 0).getIda(), 1, 0);
+
+        // Se corrige la vuelta: ahora pasaría el 5, pero la semifinal no se rehace
+        finish(quarter.getVuelta(), 0, 3);
+
+        bracket = bracketService.getBracket(competitionId);
+        assertThat(tie(bracket, 1, 1).getGanadorId()).isEqualTo(teams.get(3).getId());
+        assertThat(tie(bracket, 2, 0).getEquipoBId()).isEqualTo(teams.get(3).getId());
+    }
+
+    @Test
+    void twoTeamCupIsASingleFinal() {
+        Competition cup = fixtures.competition("Copa Cuadro", CompetitionType.COPA);
+        Long competitionId = cup.getId();
+        List<Team> teams = teams(cup, 2);
+        BracketDTO bracket = bracketService.createBracket(competitionId, request());
+
+        BracketTieDTO fin = tie(bracket, 1, 0);
+        assertThat(bracket.getRondas()).hasSize(1);
+        assertThat(fin.getIdaYVuelta()).isFalse();
+        assertThat(fin.getVuelta()).isNull();
+        assertThatThrownBy(() -> bracketService.createBracket(competitionId, request()))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("ya tiene cuadro");
+
+        finish(fin.getIda(), 0, 2);
+        assertThat(bracketService.getBracket(competitionId).getCampeonId()).isEqualTo(teams.get(1).getId());
+    }
+
+    private BracketRequestDTO request() {
+        return new BracketRequestDTO(null, INICIO, 14, 7, true, true);
+    }
+
+    private void finish(MatchDTO match, int golesLocal, int golesVisitante) {
+        match.setGolesLocal(golesLocal);
+        match.setGolesVisitante(golesVisitante);
+        match.setEstado(MatchStatus.FINALIZADO);
+        matchService.updateMatch(match.getId(), match);
+    }
+
+    private static BracketTieDTO tie(BracketDTO bracket, int ronda, int posicion) {
+        return bracket.getRondas().get(ronda - 1).getEliminatorias().get(posicion);
+    }
+
+    // En orden de id, que es el orden de cabezas de serie por defecto
+    private List<Team> teams(Competition cup, int count) {
+        List<Team> teams = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            teams.add(fixtures.team("Cabeza " + (i + 1), cup));
+        }
+        return teams;
+    }
+}
@@ -0,0 +1,171 @@
+package lareferente.backend.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lareferente.backend.config.CacheConfig;
+import lareferente.backend.event.CacheFlushEvent;
+import lareferente.backend.event.EntityChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.event.EventListener;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+// Los mensajes de "otro nodo" se simulan con pg_notify directamente sobre el canal
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+        "spring.cache.type=caffeine",
+        "app.cluster.invalidation.enabled=true",
+        "app.cluster.invalidation.gap-grace-ms=500"
+})
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class ClusterCacheInvalidatorTests {
+
+    private static final String CHANNEL = "lareferente_cache";
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16");
+
+    @DynamicPropertySource
+    static void dataSource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", postgres::getDriverClassName);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @BeforeEach
+    void waitForListener() {
+        await().atMost(TIMEOUT).until(() -> meterRegistry.get("cache.cluster.connected").gauge().value() == 1);
+    }
+
+    @Test
+    void remoteChangeEvictsOnlyAffectedKeys() {
+        Cache competitionTeams = cacheManager.getCache(CacheConfig.COMPETITION_TEAMS);
+        competitionTeams.put(7L, List.of());
+        competitionTeams.put(8L, List.of());
+
+        notify("nodo-a|1|COMPETITION|7");
+
+        await().atMost(TIMEOUT).until(() -> competitionTeams.get(7L) == null);
+        assertThat(competitionTeams.get(8L)).isNotNull();
+    }
+
+    @Test
+    void sequenceGapFlushesEveryCache() {
+        Cache activeTeams = cacheManager.getCache(CacheConfig.ACTIVE_TEAMS);
+        Cache teamPlayers = cacheManager.getCache(CacheConfig.TEAM_PLAYERS);
+        notify("nodo-b|1|NEWS|1");
+        activeTeams.put(SimpleKey.EMPTY, List.of());
+        teamPlayers.put(3L, List.of());
+
+        // Faltan los mensajes 2 a 4 del nodo-b
+        notify("nodo-b|5|NEWS|2");
+
+        await().atMost(TIMEOUT).until(() -> activeTeams.get(SimpleKey.EMPTY) == null && teamPlayers.get(3L) == null);
+        assertThat(meterRegistry.get("cache.cluster.flushes").tag("reason", "gap").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void outOfOrderArrivalsDoNotFlush() {
+        Cache competitionTeams = cacheManager.getCache(CacheConfig.COMPETITION_TEAMS);
+        notify("nodo-c|1|NEWS|1");
+        competitionTeams.put(10L, List.of());
+
+        // Dos commits simultáneos del nodo-c: el 3 llega antes que el 2
+        notify("nodo-c|3|COMPETITION|9");
+        notify("nodo-c|2|COMPETITION|9");
+
+        await().pollDelay(Duration.ofMillis(1500)).atMost(TIMEOUT).until(() -> true);
+        assertThat(competitionTeams.get(10L)).isNotNull();
+    }
+
+    @Test
+    void localChangeIsPublishedOnTheChannel() throws Exception {
+        try (Connection listener = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())) {
+            try (Statement statement = listener.createStatement()) {
+                statement.execute("LISTEN " + CHANNEL);
+            }
+
+            eventPublisher.publishEvent(new EntityChangedEvent(EntityChangedEvent.EntityType.TEAM, 42L));
+
+            PGNotification[] notifications = listener.unwrap(PGConnection.class).getNotifications((int) TIMEOUT.toMillis());
+            assertThat(notifications).isNotNull();
+            assertThat(notifications[0].getParameter()).endsWith("|TEAM|42");
+        }
+    }
+
+    @Test
+    void failingFlushListenerReconnectsInsteadOfKillingTheListener() {
+        Cache competitionTeams = cacheManager.getCache(CacheConfig.COMPETITION_TEAMS);
+        FailingFlushListener.armed.set(true);
+
+        // Tipo desconocido: el vaciado por error falla y sale del bucle de recepción
+        notify("nodo-d|1|DESCONOCIDO|1");
+
+        await().atMost(TIMEOUT).until(() -> meterRegistry.find("cache.cluster.flushes").tag("reason", "reconnect").counter() != null);
+        await().atMost(TIMEOUT).until(() -> meterRegistry.get("cache.cluster.connected").gauge().value() == 1);
+        assertThat(FailingFlushListener.armed).isFalse();
+
+        competitionTeams.put(11L, List.of());
+        notify("nodo-d|2|COMPETITION|11");
+        await().atMost(TIMEOUT).until(() -> competitionTeams.get(11L) == null);
+    }
+
+    private void notify(String payload) {
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", CHANNEL, payload);
+    }
+
+    // Falla una sola vez, en el vaciado por mensaje no válido
+    @TestConfiguration
+    static class FailingFlushListener {
+
+        static final AtomicBoolean armed = new AtomicBoolean();
+
+        @EventListener
+        public void onFlush(CacheFlushEvent event) {
+            if ("error".equals(event.reason()) && armed.compareAndSet(true, false)) {
+                throw new IllegalStateException("Fallo simulado al reaccionar al vaciado");
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package lareferente.backend.service;
+
+import lareferente.backend.dto.RegisterRequestDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class EmailBloomFilterTests {
+
+    @Autowired
+    private EmailBloomFilter emailBloomFilter;
+
+    @Autowired
+    private AuthService authService;
+
+    @Test
+    void unknownEmailIsADefiniteNegative() {
+        assertThat(emailBloomFilter.mightContain("nadie-" + System.nanoTime() + "@example.com")).isFalse();
+    }
+
+    @Test
+    void registeredEmailIsFoundIgnoringCase() {
+        RegisterRequestDTO request = new RegisterRequestDTO();
+        request.setEmail("Nuevo.Socio@LaReferente.es");
+        request.setPassword("secreto123");
+        request.setNombre("Nuevo");
+        request.setApellidos("Socio");
+        authService.register(request, "127.0.0.1");
+
+        assertThat(emailBloomFilter.mightContain("nuevo.socio@lareferente.es")).isTrue();
+        assertThat(authService.emailExists("Nuevo.Socio@LaReferente.es")).isTrue();
+    }
+}
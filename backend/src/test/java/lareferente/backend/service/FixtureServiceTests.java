@@ -0,0 +1,149 @@
+package lareferente.backend.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lareferente.backend.dto.FixtureRequestDTO;
+import lareferente.backend.dto.MatchDTO;
+import lareferente.backend.enums.CompetitionType;
+import lareferente.backend.model.Competition;
+import lareferente.backend.model.Team;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// El calendario de una liga de 20 equipos se genera e inserta en una sola llamada y en lotes
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class FixtureServiceTests {
+
+    private static final int TEAMS = 20;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private FixtureService fixtureService;
+
+    @Test
+    void fullSeasonIsBalancedAndInsertedInBatches() {
+        Long competitionId = league(TEAMS);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        LocalDateTime inicio = LocalDateTime.of(2025, 8, 17, 18, 0);
+        List<MatchDTO> matches = fixtureService.generateLeagueFixtures(competitionId, new FixtureRequestDTO(inicio, 7, 120));
+        entityManager.flush();
+
+        assertThat(matches).hasSize(TEAMS * (TEAMS - 1));
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2L * (matches.size() / 50 + 1) + 3);
+
+        // Cada pareja se enfrenta una vez en cada campo
+        assertThat(matches.stream().map(m -> m.getEquipoLocalId() + "-" + m.getEquipoVisitanteId()).distinct())
+                .hasSize(matches.size());
+
+        // 38 jornadas de 10 partidos, cada equipo juega una vez por jornada y la fecha avanza una semana
+        Map<Integer, List<MatchDTO>> byRound = matches.stream().collect(Collectors.groupingBy(MatchDTO::getJornada));
+        assertThat(byRound).hasSize(2 * (TEAMS - 1));
+        byRound.forEach((jornada, round) -> {
+            assertThat(round).hasSize(TEAMS / 2);
+            Set<Long> playing = new HashSet<>();
+            round.forEach(m -> {
+                playing.add(m.getEquipoLocalId());
+                playing.add(m.getEquipoVisitanteId());
+            });
+            assertThat(playing).hasSize(TEAMS);
+            assertThat(round.get(0).getFechaHora()).isEqualTo(inicio.plusWeeks(jornada - 1));
+            // Domingo 18:00, 20:00 y 22:00; el resto el lunes desde las 12:00, nunca de madrugada
+            assertThat(round).allSatisfy(m -> assertThat(m.getFechaHora().toLocalTime())
+                    .isBetween(LocalTime.of(12, 0), LocalTime.of(22, 0)));
+            assertThat(round.get(3).getFechaHora()).isEqualTo(inicio.plusWeeks(jornada - 1).plusDays(1).withHour(12));
+        });
+
+        // Mínimo de repeticiones de campo en una doble vuelta: 2n-4
+        Map<Long, List<Boolean>> venues = new HashMap<>();
+        matches.stream().sorted((a, b) -> a.getJornada().compareTo(b.getJornada())).forEach(m -> {
+            venues.computeIfAbsent(m.getEquipoLocalId(), id -> new ArrayList<>()).add(true);
+            venues.computeIfAbsent(m.getEquipoVisitanteId(), id -> new ArrayList<>()).add(false);
+        });
+        int breaks = venues.values().stream()
+                .mapToInt(v -> (int) IntStream.range(1, v.size()).filter(i -> v.get(i).equals(v.get(i - 1))).count())
+                .sum();
+        assertThat(breaks).isEqualTo(2 * TEAMS - 4);
+    }
+
+    @Test
+    void oddNumberOfTeamsRestsOneTeamPerRound() {
+        List<List<FixtureService.Pairing<Integer>>> rounds = FixtureService.doubleRoundRobin(List.of(1, 2, 3, 4, 5));
+
+        assertThat(rounds).hasSize(10);
+        assertThat(rounds).allSatisfy(round -> assertThat(round).hasSize(2));
+        assertThat(rounds.stream().flatMap(List::stream).map(p -> p.local() + "-" + p.visitante()).distinct()).hasSize(20);
+    }
+
+    @Test
+    void competitionWithMatchesIsRejected() {
+        Long competitionId = league(4);
+        FixtureRequestDTO request = new FixtureRequestDTO(LocalDateTime.of(2025, 8, 17, 18, 0), null, null);
+        fixtureService.generateLeagueFixtures(competitionId, request);
+
+        assertThatThrownBy(() -> fixtureService.generateLeagueFixtures(competitionId, request))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("ya tiene partidos");
+    }
+
+    @Test
+    void overnightKickoffsAreRejected() {
+        Long competitionId = league(6);
+
+        assertThatThrownBy(() -> fixtureService.generateLeagueFixtures(competitionId,
+                new FixtureRequestDTO(LocalDateTime.of(2025, 8, 17, 23, 30), null, null)))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("entre las 12:00 y las 22:00");
+        // Tres partidos por jornada y jornadas diarias: 21:00, 12:00 y 22:00 del día siguiente, ya en la otra jornada
+        assertThatThrownBy(() -> fixtureService.generateLeagueFixtures(competitionId,
+                new FixtureRequestDTO(LocalDateTime.of(2025, 8, 17, 21, 0), 1, 600)))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("no caben antes de la siguiente");
+    }
+
+    private Long league(int teams) {
+        Competition competition = new Competition();
+        competition.setNombre("Liga Calendario " + System.nanoTime());
+        competition.setTipo(CompetitionType.LIGA);
+        competition.setTemporada("2025-2026");
+        entityManager.persist(competition);
+        for (int i = 0; i < teams; i++) {
+            Team team = new Team();
+            team.setNombre("Equipo " + i);
+            team.setPais("España");
+            team.getCompeticiones().add(competition);
+            entityManager.persist(team);
+        }
+        // equipos es el lado inverso: se vuelve a leer de la base de datos
+        entityManager.flush();
+        entityManager.clear();
+        return competition.getId();
+    }
+}
@@ -0,0 +1,101 @@
+package lareferente.backend.service;
+
+import lareferente.backend.dto.HeadToHeadDTO;
+import lareferente.backend.dto.MatchDTO;
+import lareferente.backend.enums.CompetitionType;
+import lareferente.backend.enums.MatchStatus;
+import lareferente.backend.model.Team;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import static lareferente.backend.service.TestFixtures.daysAgo;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestFixtures.class)
+class HeadToHeadServiceTests {
+
+    @Autowired
+    private HeadToHeadService headToHeadService;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    private Long competitionId;
+    private Team a;
+    private Team b;
+
+    @BeforeEach
+    void seed() {
+        competitionId = fixtures.competition("Liga Cara a Cara", CompetitionType.LIGA).getId();
+        a = fixtures.team("Alfa");
+        b = fixtures.team("Beta");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        fixtures.deleteCreated();
+    }
+
+    @Test
+    void summaryIsOrientedToTheRequestedTeam() {
+        match(a, b, 2, 0, MatchStatus.FINALIZADO, 3);
+        match(b, a, 1, 1, MatchStatus.FINALIZADO, 2);
+        match(b, a, 0, 0, MatchStatus.PROGRAMADO, 1);
+
+        HeadToHeadDTO fromA = headToHeadService.getHeadToHead(a.getId(), b.getId());
+        assertThat(fromA.getPartidos()).hasSize(3);
+        assertThat(fromA.getPartidosJugados()).isEqualTo(2);
+        assertThat(fromA.getVictorias()).isEqualTo(1);
+        assertThat(fromA.getEmpates()).isEqualTo(1);
+        assertThat(fromA.getGolesFavor()).isEqualTo(3);
+        assertThat(fromA.getGolesContra()).isEqualTo(1);
+
+        HeadToHeadDTO fromB = headToHeadService.getHeadToHead(b.getId(), a.getId());
+        assertThat(fromB.getDerrotas()).isEqualTo(1);
+        assertThat(fromB.getGolesFavor()).isEqualTo(1);
+        assertThat(fromB.getPartidos()).isEqualTo(fromA.getPartidos());
+    }
+
+    @Test
+    void changesAreAppliedToLoadedPairs() {
+        MatchDTO first = match(a, b, 1, 0, MatchStatus.FINALIZADO, 2);
+        String etag = headToHeadService.getHeadToHeadETag(a.getId(), b.getId());
+        assertThat(headToHeadService.getHeadToHead(a.getId(), b.getId()).getVictorias()).isEqualTo(1);
+
+        // Corrección del resultado y un partido nuevo
+        first.setGolesVisitante(3);
+        matchService.updateMatch(first.getId(), first);
+        MatchDTO second = match(b, a, 0, 2, MatchStatus.FINALIZADO, 1);
+
+        HeadToHeadDTO fromA = headToHeadService.getHeadToHead(a.getId(), b.getId());
+        assertThat(fromA.getVictorias()).isEqualTo(1);
+        assertThat(fromA.getDerrotas()).isEqualTo(1);
+        assertThat(fromA.getGolesFavor()).isEqualTo(3);
+        assertThat(fromA.getGolesContra()).isEqualTo(3);
+        assertThat(headToHeadService.getHeadToHeadETag(a.getId(), b.getId())).isNotEqualTo(etag);
+
+        matchService.deleteMatch(second.getId());
+        assertThat(headToHeadService.getHeadToHead(a.getId(), b.getId()).getPartidosJugados()).isEqualTo(1);
+    }
+
+    @Test
+    void teamAgainstItselfIsRejected() {
+        assertThatThrownBy(() -> headToHeadService.getHeadToHead(a.getId(), a.getId()))
+                .isInstanceOf(RuntimeException.class);
+    }
+
+    private MatchDTO match(Team local, Team visitante, int golesLocal, int golesVisitante, MatchStatus estado, int diasAtras) {
+        return fixtures.match(competitionId, local, visitante, daysAgo(diasAtras), golesLocal, golesVisitante, estado);
+    }
+}
@@ -0,0 +1,188 @@
+package lareferente.backend.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lareferente.backend.enums.CompetitionType;
+import lareferente.backend.enums.MatchStatus;
+import lareferente.backend.enums.PlayerPosition;
+import lareferente.backend.model.Comment;
+import lareferente.backend.model.Competition;
+import lareferente.backend.model.Match;
+import lareferente.backend.model.News;
+import lareferente.backend.model.Player;
+import lareferente.backend.model.Team;
+import lareferente.backend.model.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Cada listado debe resolverse con un número constante de sentencias SQL, sin N+1 al mapear DTOs
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ListQueryCountTests {
+
+    private static final int TEAMS = 6;
+    private static final int NEWS = 5;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private NewsService newsService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private PlayerService playerService;
+
+    private Statistics statistics;
+    private Long competitionId;
+    private Long teamId;
+    private Long newsId;
+
+    @BeforeEach
+    void seed() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        User author = user("autor@test.com");
+        User reader = user("lector@test.com");
+
+        Competition competition = new Competition();
+        competition.setNombre("Liga Test");
+        competition.setTipo(CompetitionType.LIGA);
+        competition.setTemporada("2025-2026");
+        entityManager.persist(competition);
+
+        List<Team> teams = new ArrayList<>();
+        for (int i = 0; i < TEAMS; i++) {
+            Team team = new Team();
+            team.setNombre("Equipo " + i);
+            team.setPais("España");
+            team.getCompeticiones().add(competition);
+            entityManager.persist(team);
+            teams.add(team);
+
+            for (int d = 1; d <= 2; d++) {
+                Player player = new Player();
+                player.setNombre("Jugadora " + i + "-" + d);
+                player.setApellidos("Test");
+                player.setFechaNacimiento(LocalDate.of(2000, 1, d));
+                player.setNacionalidad("España");
+                player.setPosicion(PlayerPosition.DEFENSA);
+                player.setDorsal(d);
+                player.setEquipo(team);
+                entityManager.persist(player);
+            }
+        }
+
+        for (int i = 0; i < TEAMS; i++) {
+            Match match = new Match();
+            match.setCompeticion(competition);
+            match.setEquipoLocal(teams.get(i));
+            match.setEquipoVisitante(teams.get((i + 1) % TEAMS));
+            match.setFechaHora(LocalDateTime.now().plusDays(i + 1));
+            match.setEstado(MatchStatus.PROGRAMADO);
+            entityManager.persist(match);
+        }
+
+        for (int i = 0; i < NEWS; i++) {
+            News news = new News();
+            news.setTitulo("Noticia " + i);
+            news.setContenido("Contenido de la noticia " + i);
+            news.setAutor(i % 2 == 0 ? author : reader);
+            news.setPublicada(true);
+            news.setDestacada(true);
+            news.setFechaPublicacion(LocalDateTime.now().minusHours(i));
+            entityManager.persist(news);
+            newsId = news.getId();
+
+            for (int c = 0; c < 3; c++) {
+                Comment comment = new Comment();
+                comment.setNoticia(news);
+                comment.setUsuario(c % 2 == 0 ? reader : author);
+                comment.setContenido("Comentario " + c);
+                comment.setAprobado(c != 0);
+                entityManager.persist(comment);
+            }
+        }
+
+        competitionId = competition.getId();
+        teamId = teams.get(0).getId();
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void matchListsUseOneStatement() {
+        assertStatements(1, () -> matchService.getAllMatches(), TEAMS);
+        assertStatements(1, () -> matchService.getUpcomingMatches(), TEAMS);
+        assertStatements(1, () -> matchService.getMatchesByCompetition(competitionId), TEAMS);
+    }
+
+    @Test
+    void newsListsUseOneStatement() {
+        assertStatements(1, () -> newsService.getAllNews(), NEWS);
+        assertStatements(1, () -> newsService.getPublishedFeed(null, 20).getItems(), NEWS);
+        assertStatements(1, () -> newsService.getFeaturedFeed(null, 20).getItems(), NEWS);
+    }
+
+    @Test
+    void commentListsUseOneStatement() {
+        assertStatements(1, () -> commentService.getApprovedCommentsByNews(newsId), 2);
+        assertStatements(1, () -> commentService.getAllCommentsByNews(newsId), 3);
+        assertStatements(1, () -> commentService.getPendingComments(), NEWS);
+    }
+
+    @Test
+    void teamAndPlayerListsUseOneStatement() {
+        assertStatements(1, () -> teamService.getAllTeams(), TEAMS);
+        assertStatements(1, () -> teamService.getActiveTeams(), TEAMS);
+        assertStatements(1, () -> playerService.getAllPlayers(), TEAMS * 2);
+        assertStatements(1, () -> playerService.getActivePlayers(), TEAMS * 2);
+        assertStatements(1, () -> playerService.getPlayersByTeam(teamId), 2);
+    }
+
+    private void assertStatements(int expected, Supplier<List<?>> call, int expectedSize) {
+        entityManager.clear();
+        statistics.clear();
+
+        List<?> result = call.get();
+
+        assertThat(result).hasSize(expectedSize);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(expected);
+    }
+
+    private User user(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("x");
+        user.setNombre("Usuario");
+        entityManager.persist(user);
+        return user;
+    }
+}
@@ -0,0 +1,110 @@
+package lareferente.backend.service;
+
+import lareferente.backend.dto.MatchDTO;
+import lareferente.backend.enums.CompetitionType;
+import lareferente.backend.enums.MatchStatus;
+import lareferente.backend.model.Team;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestFixtures.class)
+class MatchScheduleIndexTests {
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    private Long competitionId;
+    private Team a;
+    private Team b;
+    private Team c;
+    private Team d;
+    private LocalDateTime kickoff;
+
+    @BeforeEach
+    void seed() {
+        competitionId = fixtures.competition("Liga Calendario", CompetitionType.LIGA).getId();
+        a = fixtures.team("Alfa");
+        b = fixtures.team("Beta");
+        c = fixtures.team("Gamma");
+        d = fixtures.team("Delta");
+        kickoff = LocalDateTime.now().plusDays(30).truncatedTo(ChronoUnit.HOURS);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        fixtures.deleteCreated();
+    }
+
+    @Test
+    void teamCannotPlayTwoOverlappingMatches() {
+        MatchDTO first = match(a, b, kickoff, null, MatchStatus.PROGRAMADO);
+
+        assertThatThrownBy(() -> match(c, a, kickoff.plusMinutes(90), null, MatchStatus.PROGRAMADO))
+                .isInstanceOfSatisfying(ScheduleConflictException.class, e ->
+                        assertThat(e.getConflicts()).extracting(MatchDTO::getId).containsExactly(first.getId()));
+
+        // Empieza justo cuando acaba la franja del primero
+        match(c, a, kickoff.plusMinutes(120), null, MatchStatus.PROGRAMADO);
+    }
+
+    @Test
+    void stadiumCannotBeDoubleBooked() {
+        match(a, b, kickoff, "Estadio Municipal", MatchStatus.PROGRAMADO);
+
+        assertThatThrownBy(() -> match(c, d, kickoff.plusMinutes(30), " estadio municipal ", MatchStatus.PROGRAMADO))
+                .isInstanceOf(ScheduleConflictException.class);
+        match(c, d, kickoff.plusMinutes(30), "Otro Estadio", MatchStatus.PROGRAMADO);
+    }
+
+    @Test
+    void updatesAndPostponementsMoveTheSlot() {
+        MatchDTO first = match(a, b, kickoff, null, MatchStatus.PROGRAMADO);
+        MatchDTO second = match(a, c, kickoff.plusDays(1), null, MatchStatus.PROGRAMADO);
+
+        second.setFechaHora(kickoff.plusMinutes(60));
+        assertThatThrownBy(() -> matchService.updateMatch(second.getId(), second))
+                .isInstanceOf(ScheduleConflictException.class);
+
+        // Aplazado, el primero deja libre su franja
+        first.setEstado(MatchStatus.APLAZADO);
+        matchService.updateMatch(first.getId(), first);
+        matchService.updateMatch(second.getId(), second);
+
+        // Y cambiar solo el resultado no vuelve a comprobar el calendario
+        second.setGolesLocal(1);
+        matchService.updateMatch(second.getId(), second);
+    }
+
+    @Test
+    void matchesBeforeTheIndexAreCheckedInTheDatabase() {
+        LocalDateTime past = LocalDateTime.now().minusYears(1).truncatedTo(ChronoUnit.HOURS);
+        MatchDTO first = match(a, b, past, null, MatchStatus.FINALIZADO);
+
+        assertThatThrownBy(() -> match(a, c, past.plusMinutes(45), null, MatchStatus.FINALIZADO))
+                .isInstanceOfSatisfying(ScheduleConflictException.class, e ->
+                        assertThat(e.getConflicts()).extracting(MatchDTO::getId).containsExactly(first.getId()));
+    }
+
+    private MatchDTO match(Team local, Team visitante, LocalDateTime fechaHora, String estadio, MatchStatus estado) {
+        MatchDTO dto = fixtures.newMatch(competitionId, local, visitante, fechaHora);
+        dto.setEstadio(estadio);
+        dto.setEstado(estado);
+        return matchService.createMatch(dto);
+    }
+}
@@ -0,0 +1,177 @@
+package lareferente.backend.service;
+
+import lareferente.backend.dto.MatchDTO;
+import lareferente.backend.dto.StandingsDTO;
+import lareferente.backend.dto.StandingsPositionDTO;
+import lareferente.backend.enums.CompetitionType;
+import lareferente.backend.enums.MatchStatus;
+import lareferente.backend.model.Competition;
+import lareferente.backend.model.Team;
+import lareferente.backend.repository.StandingsRepository;
+import lareferente.backend.repository.StandingsSnapshotRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestFixtures.class)
+class StandingsServiceTests {
+
+    @Autowired
+    private StandingsService standingsService;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private StandingsRepository standingsRepository;
+
+    @Autowired
+    private StandingsHistoryService standingsHistoryService;
+
+    @Autowired
+    private StandingsSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    private Long competitionId;
+    private Team a;
+    private Team b;
+    private Team c;
+    // Cada partido en su propio día: el calendario no admite dos partidos de un equipo a la vez
+    private int scheduled;
+
+    @BeforeEach
+    void seed() {
+        Competition competition = fixtures.competition("Liga Clasificación", CompetitionType.LIGA);
+        competitionId = competition.getId();
+        a = fixtures.team("Alfa", competition);
+        b = fixtures.team("Beta", competition);
+        c = fixtures.team("Gamma", competition);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        fixtures.deleteCreated();
+    }
+
+    @Test
+    void threeWayTieIsResolvedByHeadToHeadGoalDifference() {
+        match(a, b, 1, 0, MatchStatus.FINALIZADO);
+        match(b, c, 2, 0, MatchStatus.FINALIZADO);
+        match(c, a, 1, 0, MatchStatus.FINALIZADO);
+
+        // Los tres con 3 puntos: diferencia en la liguilla B +1, A 0, C -1
+        assertThat(order()).containsExactly(b.getId(), a.getId(), c.getId());
+        assertThat(standingsService.getStandings(competitionId)).allSatisfy(row -> {
+            assertThat(row.getPuntos()).isEqualTo(3);
+            assertThat(row.getPartidosJugados()).isEqualTo(2);
+        });
+    }
+
+    @Test
+    void scoreAndStatusChangesAreAppliedAsDeltas() {
+        MatchDTO ab = match(a, b, 1, 0, MatchStatus.FINALIZADO);
+        match(b, c, 2, 0, MatchStatus.FINALIZADO);
+        MatchDTO ca = match(c, a, 1, 0, MatchStatus.FINALIZADO);
+        standingsService.getStandings(competitionId);
+
+        ab.setGolesLocal(0);
+        matchService.updateMatch(ab.getId(), ab);
+        assertThat(order()).containsExactly(b.getId(), c.getId(), a.getId());
+        assertThat(row(b.getId()).getPuntos()).isEqualTo(4);
+
+        // Sale de FINALIZADO: deja de contar
+        ca.setEstado(MatchStatus.EN_CURSO);
+        matchService.updateMatch(ca.getId(), ca);
+        assertThat(order()).containsExactly(b.getId(), a.getId(), c.getId());
+        assertThat(row(c.getId()).getPartidosJugados()).isEqualTo(1);
+
+        // La tabla persistida sigue a la memoria
+        assertThat(standingsRepository.findByCompeticionIdOrderByPosicionAsc(competitionId))
+                .extracting(standing -> standing.getPuntos())
+                .containsExactly(4, 1, 0);
+    }
+
+    @Test
+    void closedRoundsAreSnapshottedAndServedByJornada() {
+        match(a, b, 1, 0, MatchStatus.FINALIZADO, 1);
+        match(b, c, 2, 0, MatchStatus.FINALIZADO, 2);
+        MatchDTO ca = match(c, a, 0, 0, MatchStatus.PROGRAMADO, 3);
+
+        assertThat(orderAt(1)).containsExactly(a.getId(), c.getId(), b.getId());
+        assertThat(orderAt(2)).containsExactly(a.getId(), b.getId(), c.getId());
+        // La jornada 3 sigue abierta: se sirve la última cerrada
+        assertThat(orderAt(5)).containsExactly(a.getId(), b.getId(), c.getId());
+        assertThat(standingsHistoryService.getPositionSeries(competitionId, b.getId()))
+                .extracting(StandingsPositionDTO::getPosicion)
+                .containsExactly(3, 2);
+
+        ca.setGolesLocal(1);
+        ca.setEstado(MatchStatus.FINALIZADO);
+        matchService.updateMatch(ca.getId(), ca);
+
+        assertThat(orderAt(3)).containsExactly(b.getId(), a.getId(), c.getId());
+        assertThat(standingsHistoryService.getPositionSeries(competitionId, c.getId()))
+                .extracting(StandingsPositionDTO::getPosicion)
+                .containsExactly(2, 3, 3);
+        assertThat(snapshotRepository.findByCompeticionIdOrderByJornadaAsc(competitionId)).hasSize(3);
+    }
+
+    @Test
+    void cupsHaveNoStandings() {
+        Competition cup = fixtures.competition("Copa Clasificación", CompetitionType.COPA);
+        competitionId = cup.getId();
+        match(fixtures.team("Delta", cup), fixtures.team("Épsilon", cup), 2, 1, MatchStatus.FINALIZADO, 1);
+
+        // El partido finalizado no crea tabla ni historial para la copa
+        assertThat(standingsRepository.findByCompeticionIdOrderByPosicionAsc(competitionId)).isEmpty();
+        assertThat(snapshotRepository.findByCompeticionIdOrderByJornadaAsc(competitionId)).isEmpty();
+        assertThatThrownBy(() -> standingsService.getStandings(competitionId))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND));
+        assertThatThrownBy(() -> orderAt(1)).isInstanceOf(ResponseStatusException.class);
+    }
+
+    private List<Long> orderAt(int jornada) {
+        return standingsHistoryService.getStandingsAtRound(competitionId, jornada).stream().map(StandingsDTO::getEquipoId).toList();
+    }
+
+    private List<Long> order() {
+        return standingsService.getStandings(competitionId).stream().map(StandingsDTO::getEquipoId).toList();
+    }
+
+    private StandingsDTO row(Long teamId) {
+        return standingsService.getStandings(competitionId).stream()
+                .filter(row -> row.getEquipoId().equals(teamId))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private MatchDTO match(Team local, Team visitante, int golesLocal, int golesVisitante, MatchStatus estado) {
+        return match(local, visitante, golesLocal, golesVisitante, estado, null);
+    }
+
+    private MatchDTO match(Team local, Team visitante, int golesLocal, int golesVisitante, MatchStatus estado, Integer jornada) {
+        MatchDTO dto = fixtures.newMatch(competitionId, local, visitante, LocalDateTime.now().plusDays(++scheduled));
+        dto.setJornada(jornada);
+        dto.setGolesLocal(golesLocal);
+        dto.setGolesVisitante(golesVisitante);
+        dto.setEstado(estado);
+        return matchService.createMatch(dto);
+    }
+}
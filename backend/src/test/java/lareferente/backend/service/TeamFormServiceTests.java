@@ -0,0 +1,104 @@
+package lareferente.backend.service;
+
+import lareferente.backend.dto.MatchDTO;
+import lareferente.backend.dto.TeamFormDTO;
+import lareferente.backend.enums.CompetitionType;
+import lareferente.backend.enums.MatchStatus;
+import lareferente.backend.model.Competition;
+import lareferente.backend.model.Team;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import static lareferente.backend.service.TestFixtures.daysAgo;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestFixtures.class)
+@TestPropertySource(properties = "teams.form.size=3")
+class TeamFormServiceTests {
+
+    @Autowired
+    private TeamFormService teamFormService;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    private Long competitionId;
+    private Team a;
+    private Team b;
+
+    @BeforeEach
+    void seed() {
+        Competition competition = fixtures.competition("Liga Racha", CompetitionType.LIGA);
+        competitionId = competition.getId();
+        a = fixtures.team("Alfa", competition);
+        b = fixtures.team("Beta", competition);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        fixtures.deleteCreated();
+    }
+
+    @Test
+    void newestResultsPushOutTheOldest() {
+        match(a, b, 1, 0, MatchStatus.FINALIZADO, 4);
+        match(b, a, 2, 2, MatchStatus.FINALIZADO, 3);
+        match(a, b, 0, 1, MatchStatus.FINALIZADO, 2);
+        assertThat(teamFormService.getForm(a.getId())).isEqualTo("DEV");
+
+        // Se finaliza desde updateMatch: entra por la cabeza y la victoria más antigua sale
+        MatchDTO pending = match(b, a, 0, 0, MatchStatus.PROGRAMADO, 1);
+        pending.setGolesVisitante(3);
+        pending.setEstado(MatchStatus.FINALIZADO);
+        matchService.updateMatch(pending.getId(), pending);
+
+        assertThat(teamFormService.getForm(a.getId())).isEqualTo("VDE");
+        assertThat(teamFormService.getForm(b.getId())).isEqualTo("DVE");
+    }
+
+    @Test
+    void lateResultsAndDeletionsRefillTheBuffer() {
+        MatchDTO oldest = match(a, b, 1, 0, MatchStatus.FINALIZADO, 5);
+        match(a, b, 1, 1, MatchStatus.FINALIZADO, 3);
+        MatchDTO latest = match(a, b, 0, 2, MatchStatus.FINALIZADO, 1);
+        assertThat(teamFormService.getForm(a.getId())).isEqualTo("DEV");
+
+        // Aplazado que se juega después pero con fecha anterior al último
+        match(b, a, 3, 0, MatchStatus.FINALIZADO, 2);
+        assertThat(teamFormService.getForm(a.getId())).isEqualTo("DDE");
+
+        matchService.deleteMatch(latest.getId());
+        assertThat(teamFormService.getForm(a.getId())).isEqualTo("DEV");
+
+        oldest.setEstado(MatchStatus.APLAZADO);
+        matchService.updateMatch(oldest.getId(), oldest);
+        assertThat(teamFormService.getForm(a.getId())).isEqualTo("DE");
+    }
+
+    @Test
+    void competitionFormComesInOneCall() {
+        match(a, b, 2, 1, MatchStatus.FINALIZADO, 1);
+
+        assertThat(teamFormService.getCompetitionForm(competitionId))
+                .extracting(TeamFormDTO::getEquipoId, TeamFormDTO::getForma)
+                .containsExactlyInAnyOrder(
+                        tuple(a.getId(), "V"),
+                        tuple(b.getId(), "D"));
+    }
+
+    private MatchDTO match(Team local, Team visitante, int golesLocal, int golesVisitante, MatchStatus estado, int diasAtras) {
+        return fixtures.match(competitionId, local, visitante, daysAgo(diasAtras), golesLocal, golesVisitante, estado);
+    }
+}
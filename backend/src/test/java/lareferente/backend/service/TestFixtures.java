@@ -0,0 +1,114 @@
+package lareferente.backend.service;
+
+import lareferente.backend.dto.MatchDTO;
+import lareferente.backend.enums.CompetitionType;
+import lareferente.backend.enums.MatchStatus;
+import lareferente.backend.model.Competition;
+import lareferente.backend.model.Team;
+import lareferente.backend.repository.CompetitionRepository;
+import lareferente.backend.repository.KnockoutTieRepository;
+import lareferente.backend.repository.MatchRepository;
+import lareferente.backend.repository.StandingsRepository;
+import lareferente.backend.repository.StandingsSnapshotRepository;
+import lareferente.backend.repository.TeamRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Datos de prueba para los tests de servicios que reaccionan tras el commit (clasificación, cara a cara,
+ * rachas, calendario, cuadro): no pueden ir en una transacción que se deshace, así que lo creado aquí se
+ * confirma de verdad y deleteCreated() lo borra al acabar cada test, con lo que hayan generado los servicios.
+ * Se añade al contexto con @Import(TestFixtures.class).
+ */
+class TestFixtures {
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private CompetitionRepository competitionRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private StandingsRepository standingsRepository;
+
+    @Autowired
+    private StandingsSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private KnockoutTieRepository tieRepository;
+
+    private final List<Long> competitions = new ArrayList<>();
+    private final List<Long> teams = new ArrayList<>();
+
+    // Nombre único: los tests comparten base de datos
+    Competition competition(String nombre, CompetitionType tipo) {
+        Competition competition = new Competition();
+        competition.setNombre(nombre + " " + System.nanoTime());
+        competition.setTipo(tipo);
+        competition.setTemporada("2025-2026");
+        competition = competitionRepository.save(competition);
+        competitions.add(competition.getId());
+        return competition;
+    }
+
+    Team team(String nombre, Competition... competiciones) {
+        Team team = new Team();
+        team.setNombre(nombre + " " + System.nanoTime());
+        team.setPais("España");
+        for (Competition competicion : competiciones) {
+            team.getCompeticiones().add(competicion);
+        }
+        team = teamRepository.save(team);
+        teams.add(team.getId());
+        return team;
+    }
+
+    // Partido programado sin guardar, para completarlo en el test
+    MatchDTO newMatch(Long competitionId, Team local, Team visitante, LocalDateTime fechaHora) {
+        MatchDTO dto = new MatchDTO();
+        dto.setCompeticionId(competitionId);
+        dto.setEquipoLocalId(local.getId());
+        dto.setEquipoVisitanteId(visitante.getId());
+        dto.setFechaHora(fechaHora);
+        dto.setEstado(MatchStatus.PROGRAMADO);
+        return dto;
+    }
+
+    MatchDTO match(Long competitionId, Team local, Team visitante, LocalDateTime fechaHora,
+                   int golesLocal, int golesVisitante, MatchStatus estado) {
+        MatchDTO dto = newMatch(competitionId, local, visitante, fechaHora);
+        dto.setGolesLocal(golesLocal);
+        dto.setGolesVisitante(golesVisitante);
+        dto.setEstado(estado);
+        return matchService.createMatch(dto);
+    }
+
+    static LocalDateTime daysAgo(int days) {
+        return LocalDateTime.now().minusDays(days);
+    }
+
+    // Los partidos se borran por el servicio para que los índices en memoria se enteren; las tablas
+    // guardadas se borran después porque ese mismo borrado las vuelve a escribir
+    void deleteCreated() {
+        for (Long competitionId : competitions) {
+            tieRepository.deleteAll(tieRepository.findByCompeticionIdOrderByRondaAscPosicionAsc(competitionId));
+            matchRepository.findByCompeticionIdOrderByFechaHoraAsc(competitionId)
+                    .forEach(match -> matchService.deleteMatch(match.getId()));
+            standingsRepository.deleteAll(standingsRepository.findByCompeticionIdOrderByPosicionAsc(competitionId));
+            snapshotRepository.deleteAll(snapshotRepository.findByCompeticionIdOrderByJornadaAsc(competitionId));
+        }
+        teamRepository.deleteAllById(teams);
+        competitionRepository.deleteAllById(competitions);
+        teams.clear();
+        competitions.clear();
+    }
+}
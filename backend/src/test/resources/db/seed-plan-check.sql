@@ -0,0 +1,66 @@
+-- Datos sintéticos para QueryPlanTests: volumen y distribución parecidos a una temporada larga en producción.
+-- Los ids se asignan a mano; las secuencias no intervienen.
+
+INSERT INTO usuarios (id, email, password, nombre, apellidos, rol, activo, fecha_registro)
+SELECT i, 'usuario' || i || '@test.com', 'x', 'Usuario', 'Test ' || i,
+       CASE WHEN i <= 50 THEN 'EDITOR' ELSE 'USER' END, true, now() - (i || ' minutes')::interval
+FROM generate_series(1, 2000) i;
+
+INSERT INTO competiciones (id, nombre, tipo, categoria, temporada, activa, fecha_creacion)
+SELECT i, 'Competición ' || i, CASE WHEN i % 4 = 0 THEN 'COPA' ELSE 'LIGA' END, 'SENIOR',
+       (1990 + i % 40) || '-' || (1991 + i % 40), i % 10 <> 0, now()
+FROM generate_series(1, 200) i;
+
+INSERT INTO equipos (id, nombre, categoria, pais, ciudad, estadio, activo, fecha_creacion)
+SELECT i, 'Equipo ' || i, 'SENIOR', 'España', 'Ciudad ' || (i % 300), 'Estadio ' || i, true, now()
+FROM generate_series(1, 2000) i;
+
+INSERT INTO equipo_competiciones (equipo_id, competicion_id)
+SELECT i, 1 + i % 200 FROM generate_series(1, 2000) i;
+
+-- 50 jugadores por equipo; el 1 % sin equipo y el 10 % inactivos
+INSERT INTO jugadores (id, nombre, apellidos, fecha_nacimiento, nacionalidad, posicion, categoria, dorsal,
+                       equipo_id, activo, fecha_creacion)
+SELECT i, 'Jugador', 'Apellido ' || i, DATE '1995-01-01' + (i % 3000), 'España',
+       (ARRAY['PORTERO', 'DEFENSA', 'CENTROCAMPISTA', 'DELANTERO'])[1 + i % 4], 'SENIOR', 1 + i % 50,
+       CASE WHEN i % 100 = 0 THEN NULL ELSE 1 + i % 2000 END, i % 10 <> 0, now()
+FROM generate_series(1, 100000) i;
+
+-- Diez años de partidos: casi todos finalizados, el 3 % programados (en el futuro)
+INSERT INTO partidos (id, competicion_id, equipo_local_id, equipo_visitante_id, equipo_menor_id, equipo_mayor_id,
+                      fecha_hora, estadio, jornada, goles_local, goles_visitante, estado, fecha_creacion)
+SELECT i, 1 + i % 200, 1 + i % 2000, 1 + (i * 7 + 1) % 2000,
+       LEAST(1 + i % 2000, 1 + (i * 7 + 1) % 2000), GREATEST(1 + i % 2000, 1 + (i * 7 + 1) % 2000),
+       CASE WHEN i % 100 < 3 THEN now() + ((i % 365) || ' days')::interval
+            ELSE now() - ((i % 3650) || ' days')::interval - ((i % 24) || ' hours')::interval END,
+       'Estadio ' || (1 + i % 2000), 1 + i % 38, i % 4, i % 3,
+       CASE WHEN i % 100 < 3 THEN 'PROGRAMADO' WHEN i % 100 = 3 THEN 'APLAZADO'
+            WHEN i % 100 = 4 THEN 'CANCELADO' ELSE 'FINALIZADO' END,
+       now()
+FROM generate_series(1, 200000) i;
+
+-- 50 autores; el 5 % en borrador y el 5 % destacadas
+INSERT INTO noticias (id, titulo, subtitulo, contenido, autor_id, categoria, destacada, publicada,
+                      fecha_publicacion, visitas, fecha_creacion)
+SELECT i, 'Noticia ' || i, 'Subtítulo ' || i,
+       'Crónica número ' || i || CASE WHEN i % 50 = 0 THEN ' con gol en el último minuto' ELSE ' del partido' END,
+       1 + i % 50,
+       (ARRAY['GENERAL', 'FICHAJES', 'PARTIDOS', 'LESIONES', 'RUEDAS_PRENSA', 'NOTICIA', 'ENTREVISTA', 'ANALISIS', 'OPINION'])[1 + i % 9],
+       i % 20 = 0, i % 20 <> 1,
+       CASE WHEN i % 20 <> 1 THEN now() - (i || ' minutes')::interval END,
+       i % 5000, now() - (i || ' minutes')::interval
+FROM generate_series(1, 100000) i;
+
+-- Cola de moderación pequeña (0,5 % pendientes)
+INSERT INTO comentarios (id, noticia_id, usuario_id, contenido, aprobado, fecha_creacion)
+SELECT i, 1 + i % 100000, 1 + i % 2000, 'Comentario ' || i, i % 200 <> 0, now() - (i || ' seconds')::interval
+FROM generate_series(1, 300000) i;
+
+-- 40 temporadas
+INSERT INTO estadisticas_jugadores (id, jugador_id, temporada, partidos_jugados, partidos_titular, minutos_jugados,
+                                    goles, asistencias, tarjetas_amarillas, tarjetas_rojas)
+SELECT i, 1 + i % 100000, (1990 + i % 40) || '-' || (1991 + i % 40), i % 38, i % 30, (i % 38) * 90,
+       i % 25, i % 15, i % 10, i % 2
+FROM generate_series(1, 200000) i;
+
+ANALYZE;
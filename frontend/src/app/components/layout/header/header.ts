@@ -10,7 +10,7 @@ import {
 } from '@angular/core';
 import { Router, RouterLink, RouterLinkActive } from '@angular/router';
 import { takeUntilDestroyed } from '@angular/core/rxjs-interop';
-import { Subject, debounceTime, distinctUntilChanged, forkJoin, map, of, switchMap } from 'rxjs';
+import { Subject, catchError, debounceTime, distinctUntilChanged, forkJoin, map, of, switchMap } from 'rxjs';
 import { ThemeService } from '../../../services/theme.service';
 import { AuthService } from '../../../services/auth.service';
 import { NewsService, TeamService, PlayerService } from '../../../core/services';
@@ -62,8 +62,7 @@ export class Header {
   protected loadingSuggestions = signal(false);
   private searchSubject = new Subject<string>();
 
-  // Cache de datos para sugerencias
-  private cachedNews: News[] = [];
+  // Cache de equipos y jugadores para sugerencias (las noticias se buscan en el servidor)
   private cachedTeams: Team[] = [];
   private cachedPlayers: Player[] = [];
   private cacheLoaded = false;
@@ -92,14 +91,12 @@ export class Header {
     if (this.cacheLoaded) return;
 
     forkJoin({
-      news: this.newsService.getPublished(),
       teams: this.teamService.getActive(),
       players: this.playerService.getActive(),
     })
       .pipe(takeUntilDestroyed(this.destroyRef))
       .subscribe({
-        next: ({ news, teams, players }) => {
-          this.cachedNews = news;
+        next: ({ teams, players }) => {
           this.cachedTeams = teams;
           this.cachedPlayers = players;
           this.cacheLoaded = true;
@@ -110,38 +107,35 @@ export class Header {
   private searchSuggestions(query: string) {
     const texto = query.toLowerCase().trim();
     const filter = this.searchFilter();
+    const conNoticias = filter === 'all' || filter === 'noticias';
 
     // Si no hay cache, cargar y esperar
-    if (!this.cacheLoaded) {
-      return forkJoin({
-        news: this.newsService.getPublished(),
-        teams: this.teamService.getActive(),
-        players: this.playerService.getActive(),
-      }).pipe(
-        map(({ news, teams, players }) => {
-          this.cachedNews = news;
-          this.cachedTeams = teams;
-          this.cachedPlayers = players;
-          this.cacheLoaded = true;
-          return this.filterSuggestions(texto, filter);
-        })
-      );
-    }
-
-    return of(this.filterSuggestions(texto, filter));
+    const cache = this.cacheLoaded
+      ? of(null)
+      : forkJoin({
+          teams: this.teamService.getActive(),
+          players: this.playerService.getActive(),
+        }).pipe(
+          map(({ teams, players }) => {
+            this.cachedTeams = teams;
+            this.cachedPlayers = players;
+            this.cacheLoaded = true;
+            return null;
+          })
+        );
+
+    return forkJoin({
+      news: conNoticias ? this.newsService.search(query.trim(), 3).pipe(catchError(() => of([] as News[]))) : of([] as News[]),
+      cache,
+    }).pipe(map(({ news }) => this.filterSuggestions(texto, filter, news)));
   }
 
-  private filterSuggestions(texto: string, filter: string): SearchSuggestion[] {
+  private filterSuggestions(texto: string, filter: string, news: News[]): SearchSuggestion[] {
     const suggestions: SearchSuggestion[] = [];
 
     // Noticias
     if (filter === 'all' || filter === 'noticias') {
-      const noticias = this.cachedNews
-        .filter(
-          (n) =>
-            n.titulo.toLowerCase().includes(texto) ||
-            (n.subtitulo && n.subtitulo.toLowerCase().includes(texto))
-        )
+      const noticias = news
         .slice(0, 3)
         .map((n) => ({
           type: 'noticia' as const,
@@ -0,0 +1,17 @@
+import { News } from './news.model';
+import { Match } from './match.model';
+import { Competition } from './competition.model';
+import { Team } from './team.model';
+import { Player } from './player.model';
+
+/**
+ * Portada precalculada en el servidor (una sola petición)
+ */
+export interface HomeSnapshot {
+  noticiasDestacadas: News[];
+  proximosPartidos: Match[];
+  competicionesActivas: Competition[];
+  equiposDestacados: Team[];
+  jugadoresDestacados: Player[];
+  generadoEn: string;
+}
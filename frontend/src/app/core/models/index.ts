@@ -6,3 +6,4 @@ export * from './match.model';
 export * from './comment.model';
 export * from './file.model';
 export * from './competition.model';
+export * from './home.model';
@@ -23,6 +23,14 @@ export interface News {
   fechaModificacion: string | null;
 }
 
+/**
+ * Página de un feed de noticias: nextCursor es null en la última
+ */
+export interface NewsPage {
+  items: News[];
+  nextCursor: string | null;
+}
+
 /**
  * DTO para crear una noticia
  */
@@ -1,5 +1,5 @@
 import { Injectable, inject } from '@angular/core';
-import { HttpClient, HttpParams, HttpErrorResponse } from '@angular/common/http';
+import { HttpClient, HttpParams, HttpErrorResponse, HttpResponse } from '@angular/common/http';
 import { Observable, throwError, retry } from 'rxjs';
 import { catchError, map } from 'rxjs/operators';
 
@@ -19,6 +19,17 @@ export class ApiService {
     );
   }
 
+  /**
+   * GET request con la respuesta completa (para leer cabeceras, p. ej. el cursor de la siguiente página)
+   */
+  getResponse<T>(endpoint: string, params?: HttpParams | { [key: string]: string | number }): Observable<HttpResponse<T>> {
+    const options = params ? { params: this.buildParams(params) } : {};
+    return this.http.get<T>(`${this.baseUrl}/${endpoint}`, { ...options, observe: 'response' }).pipe(
+      retry({ count: 2, delay: 1000 }),
+      catchError(this.handleError)
+    );
+  }
+
   /**
    * POST request
    */
@@ -0,0 +1,17 @@
+import { Injectable, inject } from '@angular/core';
+import { Observable } from 'rxjs';
+import { ApiService } from './api.service';
+import { HomeSnapshot } from '../models';
+
+@Injectable({ providedIn: 'root' })
+export class HomeService {
+  private readonly api = inject(ApiService);
+  private readonly endpoint = 'home';
+
+  /**
+   * Obtener la portada completa
+   */
+  getHome(): Observable<HomeSnapshot> {
+    return this.api.get<HomeSnapshot>(this.endpoint);
+  }
+}
@@ -6,3 +6,4 @@ export { MatchService } from './match.service';
 export { CommentService } from './comment.service';
 export { FileService } from './file.service';
 export { PaisesService } from './paises.service';
+export { HomeService } from './home.service';
@@ -89,34 +89,63 @@ describe('NewsService', () => {
     });
   });
 
-  describe('getPublished', () => {
-    it('should return only published news', () => {
+  describe('getPublishedPage', () => {
+    it('should return a page of published news and the next cursor', () => {
       const publishedNews = mockNewsList.filter(n => n.publicada);
 
-      service.getPublished().subscribe(news => {
-        expect(news.every(n => n.publicada)).toBe(true);
+      service.getPublishedPage().subscribe(page => {
+        expect(page.items.every(n => n.publicada)).toBe(true);
+        expect(page.nextCursor).toBe('cursor-2');
       });
 
-      const req = httpMock.expectOne('/api/news/published');
+      const req = httpMock.expectOne(r => r.url === '/api/news/published');
       expect(req.request.method).toBe('GET');
-      req.flush(publishedNews);
+      expect(req.request.params.get('limit')).toBe('20');
+      expect(req.request.params.has('after')).toBe(false);
+      req.flush(publishedNews, { headers: { 'X-Next-Cursor': 'cursor-2' } });
+    });
+
+    it('should send the cursor and end without X-Next-Cursor', () => {
+      service.getPublishedPage('cursor-2').subscribe(page => {
+        expect(page.nextCursor).toBeNull();
+      });
+
+      const req = httpMock.expectOne(r => r.url === '/api/news/published');
+      expect(req.request.params.get('after')).toBe('cursor-2');
+      req.flush([mockNewsList[1]]);
     });
   });
 
-  describe('getFeatured', () => {
+  describe('getFeaturedPage', () => {
     it('should return featured news', () => {
       const featuredNews = [mockNews];
 
-      service.getFeatured().subscribe(news => {
-        expect(news.every(n => n.destacada)).toBe(true);
+      service.getFeaturedPage(null, 3).subscribe(page => {
+        expect(page.items.every(n => n.destacada)).toBe(true);
       });
 
-      const req = httpMock.expectOne('/api/news/featured');
+      const req = httpMock.expectOne(r => r.url === '/api/news/featured');
       expect(req.request.method).toBe('GET');
+      expect(req.request.params.get('limit')).toBe('3');
       req.flush(featuredNews);
     });
   });
 
+  describe('search', () => {
+    it('should search on the server', () => {
+      service.searchPage('ficha', null, 2).subscribe(page => {
+        expect(page.items.length).toBe(2);
+        expect(page.nextCursor).toBe('1');
+      });
+
+      const req = httpMock.expectOne(r => r.url === '/api/news/search');
+      expect(req.request.params.get('q')).toBe('ficha');
+      expect(req.request.params.get('page')).toBe('0');
+      expect(req.request.params.get('size')).toBe('2');
+      req.flush(mockNewsList);
+    });
+  });
+
   describe('create', () => {
     it('should create news', () => {
       const newNews: CreateNewsDto = {
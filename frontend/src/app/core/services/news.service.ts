@@ -2,12 +2,14 @@ import { Injectable, inject } from '@angular/core';
 import { Observable } from 'rxjs';
 import { map } from 'rxjs/operators';
 import { ApiService } from './api.service';
-import { News, CreateNewsDto, UpdateNewsDto } from '../models';
+import { HttpResponse } from '@angular/common/http';
+import { News, NewsPage, NewsCategory, CreateNewsDto, UpdateNewsDto } from '../models';
 
 @Injectable({ providedIn: 'root' })
 export class NewsService {
   private readonly api = inject(ApiService);
   private readonly endpoint = 'news';
+  private readonly pageSize = 20;
 
   /**
    * Obtener todas las noticias
@@ -17,17 +19,42 @@ export class NewsService {
   }
 
   /**
-   * Obtener noticias publicadas
+   * Página de noticias publicadas (la siguiente se pide con el cursor de la anterior)
    */
-  getPublished(): Observable<News[]> {
-    return this.api.get<News[]>(`${this.endpoint}/published`);
+  getPublishedPage(after: string | null = null, limit = this.pageSize): Observable<NewsPage> {
+    return this.getPage(`${this.endpoint}/published`, after, limit);
   }
 
   /**
-   * Obtener noticias destacadas
+   * Página de noticias destacadas
    */
-  getFeatured(): Observable<News[]> {
-    return this.api.get<News[]>(`${this.endpoint}/featured`);
+  getFeaturedPage(after: string | null = null, limit = this.pageSize): Observable<NewsPage> {
+    return this.getPage(`${this.endpoint}/featured`, after, limit);
+  }
+
+  /**
+   * Página de noticias publicadas de una categoría
+   */
+  getCategoryPage(categoria: NewsCategory, after: string | null = null, limit = this.pageSize): Observable<NewsPage> {
+    return this.getPage(`${this.endpoint}/category/${categoria}`, after, limit);
+  }
+
+  /**
+   * Búsqueda de texto completo en el servidor, ordenada por relevancia.
+   * Pagina por número de página: el "cursor" es la página siguiente.
+   */
+  searchPage(q: string, after: string | null = null, limit = this.pageSize): Observable<NewsPage> {
+    const page = after ? Number(after) : 0;
+    return this.api.get<News[]>(`${this.endpoint}/search`, { q, page, size: limit }).pipe(
+      map(items => ({ items, nextCursor: items.length === limit ? String(page + 1) : null }))
+    );
+  }
+
+  /**
+   * Primeras noticias que coinciden con el texto
+   */
+  search(q: string, limit = this.pageSize): Observable<News[]> {
+    return this.searchPage(q, null, limit).pipe(map(page => page.items));
   }
 
   /**
@@ -69,12 +96,32 @@ export class NewsService {
    * Obtener noticias con transformación para la vista
    * Ejemplo de uso de map para adaptar datos
    */
-  getPublishedForView(): Observable<News[]> {
-    return this.getPublished().pipe(
-      map(noticias => noticias.map(n => ({
-        ...n,
-        fechaPublicacion: n.fechaPublicacion ? new Date(n.fechaPublicacion).toLocaleDateString('es-ES') : null
-      })))
+  getPublishedForView(after: string | null = null): Observable<NewsPage> {
+    return this.getPublishedPage(after).pipe(
+      map(page => ({
+        ...page,
+        items: page.items.map(n => ({
+          ...n,
+          fechaPublicacion: n.fechaPublicacion ? new Date(n.fechaPublicacion).toLocaleDateString('es-ES') : null
+        }))
+      }))
+    );
+  }
+
+  /**
+   * Feed paginado por cursor: el cuerpo es la lista y el cursor de la siguiente página
+   * llega en la cabecera X-Next-Cursor (ausente en la última página)
+   */
+  private getPage(endpoint: string, after: string | null, limit: number): Observable<NewsPage> {
+    const params: { [key: string]: string | number } = { limit };
+    if (after) {
+      params['after'] = after;
+    }
+    return this.api.getResponse<News[]>(endpoint, params).pipe(
+      map((response: HttpResponse<News[]>) => ({
+        items: response.body ?? [],
+        nextCursor: response.headers.get('X-Next-Cursor')
+      }))
     );
   }
 }
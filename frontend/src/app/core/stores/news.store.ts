@@ -10,11 +10,13 @@ export class NewsStore {
   private _noticias = signal<News[]>([]);
   private _loading = signal(false);
   private _error = signal<string | null>(null);
+  private _nextCursor = signal<string | null>(null);
 
   // Estado publico de solo lectura
   noticias = this._noticias.asReadonly();
   loading = this._loading.asReadonly();
   error = this._error.asReadonly();
+  hayMas = computed(() => this._nextCursor() !== null);
 
   // Computed para estadisticas
   total = computed(() => this._noticias().length);
@@ -44,9 +46,28 @@ export class NewsStore {
     this._loading.set(true);
     this._error.set(null);
 
-    this.newsService.getPublished().subscribe({
-      next: (lista) => {
-        this._noticias.set(lista);
+    this.newsService.getPublishedPage().subscribe({
+      next: (page) => {
+        this._noticias.set(page.items);
+        this._nextCursor.set(page.nextCursor);
+        this._loading.set(false);
+      },
+      error: (err) => {
+        this._error.set(err.message || 'Error al cargar noticias');
+        this._loading.set(false);
+      },
+    });
+  }
+
+  cargarMas(): void {
+    const cursor = this._nextCursor();
+    if (!cursor || this._loading()) return;
+    this._loading.set(true);
+
+    this.newsService.getPublishedPage(cursor).subscribe({
+      next: (page) => {
+        this._noticias.update(lista => [...lista, ...page.items]);
+        this._nextCursor.set(page.nextCursor);
         this._loading.set(false);
       },
       error: (err) => {
@@ -1,9 +1,8 @@
 import { Component, OnInit, OnDestroy, inject, signal } from '@angular/core';
 import { CommonModule } from '@angular/common';
 import { RouterLink } from '@angular/router';
-import { NewsService, TeamService, PlayerService } from '../../core/services';
-import { CompetitionService } from '../../services/competition.service';
-import { News, Competition, Team, Player } from '../../core/models';
+import { HomeService } from '../../core/services';
+import { News, Competition, Team, Player, Match } from '../../core/models';
 
 interface HeroSlide {
   id: number;
@@ -22,10 +21,7 @@ interface HeroSlide {
   styleUrl: './home.scss',
 })
 export class Home implements OnInit, OnDestroy {
-  private newsService = inject(NewsService);
-  private competitionService = inject(CompetitionService);
-  private teamService = inject(TeamService);
-  private playerService = inject(PlayerService);
+  private homeService = inject(HomeService);
 
   // Hero Slider
   heroSlides: HeroSlide[] = [
@@ -64,12 +60,10 @@ export class Home implements OnInit, OnDestroy {
   competitions = signal<Competition[]>([]);
   teams = signal<Team[]>([]);
   players = signal<Player[]>([]);
+  upcomingMatches = signal<Match[]>([]);
 
-  // Loading states
-  loadingNews = signal(true);
-  loadingCompetitions = signal(true);
-  loadingTeams = signal(true);
-  loadingPlayers = signal(true);
+  // Loading state
+  loading = signal(true);
 
   ngOnInit(): void {
     this.startSlideshow();
@@ -146,40 +140,19 @@ export class Home implements OnInit, OnDestroy {
   }
 
   private loadFeaturedData(): void {
-    // Cargar noticias destacadas
-    this.newsService.getFeatured().subscribe({
-      next: (news: News[]) => {
-        this.featuredNews.set(news.slice(0, 3));
-        this.loadingNews.set(false);
+    // Toda la portada en una petición (el servidor la sirve ya generada y comprimida)
+    this.homeService.getHome().subscribe({
+      next: (home) => {
+        this.featuredNews.set(home.noticiasDestacadas.slice(0, 3));
+        // Competiciones (aleatorias)
+        this.competitions.set(this.shuffleArray(home.competicionesActivas).slice(0, 4));
+        // Equipos y jugadores ya vienen elegidos al azar
+        this.teams.set(home.equiposDestacados);
+        this.players.set(home.jugadoresDestacados);
+        this.upcomingMatches.set(home.proximosPartidos);
+        this.loading.set(false);
       },
-      error: () => this.loadingNews.set(false),
-    });
-
-    // Cargar competiciones (aleatorias)
-    this.competitionService.obtenerTodas().subscribe({
-      next: (competitions: Competition[]) => {
-        this.competitions.set(this.shuffleArray(competitions).slice(0, 4));
-        this.loadingCompetitions.set(false);
-      },
-      error: () => this.loadingCompetitions.set(false),
-    });
-
-    // Cargar equipos (aleatorios)
-    this.teamService.getActive().subscribe({
-      next: (teams: Team[]) => {
-        this.teams.set(this.shuffleArray(teams).slice(0, 4));
-        this.loadingTeams.set(false);
-      },
-      error: () => this.loadingTeams.set(false),
-    });
-
-    // Cargar jugadores (aleatorios)
-    this.playerService.getActive().subscribe({
-      next: (players: Player[]) => {
-        this.players.set(this.shuffleArray(players).slice(0, 6));
-        this.loadingPlayers.set(false);
-      },
-      error: () => this.loadingPlayers.set(false),
+      error: () => this.loading.set(false),
     });
   }
 
@@ -1,8 +1,10 @@
-import { Component, inject, signal, OnInit } from '@angular/core';
+import { Component, inject, signal, OnInit, DestroyRef } from '@angular/core';
 import { ActivatedRoute, RouterLink } from '@angular/router';
 import { FormControl, ReactiveFormsModule } from '@angular/forms';
+import { takeUntilDestroyed } from '@angular/core/rxjs-interop';
+import { Observable, debounceTime, distinctUntilChanged } from 'rxjs';
 import { NewsService } from '../../core/services';
-import { News, RequestState } from '../../core/models';
+import { News, NewsCategory, NewsPage, RequestState } from '../../core/models';
 import { AuthService } from '../../services/auth.service';
 
 @Component({
@@ -14,6 +16,7 @@ import { AuthService } from '../../services/auth.service';
 export class NewsPage implements OnInit {
   private readonly newsService = inject(NewsService);
   private readonly route = inject(ActivatedRoute);
+  private readonly destroyRef = inject(DestroyRef);
   protected readonly authService = inject(AuthService);
 
   // Estado de la petición con loading, error y data
@@ -23,6 +26,12 @@ export class NewsPage implements OnInit {
     data: null,
   });
 
+  // Paginación: cursor de la siguiente página (null en la última)
+  nextCursor = signal<string | null>(null);
+  loadingMore = signal(false);
+  // Cambiar de filtro o búsqueda deja obsoletas las respuestas que aún no han llegado
+  private listado = 0;
+
   // Filtros
   filtroActivo = signal('todas');
   categorias = [
@@ -39,31 +48,38 @@ export class NewsPage implements OnInit {
   busqueda = signal('');
 
   ngOnInit(): void {
-    this.loadNews();
-
-    // Búsqueda con debounce manual
-    this.busquedaControl.valueChanges.subscribe((valor) => {
-      this.busqueda.set(valor || '');
+    // Búsqueda desde la URL (?q=), también al volver a esta página desde el buscador de la cabecera
+    this.route.queryParams.pipe(takeUntilDestroyed(this.destroyRef)).subscribe((params) => {
+      const query = (params['q'] || '').trim();
+      this.busquedaControl.setValue(query, { emitEvent: false });
+      this.busqueda.set(query);
+      this.loadNews();
     });
 
-    // Leer parámetro de búsqueda de la URL
-    this.route.queryParams.subscribe((params) => {
-      const query = params['q'] || '';
-      if (query) {
-        this.busquedaControl.setValue(query);
-        this.busqueda.set(query);
-      }
-    });
+    // La búsqueda se hace en el servidor (texto completo), con debounce
+    this.busquedaControl.valueChanges
+      .pipe(debounceTime(300), distinctUntilChanged(), takeUntilDestroyed(this.destroyRef))
+      .subscribe((valor) => {
+        this.busqueda.set((valor || '').trim());
+        this.loadNews();
+      });
   }
 
+  // Primera página del listado actual (búsqueda, categoría o todas)
   loadNews(): void {
+    const listado = ++this.listado;
     this.state.set({ loading: true, error: null, data: null });
-
-    this.newsService.getPublished().subscribe({
-      next: (noticias) => {
-        this.state.set({ loading: false, error: null, data: noticias });
+    this.nextCursor.set(null);
+    this.loadingMore.set(false);
+
+    this.fetchPage(null).subscribe({
+      next: (page) => {
+        if (listado !== this.listado) return;
+        this.state.set({ loading: false, error: null, data: page.items });
+        this.nextCursor.set(page.nextCursor);
       },
       error: (err) => {
+        if (listado !== this.listado) return;
         this.state.set({
           loading: false,
           error: err.message || 'Error al cargar las noticias',
@@ -73,8 +89,42 @@ export class NewsPage implements OnInit {
     });
   }
 
+  // Siguiente página, a continuación de lo ya cargado
+  loadMore(): void {
+    const cursor = this.nextCursor();
+    if (!cursor || this.loadingMore()) return;
+    const listado = this.listado;
+    this.loadingMore.set(true);
+
+    this.fetchPage(cursor).subscribe({
+      next: (page) => {
+        if (listado !== this.listado) return;
+        this.state.update((state) => ({ ...state, data: [...(state.data || []), ...page.items] }));
+        this.nextCursor.set(page.nextCursor);
+        this.loadingMore.set(false);
+      },
+      error: () => {
+        if (listado === this.listado) this.loadingMore.set(false);
+      },
+    });
+  }
+
   setFiltro(valor: string): void {
+    if (valor === this.filtroActivo()) return;
     this.filtroActivo.set(valor);
+    this.loadNews();
+  }
+
+  private fetchPage(after: string | null): Observable<NewsPage> {
+    const texto = this.busqueda();
+    const filtro = this.filtroActivo();
+    if (texto) {
+      return this.newsService.searchPage(texto, after);
+    }
+    if (filtro !== 'todas') {
+      return this.newsService.getCategoryPage(filtro as NewsCategory, after);
+    }
+    return this.newsService.getPublishedPage(after);
   }
 
   // Helpers para la plantilla
@@ -94,26 +144,17 @@ export class NewsPage implements OnInit {
     return this.state().data || [];
   }
 
+  // La búsqueda ordena por relevancia y no filtra por categoría: se aplica sobre lo ya cargado
   get noticias(): News[] {
     const filtro = this.filtroActivo();
-    const texto = this.busqueda().toLowerCase().trim();
-    let resultado = this.todasNoticias;
-
-    // Filtrar por categoría
-    if (filtro !== 'todas') {
-      resultado = resultado.filter((n) => n.categoria === filtro);
-    }
-
-    // Filtrar por texto de búsqueda
-    if (texto) {
-      resultado = resultado.filter(
-        (n) =>
-          n.titulo.toLowerCase().includes(texto) ||
-          (n.subtitulo && n.subtitulo.toLowerCase().includes(texto))
-      );
+    if (this.busqueda() && filtro !== 'todas') {
+      return this.todasNoticias.filter((n) => n.categoria === filtro);
     }
+    return this.todasNoticias;
+  }
 
-    return resultado;
+  get hasMore(): boolean {
+    return this.hasData && !!this.nextCursor();
   }
 
   get isEmpty(): boolean {
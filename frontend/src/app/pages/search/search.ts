@@ -44,21 +44,13 @@ export class SearchPage implements OnInit {
     const texto = query.toLowerCase().trim();
 
     forkJoin({
-      noticias: this.newsService.getPublished(),
+      // Noticias: búsqueda de texto completo en el servidor, no solo entre las más recientes
+      noticias: this.newsService.search(query.trim(), 6),
       equipos: this.teamService.getActive(),
       jugadores: this.playerService.getActive(),
     }).subscribe({
       next: ({ noticias, equipos, jugadores }) => {
-        // Filtrar noticias
-        this.noticias.set(
-          noticias
-            .filter(
-              (n) =>
-                n.titulo.toLowerCase().includes(texto) ||
-                (n.subtitulo && n.subtitulo.toLowerCase().includes(texto))
-            )
-            .slice(0, 6)
-        );
+        this.noticias.set(noticias);
 
         // Filtrar equipos
         this.equipos.set(
@@ -87,11 +87,11 @@ describe('News CRUD Integration', () => {
     it('debe obtener solo noticias publicadas', () => {
       let resultado: News[] = [];
 
-      newsService.getPublished().subscribe(news => {
-        resultado = news;
+      newsService.getPublishedPage().subscribe(page => {
+        resultado = page.items;
       });
 
-      const req = httpMock.expectOne('/api/news/published');
+      const req = httpMock.expectOne(r => r.url === '/api/news/published');
       expect(req.request.method).toBe('GET');
       req.flush(mockNewsList);
 
@@ -102,11 +102,11 @@ describe('News CRUD Integration', () => {
       const featuredNews = mockNewsList.filter(n => n.destacada);
       let resultado: News[] = [];
 
-      newsService.getFeatured().subscribe(news => {
-        resultado = news;
+      newsService.getFeaturedPage().subscribe(page => {
+        resultado = page.items;
       });
 
-      const req = httpMock.expectOne('/api/news/featured');
+      const req = httpMock.expectOne(r => r.url === '/api/news/featured');
       req.flush(featuredNews);
 
       expect(resultado.length).toBe(1);